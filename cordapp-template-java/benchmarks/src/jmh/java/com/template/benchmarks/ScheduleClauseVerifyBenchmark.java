@@ -0,0 +1,60 @@
+package com.template.benchmarks;
+
+import com.template.contracts.ScheduleClauseContract;
+import net.corda.core.transactions.LedgerTransaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Measures [ScheduleClauseContract.verify] for every job-transition command over schedules of growing size.
+ *
+ * Run with `./gradlew :benchmarks:jmh`; the gc profiler reports bytes allocated per verification
+ * as `gc.alloc.rate.norm`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScheduleClauseVerifyBenchmark {
+
+    public enum Command {
+        START_JOB(ScheduleTransactions::startJob),
+        DECLARE_JOB_COMPLETE(ScheduleTransactions::declareJobComplete),
+        CONFIRM_JOB_COMPLETE(ScheduleTransactions::confirmJobComplete),
+        CONTINUE_JOB(ScheduleTransactions::continueJob),
+        REQUEST_AMOUNT_MODIFICATION(ScheduleTransactions::requestAmountModification),
+        ACCEPT_AMOUNT_MODIFICATION(ScheduleTransactions::acceptAmountModification),
+        REQUEST_EXPECTED_DATE_MODIFICATION(ScheduleTransactions::requestExpectedDateModification),
+        ACCEPT_EXPECTED_DATE_MODIFICATION(ScheduleTransactions::acceptExpectedDateModification),
+        UPDATE_COMMITTED_JOB(ScheduleTransactions::updateCommittedJob);
+
+        private final BiFunction<ScheduleTransactions, Integer, LedgerTransaction> factory;
+
+        Command(BiFunction<ScheduleTransactions, Integer, LedgerTransaction> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"10", "1000", "50000"})
+    public int jobCount;
+
+    @Param
+    public Command command;
+
+    private final ScheduleClauseContract contract = new ScheduleClauseContract();
+    private LedgerTransaction tx;
+
+    @Setup(Level.Trial)
+    public void buildTransaction() {
+        tx = command.factory.apply(new ScheduleTransactions(), jobCount);
+        // Fail fast if the fixture no longer satisfies the contract rather than benchmarking an exception.
+        contract.verify(tx);
+    }
+
+    @Benchmark
+    public LedgerTransaction verify() {
+        contract.verify(tx);
+        return tx;
+    }
+}
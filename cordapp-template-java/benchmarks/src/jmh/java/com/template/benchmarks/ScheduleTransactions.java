@@ -0,0 +1,229 @@
+package com.template.benchmarks;
+
+import com.template.contracts.JobMerkleTree;
+import com.template.contracts.JobTransition;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.contracts.ReportContract;
+import com.template.states.*;
+import net.corda.core.contracts.*;
+import net.corda.core.crypto.Crypto;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.transactions.LedgerTransaction;
+
+import java.security.PublicKey;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds resolved [LedgerTransaction]s for the [ScheduleClauseContract] commands, so that benchmarks measure
+ * contract verification only (no serialisation, signature checking or attachment loading).
+ */
+public class ScheduleTransactions {
+    private static final String QUALITY_SURVEYOR_LINK = " - Quality Surveyor Link: https://example.com/survey";
+
+    private final Party notary = party("Notary");
+    private final List<Party> employers = Arrays.asList(party("Employer1"), party("Employer2"));
+    private final List<Party> contractors = Arrays.asList(party("Contractor1"), party("Contractor2"));
+    private final List<Party> participants = new ArrayList<>();
+
+    public ScheduleTransactions() {
+        participants.addAll(employers);
+        participants.addAll(contractors);
+    }
+
+    private static Party party(String organisation) {
+        return new Party(new CordaX500Name(organisation, "London", "GB"), Crypto.generateKeyPair().getPublic());
+    }
+
+    private static List<PublicKey> keysOf(List<Party> parties) {
+        return parties.stream().map(Party::getOwningKey).collect(Collectors.toList());
+    }
+
+    public List<JCTJob> jobs(int jobCount, JCTJobStatus status) {
+        List<JCTJob> jobs = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            jobs.add(new JCTJob(
+                    "J" + i,
+                    "Job number " + i,
+                    50.0 + i,
+                    LocalDate.of(2021, 1, 1).plusDays(i % 365),
+                    0.0,
+                    status));
+        }
+        return jobs;
+    }
+
+    public ScheduleClauseState schedule(List<JCTJob> jobs) {
+        return new ScheduleClauseState("Benchmark Project", employers, contractors, 1000.0, 5.0, jobs);
+    }
+
+    private ReportState report(ReportStatus status, LocalDate requestedDate, Double requestedSum) {
+        return new ReportState(status, "J0", Instant.EPOCH, requestedDate, requestedSum, "Lorem ipsum", contractors);
+    }
+
+    // Replaces a single job in a copy of the given list, the way a flow would build the output schedule.
+    private static List<JCTJob> replace(List<JCTJob> jobs, int jobIx, JCTJob job) {
+        List<JCTJob> updated = new ArrayList<>(jobs);
+        updated.set(jobIx, job);
+        return updated;
+    }
+
+    @SuppressWarnings("deprecation")
+    public LedgerTransaction ledgerTransaction(List<ContractState> inputs,
+                                               List<ContractState> outputs,
+                                               CommandData command,
+                                               List<PublicKey> signers) {
+        SecureHash previousTx = SecureHash.randomSHA256();
+        List<StateAndRef<ContractState>> inputRefs = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            inputRefs.add(new StateAndRef<>(transactionState(inputs.get(i)), new StateRef(previousTx, i)));
+        }
+        List<TransactionState<ContractState>> outputStates =
+                outputs.stream().map(this::transactionState).collect(Collectors.toList());
+        List<CommandWithParties<CommandData>> commands =
+                Collections.singletonList(new CommandWithParties<>(signers, Collections.emptyList(), command));
+        return new LedgerTransaction(inputRefs, outputStates, commands, Collections.emptyList(),
+                SecureHash.randomSHA256(), notary, null, new PrivacySalt());
+    }
+
+    private TransactionState<ContractState> transactionState(ContractState state) {
+        String contract = state instanceof ReportState ? ReportContract.ID : ScheduleClauseContract.ID;
+        return new TransactionState<>(state, contract, notary);
+    }
+
+    // Single-job transitions on a schedule of [jobCount] jobs, modifying the job in the middle of the list.
+
+    public LedgerTransaction startJob(int jobCount) {
+        int jobIx = jobCount / 2;
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.PENDING));
+        JCTJob started = input.getJobs().get(jobIx).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, started)).build();
+        return ledgerTransaction(Collections.singletonList(input), Collections.singletonList(output),
+                new ScheduleClauseContract.Commands.StartJob(jobIx), keysOf(participants));
+    }
+
+    public LedgerTransaction declareJobComplete(int jobCount) {
+        int jobIx = jobCount / 2;
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.IN_PROGRESS));
+        JCTJob job = input.getJobs().get(jobIx);
+        JCTJob completed = job.copyBuilder()
+                .withStatus(JCTJobStatus.COMPLETED)
+                .withDescription(job.getDescription() + QUALITY_SURVEYOR_LINK)
+                .build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, completed)).build();
+        return ledgerTransaction(Collections.singletonList(input), Collections.singletonList(output),
+                new ScheduleClauseContract.Commands.DeclareJobComplete(jobIx), keysOf(contractors));
+    }
+
+    public LedgerTransaction confirmJobComplete(int jobCount) {
+        int jobIx = jobCount / 2;
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.COMPLETED));
+        JCTJob confirmed = input.getJobs().get(jobIx).copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build();
+        ScheduleClauseState output = input.copyBuilder()
+                .withJobs(replace(input.getJobs(), jobIx, confirmed))
+                .withNetCumulativeValue(input.getNetCumulativeValue().plus(confirmed.getPrice()))
+                .build();
+        return ledgerTransaction(Collections.singletonList(input), Collections.singletonList(output),
+                new ScheduleClauseContract.Commands.ConfirmJobComplete(jobIx), keysOf(employers));
+    }
+
+    public LedgerTransaction continueJob(int jobCount) {
+        int jobIx = jobCount / 2;
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.COMPLETED));
+        JCTJob continued = input.getJobs().get(jobIx).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, continued)).build();
+        return ledgerTransaction(Collections.singletonList(input), Collections.singletonList(output),
+                new ScheduleClauseContract.Commands.ContinueJob(jobIx), keysOf(employers));
+    }
+
+    public LedgerTransaction requestAmountModification(int jobCount) {
+        int jobIx = jobCount / 2;
+        Double requestedSum = 200.0;
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.IN_PROGRESS));
+        JCTJob requested = input.getJobs().get(jobIx).copyBuilder().withStatus(JCTJobStatus.AMOUNT_AMENDMENT_REQUESTED).build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, requested)).build();
+        ReportState reportInput = report(ReportStatus.ISSUED, null, null);
+        ReportState reportOutput = reportInput.copyBuilder()
+                .withRequestedSum(requestedSum)
+                .withStatus(ReportStatus.PROCESSED)
+                .build();
+        return ledgerTransaction(Arrays.asList(reportInput, input), Arrays.asList(output, reportOutput),
+                new ScheduleClauseContract.Commands.RequestAmountModification(jobIx, requestedSum), keysOf(contractors));
+    }
+
+    public LedgerTransaction acceptAmountModification(int jobCount) {
+        int jobIx = jobCount / 2;
+        Double requestedSum = 200.0;
+        List<JCTJob> inputJobs = jobs(jobCount, JCTJobStatus.IN_PROGRESS);
+        JCTJob requested = inputJobs.get(jobIx).copyBuilder().withStatus(JCTJobStatus.AMOUNT_AMENDMENT_REQUESTED).build();
+        ScheduleClauseState input = schedule(replace(inputJobs, jobIx, requested));
+        JCTJob amended = requested.copyBuilder()
+                .withStatus(JCTJobStatus.IN_PROGRESS)
+                .withAmount(requested.getAmount() + requestedSum)
+                .build();
+        ScheduleClauseState output = input.copyBuilder()
+                .withJobs(replace(input.getJobs(), jobIx, amended))
+                .withContractSum(input.getContractSum() + requestedSum)
+                .build();
+        ReportState reportInput = report(ReportStatus.PROCESSED, null, requestedSum);
+        ReportState reportOutput = reportInput.copyBuilder().withStatus(ReportStatus.CONSUMED).build();
+        return ledgerTransaction(Arrays.asList(reportInput, input), Arrays.asList(output, reportOutput),
+                new ScheduleClauseContract.Commands.AcceptAmountModification(jobIx), keysOf(employers));
+    }
+
+    public LedgerTransaction requestExpectedDateModification(int jobCount) {
+        int jobIx = jobCount / 2;
+        LocalDate delayToDate = LocalDate.of(2022, 1, 1);
+        ScheduleClauseState input = schedule(jobs(jobCount, JCTJobStatus.IN_PROGRESS));
+        JCTJob requested = input.getJobs().get(jobIx).copyBuilder().withStatus(JCTJobStatus.DATE_AMENDMENT_REQUESTED).build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, requested)).build();
+        ReportState reportInput = report(ReportStatus.ISSUED, null, null);
+        ReportState reportOutput = reportInput.copyBuilder()
+                .withRequestedDate(delayToDate)
+                .withStatus(ReportStatus.PROCESSED)
+                .build();
+        return ledgerTransaction(Arrays.asList(reportInput, input), Arrays.asList(output, reportOutput),
+                new ScheduleClauseContract.Commands.RequestExpectedDateModification(jobIx, delayToDate), keysOf(contractors));
+    }
+
+    public LedgerTransaction acceptExpectedDateModification(int jobCount) {
+        int jobIx = jobCount / 2;
+        LocalDate delayToDate = LocalDate.of(2022, 1, 1);
+        List<JCTJob> inputJobs = jobs(jobCount, JCTJobStatus.IN_PROGRESS);
+        JCTJob requested = inputJobs.get(jobIx).copyBuilder().withStatus(JCTJobStatus.DATE_AMENDMENT_REQUESTED).build();
+        ScheduleClauseState input = schedule(replace(inputJobs, jobIx, requested));
+        JCTJob amended = requested.copyBuilder()
+                .withStatus(JCTJobStatus.IN_PROGRESS)
+                .withExpectedEndDate(delayToDate)
+                .build();
+        ScheduleClauseState output = input.copyBuilder().withJobs(replace(input.getJobs(), jobIx, amended)).build();
+        ReportState reportInput = report(ReportStatus.PROCESSED, delayToDate, null);
+        ReportState reportOutput = reportInput.copyBuilder().withStatus(ReportStatus.CONSUMED).build();
+        return ledgerTransaction(Arrays.asList(reportInput, input), Arrays.asList(output, reportOutput),
+                new ScheduleClauseContract.Commands.AcceptExpectedDateModification(jobIx), keysOf(employers));
+    }
+
+    // The same start transition on a schedule whose jobs are committed to a Merkle root.
+    public LedgerTransaction updateCommittedJob(int jobCount) {
+        int jobIx = jobCount / 2;
+        List<JCTJob> jobs = jobs(jobCount, JCTJobStatus.PENDING);
+        JCTJob started = jobs.get(jobIx).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        ScheduleClauseState input = schedule(new ArrayList<>()).copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(jobs), jobCount)
+                .build();
+        ScheduleClauseState output = input.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(replace(jobs, jobIx, started)), jobCount)
+                .build();
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, jobIx);
+        return ledgerTransaction(Collections.singletonList(input), Collections.singletonList(output),
+                new ScheduleClauseContract.Commands.UpdateCommittedJob(jobs.get(jobIx), started, proof, JobTransition.START),
+                keysOf(participants));
+    }
+}
@@ -1,27 +1,292 @@
 package com.template.webserver;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.template.schema.PersistentJCTProject;
+import com.template.schema.PersistentReport;
+import com.template.schema.PersistentSchedule;
+import com.template.states.JCTJob;
+import com.template.states.JCTJobState;
+import com.template.states.JCTJobStatus;
+import com.template.states.JCTState;
+import com.template.states.ReportState;
+import com.template.states.ReportStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.identity.AbstractParty;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
 import net.corda.core.messaging.CordaRPCOps;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.Builder;
+import net.corda.core.node.services.vault.ColumnPredicate;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.node.services.vault.QueryCriteriaUtils;
+import net.corda.core.node.services.vault.Sort;
+import net.corda.core.node.services.vault.SortAttribute;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Define your API endpoints here.
+ *
+ * The listings are paged through the vault with an opaque cursor: each response carries a `nextCursor` to pass back
+ * for the following page, or null on the last one. Responses are written with Jackson's streaming generator as they
+ * are read, so a schedule with many thousands of jobs is never held in memory as JSON.
  */
 @RestController
 @RequestMapping("/") // The paths for HTTP requests are relative to this base path.
 public class Controller {
+    // Oldest first, with the state ref to break ties, so that pages don't overlap.
+    private static final Sort RECORDED_ORDER = new Sort(Arrays.asList(
+            new Sort.SortColumn(new SortAttribute.Standard(Sort.VaultStateAttribute.RECORDED_TIME), Sort.Direction.ASC),
+            new Sort.SortColumn(new SortAttribute.Standard(Sort.CommonStateAttribute.STATE_REF_TXN_ID), Sort.Direction.ASC),
+            new Sort.SortColumn(new SortAttribute.Standard(Sort.CommonStateAttribute.STATE_REF_INDEX), Sort.Direction.ASC)));
+
+    private final NodeRPCConnection rpc;
     private final CordaRPCOps proxy;
+    private final VaultUpdateBroadcaster updates;
+    private final JsonFactory jsonFactory = new JsonFactory();
     private final static Logger logger = LoggerFactory.getLogger(Controller.class);
 
-    public Controller(NodeRPCConnection rpc) {
+    public Controller(NodeRPCConnection rpc, VaultUpdateBroadcaster updates) {
+        this.rpc = rpc;
         this.proxy = rpc.proxy;
+        this.updates = updates;
     }
 
     @GetMapping(value = "/templateendpoint", produces = "text/plain")
     private String templateendpoint() {
         return "Define an endpoint here.";
     }
-}
\ No newline at end of file
+
+    // Schedule headers, optionally only those of [project] or on which [party] takes part. Jobs are listed per
+    // schedule by [scheduleJobs].
+    @GetMapping(value = "/schedules", produces = "application/json")
+    private ResponseEntity<StreamingResponseBody> schedules(@RequestParam(required = false) String party,
+                                                            @RequestParam(required = false) String project,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer size) {
+        QueryCriteria filters = byParty(party);
+        if (project != null) {
+            filters = and(filters, fieldEquals("projectName", PersistentSchedule.class, project));
+        }
+        return page(ScheduleClauseState.class, filters, PageCursor.from(cursor, size, Instant.now()), StateJson::writeSchedule);
+    }
+
+    // A schedule's header and a page of its jobs, optionally only those in [status] or expected to end before
+    // [dueBefore]. The jobs live inside the schedule state, so they are filtered as they are written.
+    @GetMapping(value = "/schedules/{linearId}/jobs", produces = "application/json")
+    private ResponseEntity<StreamingResponseBody> scheduleJobs(@PathVariable String linearId,
+                                                               @RequestParam(required = false) String status,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        final PageCursor page = PageCursor.from(cursor, size, Instant.now());
+        // The version of the schedule that was live when the listing began, so every page lists the same jobs.
+        final List<StateAndRef<ScheduleClauseState>> schedules = proxy.vaultQueryByCriteria(
+                and(snapshot(page), new QueryCriteria.LinearStateQueryCriteria(null,
+                        Collections.singletonList(UUID.fromString(linearId)), null, Vault.StateStatus.ALL)),
+                ScheduleClauseState.class).getStates();
+        if (schedules.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No schedule " + linearId + ".");
+        }
+        final StateAndRef<ScheduleClauseState> schedule = schedules.get(0);
+        final Predicate<JCTJob> filter = jobFilter(status, dueBefore);
+
+        return stream(json -> {
+            json.writeObjectFieldStart("schedule");
+            StateJson.writeRef(json, schedule.getRef());
+            StateJson.writeSchedule(json, schedule.getState().getData());
+            json.writeEndObject();
+            final long matched = StateJson.writeJobs(json, "items", schedule.getState().getData().getJobs(), filter,
+                    page.getOffset(), page.getPageSize());
+            final PageCursor next = page.next(matched);
+            json.writeNumberField("totalStatesAvailable", matched);
+            json.writeStringField("nextCursor", next == null ? null : next.encode());
+        });
+    }
+
+    // Jobs held as their own [JCTJobState]s, optionally only those on which [party] takes part.
+    @GetMapping(value = "/jobs", produces = "application/json")
+    private ResponseEntity<StreamingResponseBody> jobs(@RequestParam(required = false) String party,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return page(JCTJobState.class, byParty(party), PageCursor.from(cursor, size, Instant.now()), StateJson::writeJobState);
+    }
+
+    // Reports, optionally only those in [status], about [jobReference], asking for completion before [dueBefore] or
+    // written by [party].
+    @GetMapping(value = "/reports", produces = "application/json")
+    private ResponseEntity<StreamingResponseBody> reports(@RequestParam(required = false) String party,
+                                                          @RequestParam(required = false) String status,
+                                                          @RequestParam(required = false) String jobReference,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        QueryCriteria filters = byParty(party);
+        if (status != null) {
+            filters = and(filters, fieldEquals("status", PersistentReport.class, ReportStatus.valueOf(status).name()));
+        }
+        if (jobReference != null) {
+            filters = and(filters, fieldEquals("jctJobReference", PersistentReport.class, jobReference));
+        }
+        if (dueBefore != null) {
+            try {
+                filters = and(filters, new QueryCriteria.VaultCustomQueryCriteria(Builder.lessThan(
+                        QueryCriteriaUtils.getField("requestedCompletionDate", PersistentReport.class), dueBefore),
+                        Vault.StateStatus.ALL));
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return page(ReportState.class, filters, PageCursor.from(cursor, size, Instant.now()), StateJson::writeReport);
+    }
+
+    // JCTs, optionally only those of [project] or on which [party] takes part.
+    @GetMapping(value = "/jcts", produces = "application/json")
+    private ResponseEntity<StreamingResponseBody> jcts(@RequestParam(required = false) String party,
+                                                       @RequestParam(required = false) String project,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        QueryCriteria filters = byParty(party);
+        if (project != null) {
+            filters = and(filters, fieldEquals("projectName", PersistentJCTProject.class, project));
+        }
+        return page(JCTState.class, filters, PageCursor.from(cursor, size, Instant.now()), StateJson::writeJct);
+    }
+
+    // Server-Sent Events of the schedules and reports produced and consumed from now on. A viewer that falls
+    // behind is sent a `snapshot` event and should reload from the listings above.
+    @GetMapping(value = "/updates", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    private SseEmitter updates() {
+        return updates.connect();
+    }
+
+    // The RPC pool's connections, calls in flight, reconnects and call latency. Unavailable while no connection is up.
+    @GetMapping(value = "/health", produces = "application/json")
+    private ResponseEntity<Map<String, Object>> health() {
+        final Map<String, Object> health = rpc.getHealth();
+        health.put("viewers", updates.getViewerCount());
+        final HttpStatus status = rpc.getConnectedCount() > 0 ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(health);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    private ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage());
+    }
+
+    private interface JsonBody {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private interface StateWriter<T extends ContractState> {
+        void write(JsonGenerator json, T state) throws IOException;
+    }
+
+    // One page of the [type] states matching [filters] that were unconsumed when the listing began.
+    private <T extends ContractState> ResponseEntity<StreamingResponseBody> page(Class<T> type, QueryCriteria filters,
+                                                                                  PageCursor cursor, StateWriter<T> writer) {
+        final Vault.Page<T> page = proxy.vaultQueryBy(and(snapshot(cursor), filters),
+                new PageSpecification(cursor.getPageNumber(), cursor.getPageSize()), RECORDED_ORDER, type);
+        final PageCursor next = cursor.next(page.getTotalStatesAvailable());
+        logger.debug("Page {} of {} {} states.", cursor.getPageNumber(), page.getTotalStatesAvailable(), type.getSimpleName());
+
+        return stream(json -> {
+            json.writeArrayFieldStart("items");
+            for (StateAndRef<T> stateAndRef : page.getStates()) {
+                json.writeStartObject();
+                StateJson.writeRef(json, stateAndRef.getRef());
+                writer.write(json, stateAndRef.getState().getData());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeNumberField("totalStatesAvailable", page.getTotalStatesAvailable());
+            json.writeStringField("nextCursor", next == null ? null : next.encode());
+        });
+    }
+
+    // A JSON object written by [body] straight to the response.
+    private ResponseEntity<StreamingResponseBody> stream(JsonBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(out -> {
+            try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+                // The servlet container owns the response stream.
+                json.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                json.writeStartObject();
+                body.write(json);
+                json.writeEndObject();
+            }
+        });
+    }
+
+    // The states unconsumed at the cursor's instant: recorded by then, and not consumed or only consumed since. The
+    // vault applies a single state status to a whole query, so every criteria it is combined with asks for ALL.
+    private static QueryCriteria snapshot(PageCursor cursor) {
+        final QueryCriteria recorded = atTime(QueryCriteria.TimeInstantType.RECORDED, Builder.lessThanOrEqual(cursor.getAsOf()));
+        final QueryCriteria unconsumed = atTime(QueryCriteria.TimeInstantType.CONSUMED, Builder.isNull());
+        final QueryCriteria consumedSince = atTime(QueryCriteria.TimeInstantType.CONSUMED, Builder.greaterThan(cursor.getAsOf()));
+        return recorded.and(unconsumed.or(consumedSince));
+    }
+
+    private static QueryCriteria atTime(QueryCriteria.TimeInstantType type, ColumnPredicate<Instant> predicate) {
+        return new QueryCriteria.VaultQueryCriteria(Vault.StateStatus.ALL, null, null, null, null,
+                new QueryCriteria.TimeCondition(type, predicate));
+    }
+
+    private QueryCriteria byParty(String party) {
+        if (party == null) return null;
+        final Party wellKnown = proxy.wellKnownPartyFromX500Name(CordaX500Name.parse(party));
+        if (wellKnown == null) {
+            throw new IllegalArgumentException("Unknown party " + party + ".");
+        }
+        return new QueryCriteria.LinearStateQueryCriteria(Collections.<AbstractParty>singletonList(wellKnown),
+                null, null, Vault.StateStatus.ALL);
+    }
+
+    private static QueryCriteria fieldEquals(String fieldName, Class<?> entity, String value) {
+        try {
+            return new QueryCriteria.VaultCustomQueryCriteria(
+                    Builder.equal(QueryCriteriaUtils.getField(fieldName, entity), value), Vault.StateStatus.ALL);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static QueryCriteria and(QueryCriteria criteria, QueryCriteria other) {
+        if (criteria == null) return other;
+        if (other == null) return criteria;
+        return criteria.and(other);
+    }
+
+    private static Predicate<JCTJob> jobFilter(String status, LocalDate dueBefore) {
+        final JCTJobStatus jobStatus = status == null ? null : JCTJobStatus.valueOf(status);
+        return job -> (jobStatus == null || job.getStatus() == jobStatus) &&
+                (dueBefore == null || (job.getExpectedEndDate() != null && job.getExpectedEndDate().isBefore(dueBefore)));
+    }
+}
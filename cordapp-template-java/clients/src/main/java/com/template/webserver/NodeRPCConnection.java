@@ -2,21 +2,39 @@ package com.template.webserver;
 
 import net.corda.client.rpc.CordaRPCClient;
 import net.corda.client.rpc.CordaRPCConnection;
+import net.corda.client.rpc.GracefulReconnect;
 import net.corda.core.messaging.CordaRPCOps;
 import net.corda.core.utilities.NetworkHostAndPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Wraps an RPC connection to a Corda node.
+ * Wraps a pool of RPC connections to a Corda node.
  *
- * The RPC connection is configured using command line arguments.
+ * The RPC connection is configured using command line arguments. Each connection has its own Artemis session and
+ * reconnects by itself, through [GracefulReconnect], when the node restarts. [proxy] hands each call to the next
+ * connected member of the pool in turn, and counts the calls in flight and how long they take.
  */
 @Component
 public class NodeRPCConnection implements AutoCloseable {
+    private final static Logger logger = LoggerFactory.getLogger(NodeRPCConnection.class);
+    // The weight given to the latest call when averaging call latency.
+    private static final double LATENCY_WEIGHT = 0.2;
+
     // The host of the node we are connecting to.
     @Value("${config.rpc.host}")
     private String host;
@@ -29,20 +47,135 @@ public class NodeRPCConnection implements AutoCloseable {
     // The password for logging into the RPC client.
     @Value("${config.rpc.port}")
     private int rpcPort;
+    // The number of RPC connections to keep open.
+    @Value("${config.rpc.poolSize:4}")
+    private int poolSize;
+    // How many times a connection tries to reconnect before giving up; -1 never gives up.
+    @Value("${config.rpc.maxReconnectAttempts:-1}")
+    private int maxReconnectAttempts;
 
-    private CordaRPCConnection rpcConnection;
+    private final List<PooledConnection> pool = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private double meanLatencyNanos;
     CordaRPCOps proxy;
 
     @PostConstruct
     public void initialiseNodeRPCConnection() {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("config.rpc.poolSize must be at least 1.");
+        }
         NetworkHostAndPort rpcAddress = new NetworkHostAndPort(host, rpcPort);
-        CordaRPCClient rpcClient = new CordaRPCClient(rpcAddress);
-        rpcConnection = rpcClient.start(username, password);
-        proxy = rpcConnection.getProxy();
+        for (int i = 0; i < poolSize; i++) {
+            final PooledConnection connection = new PooledConnection(i);
+            final GracefulReconnect gracefulReconnect = new GracefulReconnect(
+                    () -> {
+                        connection.connected = false;
+                        disconnects.incrementAndGet();
+                        logger.warn("RPC connection {} to {} lost; reconnecting.", connection.index, rpcAddress);
+                    },
+                    () -> {
+                        connection.connected = true;
+                        reconnects.incrementAndGet();
+                        logger.info("RPC connection {} to {} restored.", connection.index, rpcAddress);
+                    },
+                    maxReconnectAttempts);
+            CordaRPCClient rpcClient = new CordaRPCClient(rpcAddress);
+            connection.rpcConnection = rpcClient.start(username, password, gracefulReconnect);
+            connection.proxy = connection.rpcConnection.getProxy();
+            connection.connected = true;
+            pool.add(connection);
+        }
+        proxy = (CordaRPCOps) Proxy.newProxyInstance(CordaRPCOps.class.getClassLoader(),
+                new Class<?>[]{CordaRPCOps.class}, (target, method, args) -> invoke(method, args));
     }
 
     @PreDestroy
     public void close() {
-        rpcConnection.notifyServerAndClose();
+        for (PooledConnection connection : pool) {
+            try {
+                connection.rpcConnection.notifyServerAndClose();
+            } catch (RuntimeException e) {
+                logger.warn("Could not close RPC connection " + connection.index + ".", e);
+            }
+        }
+    }
+
+    // The proxy of the next connection in the pool, skipping those that are reconnecting while any other is up.
+    CordaRPCOps checkout() {
+        final int start = Math.floorMod(next.getAndIncrement(), pool.size());
+        for (int i = 0; i < pool.size(); i++) {
+            final PooledConnection connection = pool.get((start + i) % pool.size());
+            if (connection.connected) {
+                return connection.proxy;
+            }
+        }
+        // Every connection is down: the reconnecting proxy waits for the node to come back.
+        return pool.get(start).proxy;
+    }
+
+    // Adds a member already open on [connectionProxy] to the pool, so that tests can check out without a node.
+    void addConnection(CordaRPCOps connectionProxy, boolean connected) {
+        final PooledConnection connection = new PooledConnection(pool.size());
+        connection.proxy = connectionProxy;
+        connection.connected = connected;
+        pool.add(connection);
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable {
+        final CordaRPCOps target = checkout();
+        inFlight.incrementAndGet();
+        final long start = System.nanoTime();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            failures.incrementAndGet();
+            throw e.getCause();
+        } finally {
+            recordLatency(System.nanoTime() - start);
+            inFlight.decrementAndGet();
+            calls.incrementAndGet();
+        }
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        meanLatencyNanos = calls.get() == 0 ? nanos : LATENCY_WEIGHT * nanos + (1 - LATENCY_WEIGHT) * meanLatencyNanos;
+    }
+
+    public int getConnectedCount() {
+        int connected = 0;
+        for (PooledConnection connection : pool) {
+            if (connection.connected) connected++;
+        }
+        return connected;
+    }
+
+    // The pool's state, as served by the webserver's health endpoint.
+    public synchronized Map<String, Object> getHealth() {
+        final Map<String, Object> health = new LinkedHashMap<>();
+        health.put("poolSize", pool.size());
+        health.put("connected", getConnectedCount());
+        health.put("inFlightCalls", inFlight.get());
+        health.put("calls", calls.get());
+        health.put("failedCalls", failures.get());
+        health.put("disconnects", disconnects.get());
+        health.put("reconnects", reconnects.get());
+        health.put("meanLatencyMillis", meanLatencyNanos / 1_000_000.0);
+        return health;
+    }
+
+    private static class PooledConnection {
+        private final int index;
+        private CordaRPCConnection rpcConnection;
+        private CordaRPCOps proxy;
+        private volatile boolean connected;
+
+        PooledConnection(int index) {
+            this.index = index;
+        }
     }
-}
\ No newline at end of file
+}
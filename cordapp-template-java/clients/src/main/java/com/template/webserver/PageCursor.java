@@ -0,0 +1,64 @@
+package com.template.webserver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * An opaque cursor over a paged listing. It carries the page to fetch, the page size and the instant the listing
+ * began, so every page lists the states that were unconsumed at that instant, and a client can't skip or repeat
+ * states as new ones are recorded and old ones consumed between pages.
+ */
+public class PageCursor {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final int pageNumber;
+    private final int pageSize;
+    private final Instant asOf;
+
+    public PageCursor(int pageNumber, int pageSize, Instant asOf) {
+        if (pageNumber < 1) throw new IllegalArgumentException("Page numbers start at 1.");
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.asOf = asOf;
+    }
+
+    // The cursor a client passed back, or the first page of a new listing if it passed none.
+    public static PageCursor from(String cursor, Integer size, Instant now) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new PageCursor(1, size == null ? DEFAULT_PAGE_SIZE : size, now);
+        }
+        final String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (fields.length != 3) throw new IllegalArgumentException();
+            return new PageCursor(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                    Instant.ofEpochMilli(Long.parseLong(fields[2])));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor + ".");
+        }
+    }
+
+    public int getPageNumber() { return pageNumber; }
+
+    public int getPageSize() { return pageSize; }
+
+    public Instant getAsOf() { return asOf; }
+
+    // The position of the first item of this page in the whole listing.
+    public long getOffset() { return (long) (pageNumber - 1) * pageSize; }
+
+    // The cursor of the following page, or null if this page ends a listing of [total] items.
+    public PageCursor next(long total) {
+        return getOffset() + pageSize < total ? new PageCursor(pageNumber + 1, pageSize, asOf) : null;
+    }
+
+    public String encode() {
+        final String fields = pageNumber + ":" + pageSize + ":" + asOf.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fields.getBytes(StandardCharsets.UTF_8));
+    }
+}
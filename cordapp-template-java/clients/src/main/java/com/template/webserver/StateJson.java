@@ -0,0 +1,136 @@
+package com.template.webserver;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.template.states.JCTJob;
+import com.template.states.JCTJobState;
+import com.template.states.JCTState;
+import com.template.states.Money;
+import com.template.states.ReportState;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.AbstractParty;
+import net.corda.core.identity.Party;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Writes the CorDapp's states to a [JsonGenerator] field by field, so a response is streamed as it is written rather
+ * than built up in memory first. Only the fields a client needs are written; Corda types are written as strings.
+ */
+public class StateJson {
+
+    private StateJson() {}
+
+    public static void writeRef(JsonGenerator json, StateRef ref) throws IOException {
+        json.writeStringField("stateRef", ref.getTxhash() + ":" + ref.getIndex());
+    }
+
+    public static void writeSchedule(JsonGenerator json, ScheduleClauseState schedule) throws IOException {
+        writeLinearId(json, schedule.getLinearId());
+        json.writeStringField("projectName", schedule.getProjectName());
+        writeParties(json, "employers", schedule.getEmployers());
+        writeParties(json, "contractors", schedule.getContractors());
+        writeMoney(json, "contractValue", schedule.getContractValue());
+        json.writeNumberField("retentionBasisPoints", schedule.getRetentionBasisPoints());
+        if (schedule.getAllowAccountPayments() != null) {
+            json.writeBooleanField("allowAccountPayments", schedule.getAllowAccountPayments());
+        }
+        writeMoney(json, "netCumulativeValue", schedule.getNetCumulativeValue());
+        writeMoney(json, "previousCumulativeValue", schedule.getPreviousCumulativeValue());
+        json.writeBooleanField("jobsCommitted", schedule.isJobsCommitted());
+        json.writeNumberField("jobCount", schedule.isJobsCommitted()
+                ? schedule.getCommittedJobCount() : schedule.getJobs().size());
+    }
+
+    // Writes the jobs of [jobs] that pass [filter], from [offset] and at most [limit] of them. Returns the number
+    // of jobs that pass [filter] in all, so the caller can tell whether there is another page.
+    public static long writeJobs(JsonGenerator json, String fieldName, List<JCTJob> jobs, Predicate<JCTJob> filter,
+                                 long offset, int limit) throws IOException {
+        json.writeArrayFieldStart(fieldName);
+        long matched = 0;
+        for (JCTJob job : jobs) {
+            if (!filter.test(job)) continue;
+            if (matched >= offset && matched < offset + limit) {
+                json.writeStartObject();
+                writeJob(json, job);
+                json.writeEndObject();
+            }
+            matched++;
+        }
+        json.writeEndArray();
+        return matched;
+    }
+
+    public static void writeJob(JsonGenerator json, JCTJob job) throws IOException {
+        json.writeStringField("reference", job.getReference());
+        json.writeStringField("description", job.getDescription());
+        writeMoney(json, "price", job.getPrice());
+        if (job.getExpectedEndDate() != null) {
+            json.writeStringField("expectedEndDate", job.getExpectedEndDate().toString());
+        }
+        json.writeNumberField("completionBasisPoints", job.getCompletionBasisPoints());
+        json.writeStringField("status", job.getStatus() == null ? null : job.getStatus().name());
+    }
+
+    public static void writeJobState(JsonGenerator json, JCTJobState jobState) throws IOException {
+        writeLinearId(json, jobState.getLinearId());
+        writeLinearId(json, "scheduleId", jobState.getScheduleId());
+        writeParties(json, "employers", jobState.getEmployers());
+        writeParties(json, "contractors", jobState.getContractors());
+        json.writeObjectFieldStart("job");
+        writeJob(json, jobState.getJob());
+        json.writeEndObject();
+    }
+
+    public static void writeReport(JsonGenerator json, ReportState report) throws IOException {
+        writeLinearId(json, report.getLinearId());
+        json.writeStringField("jctJobReference", report.getJctJobReference());
+        json.writeStringField("status", report.getStatus() == null ? null : report.getStatus().name());
+        if (report.getDateOfSurvey() != null) {
+            json.writeStringField("dateOfSurvey", report.getDateOfSurvey().toString());
+        }
+        if (report.getRequestedCompletionDate() != null) {
+            json.writeStringField("requestedCompletionDate", report.getRequestedCompletionDate().toString());
+        }
+        writeMoney(json, "requestedValue", report.getRequestedValue());
+        json.writeStringField("reportBody", report.getReportBody());
+        writeParties(json, "reporters", report.getReporters());
+    }
+
+    public static void writeJct(JsonGenerator json, JCTState jct) throws IOException {
+        writeLinearId(json, jct.getLinearId());
+        json.writeStringField("projectName", jct.getProjectName());
+        writeParties(json, "employers", jct.getEmployer());
+        writeParties(json, "contractors", jct.getContractor());
+    }
+
+    private static void writeLinearId(JsonGenerator json, UniqueIdentifier linearId) throws IOException {
+        writeLinearId(json, "linearId", linearId);
+    }
+
+    private static void writeLinearId(JsonGenerator json, String fieldName, UniqueIdentifier linearId) throws IOException {
+        json.writeStringField(fieldName, linearId == null ? null : linearId.toString());
+    }
+
+    private static void writeParties(JsonGenerator json, String fieldName, List<? extends AbstractParty> parties) throws IOException {
+        json.writeArrayFieldStart(fieldName);
+        if (parties != null) {
+            for (AbstractParty party : parties) {
+                json.writeString(party instanceof Party ? ((Party) party).getName().toString() : party.toString());
+            }
+        }
+        json.writeEndArray();
+    }
+
+    // Money is written in minor units, so clients never see a rounded amount.
+    private static void writeMoney(JsonGenerator json, String fieldName, Money money) throws IOException {
+        if (money == null) return;
+        json.writeObjectFieldStart(fieldName);
+        json.writeNumberField("minorUnits", money.getMinorUnits());
+        json.writeStringField("currency", money.getCurrency());
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,213 @@
+package com.template.webserver;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.template.states.ReportState;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.messaging.CordaRPCOps;
+import net.corda.core.messaging.DataFeed;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import rx.Subscription;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans the node's schedule and report vault updates out to browsers as Server-Sent Events. The node is tracked
+ * through one RPC observable per state type, however many browsers are connected, and each update is written to
+ * JSON once and shared by every viewer.
+ *
+ * Each viewer has a bounded buffer of pending events, drained on a shared pool. A viewer whose buffer fills up has
+ * its pending updates dropped for a single `snapshot` event, telling it to reload from the REST listings as of that
+ * instant, so a slow browser costs a bounded amount of memory and never holds up the others or the RPC thread.
+ */
+@Component
+public class VaultUpdateBroadcaster {
+    private final static Logger logger = LoggerFactory.getLogger(VaultUpdateBroadcaster.class);
+
+    private final CordaRPCOps proxy;
+    // The number of events a viewer may fall behind by before it is sent a snapshot instead.
+    @Value("${config.updates.bufferSize:256}")
+    private int bufferSize;
+    // The threads writing events out to viewers.
+    @Value("${config.updates.senderThreads:4}")
+    private int senderThreads;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final List<Viewer> viewers = new CopyOnWriteArrayList<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private ExecutorService senders;
+
+    public VaultUpdateBroadcaster(NodeRPCConnection rpc) {
+        this.proxy = rpc.proxy;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "vault-update-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        subscriptions.add(track(ScheduleClauseState.class, "schedule", StateJson::writeSchedule));
+        subscriptions.add(track(ReportState.class, "report", StateJson::writeReport));
+    }
+
+    @PreDestroy
+    public void close() {
+        subscriptions.forEach(Subscription::unsubscribe);
+        viewers.forEach(viewer -> viewer.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    // A new viewer's stream. It only receives updates from now on; its current state comes from the REST listings.
+    public SseEmitter connect() {
+        final Viewer viewer = new Viewer(new SseEmitter(0L), bufferSize);
+        viewer.emitter.onCompletion(() -> viewers.remove(viewer));
+        viewer.emitter.onTimeout(() -> viewers.remove(viewer));
+        viewers.add(viewer);
+        return viewer.emitter;
+    }
+
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    private interface StateWriter<T extends ContractState> {
+        void write(JsonGenerator json, T state) throws IOException;
+    }
+
+    private <T extends ContractState> Subscription track(Class<T> type, String eventName, StateWriter<T> writer) {
+        // Only the updates are wanted, so the snapshot is kept to a single state.
+        final DataFeed<Vault.Page<T>, Vault.Update<T>> feed = proxy.vaultTrackByWithPagingSpec(type,
+                new QueryCriteria.VaultQueryCriteria(Vault.StateStatus.UNCONSUMED), new PageSpecification(1, 1));
+        return feed.getUpdates().subscribe(
+                update -> {
+                    try {
+                        publish(eventName, toJson(update, writer));
+                    } catch (IOException e) {
+                        logger.error("Could not write a " + type.getSimpleName() + " update.", e);
+                    }
+                },
+                error -> logger.error("Tracking of " + type.getSimpleName() + " updates failed.", error));
+    }
+
+    private <T extends ContractState> String toJson(Vault.Update<T> update, StateWriter<T> writer) throws IOException {
+        final StringWriter out = new StringWriter();
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("consumed");
+            for (StateAndRef<T> consumed : update.getConsumed()) {
+                json.writeString(consumed.getRef().getTxhash() + ":" + consumed.getRef().getIndex());
+            }
+            json.writeEndArray();
+            json.writeArrayFieldStart("produced");
+            for (StateAndRef<T> produced : update.getProduced()) {
+                json.writeStartObject();
+                StateJson.writeRef(json, produced.getRef());
+                writer.write(json, produced.getState().getData());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    // Called on the RPC observable's thread, so it only queues and never writes to a viewer itself.
+    private void publish(String eventName, String data) {
+        final Event event = new Event(sequence.incrementAndGet(), eventName, data);
+        for (Viewer viewer : viewers) {
+            viewer.offer(event);
+            if (viewer.draining.compareAndSet(false, true)) {
+                senders.execute(() -> drain(viewer));
+            }
+        }
+    }
+
+    private void drain(Viewer viewer) {
+        try {
+            Event event;
+            while ((event = viewer.poll()) != null) {
+                // A builder is spent by sending it, so each viewer gets its own.
+                viewer.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id))
+                        .name(event.name)
+                        .data(event.data, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The browser went away.
+            viewers.remove(viewer);
+            viewer.emitter.completeWithError(e);
+            return;
+        } finally {
+            viewer.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared.
+        if (!viewer.isEmpty() && viewer.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(viewer));
+        }
+    }
+
+    static class Event {
+        final long id;
+        final String name;
+        final String data;
+
+        Event(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    static class Viewer {
+        private final SseEmitter emitter;
+        private final Queue<Event> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Viewer(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Queues [event], or drops everything pending for a snapshot if the viewer has fallen too far behind.
+        synchronized void offer(Event event) {
+            if (!pending.offer(event)) {
+                pending.clear();
+                pending.offer(new Event(event.id, "snapshot", "{\"asOf\":\"" + Instant.now() + "\"}"));
+            }
+        }
+
+        synchronized Event poll() {
+            return pending.poll();
+        }
+
+        synchronized boolean isEmpty() {
+            return pending.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.template.webserver;
+
+import net.corda.core.messaging.CordaRPCOps;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+
+import static org.junit.Assert.*;
+
+public class NodeRPCConnectionTest {
+
+    // A stand-in for a connection's proxy; only its identity is checked.
+    private static CordaRPCOps proxy() {
+        return (CordaRPCOps) Proxy.newProxyInstance(CordaRPCOps.class.getClassLoader(),
+                new Class<?>[]{CordaRPCOps.class}, (target, method, args) -> {
+                    if (method.getName().equals("equals")) return target == args[0];
+                    if (method.getName().equals("hashCode")) return System.identityHashCode(target);
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Test
+    public void checkoutCyclesThroughTheConnectedMembers() {
+        NodeRPCConnection rpc = new NodeRPCConnection();
+        CordaRPCOps first = proxy();
+        CordaRPCOps second = proxy();
+        rpc.addConnection(first, true);
+        rpc.addConnection(second, true);
+        assertSame(first, rpc.checkout());
+        assertSame(second, rpc.checkout());
+        assertSame(first, rpc.checkout());
+    }
+
+    @Test
+    public void checkoutSkipsMembersThatAreReconnecting() {
+        NodeRPCConnection rpc = new NodeRPCConnection();
+        CordaRPCOps up = proxy();
+        CordaRPCOps down = proxy();
+        CordaRPCOps alsoUp = proxy();
+        rpc.addConnection(up, true);
+        rpc.addConnection(down, false);
+        rpc.addConnection(alsoUp, true);
+        for (int i = 0; i < 6; i++) {
+            assertNotSame(down, rpc.checkout());
+        }
+        assertEquals(2, rpc.getConnectedCount());
+    }
+
+    @Test
+    public void checkoutFallsBackToAReconnectingMemberWhenAllAreDown() {
+        NodeRPCConnection rpc = new NodeRPCConnection();
+        CordaRPCOps first = proxy();
+        CordaRPCOps second = proxy();
+        rpc.addConnection(first, false);
+        rpc.addConnection(second, false);
+        assertSame(first, rpc.checkout());
+        assertSame(second, rpc.checkout());
+        assertEquals(0, rpc.getConnectedCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.template.webserver;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+public class PageCursorTest {
+    private final Instant now = Instant.parse("2021-06-01T12:00:00.123Z");
+
+    private static String encoded(String fields) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fields.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertMalformed(String cursor) {
+        try {
+            PageCursor.from(cursor, null, Instant.now());
+            fail("Expected " + cursor + " to be rejected.");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Malformed cursor " + cursor + ".", e.getMessage());
+        }
+    }
+
+    @Test
+    public void aListingStartsAtTheFirstPageAsOfNow() {
+        PageCursor first = PageCursor.from(null, null, now);
+        assertEquals(1, first.getPageNumber());
+        assertEquals(PageCursor.DEFAULT_PAGE_SIZE, first.getPageSize());
+        assertEquals(now, first.getAsOf());
+        assertEquals(0, first.getOffset());
+        assertEquals(20, PageCursor.from("", 20, now).getPageSize());
+    }
+
+    @Test
+    public void aCursorDecodesToWhatItEncoded() {
+        PageCursor cursor = new PageCursor(3, 25, now);
+        PageCursor decoded = PageCursor.from(cursor.encode(), null, Instant.now());
+        assertEquals(3, decoded.getPageNumber());
+        assertEquals(25, decoded.getPageSize());
+        assertEquals(now, decoded.getAsOf());
+        assertEquals(50, decoded.getOffset());
+        // The size a client passes with a cursor doesn't override the cursor's own.
+        assertEquals(25, PageCursor.from(cursor.encode(), 100, Instant.now()).getPageSize());
+    }
+
+    @Test
+    public void theLastPageHasNoNextCursor() {
+        PageCursor first = new PageCursor(1, 10, now);
+        PageCursor second = first.next(25);
+        assertNotNull(second);
+        assertEquals(2, second.getPageNumber());
+        assertEquals(now, second.getAsOf());
+        PageCursor third = second.next(25);
+        assertNotNull(third);
+        assertNull(third.next(25));
+        assertNull(first.next(10));
+        assertNull(first.next(0));
+    }
+
+    @Test
+    public void malformedCursorsAreRejected() {
+        assertMalformed("not base64!");
+        assertMalformed(encoded("1:10"));
+        assertMalformed(encoded("1:10:5:7"));
+        assertMalformed(encoded("one:10:1622548800000"));
+        assertMalformed(encoded("0:10:1622548800000"));
+        assertMalformed(encoded("1:0:1622548800000"));
+        assertMalformed(encoded("1:" + (PageCursor.MAX_PAGE_SIZE + 1) + ":1622548800000"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aPageSizeOverTheMaximumIsRejected() {
+        PageCursor.from(null, PageCursor.MAX_PAGE_SIZE + 1, now);
+    }
+}
@@ -0,0 +1,77 @@
+package com.template.webserver;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StateJsonTest {
+    // J0 to J9, every other one IN_PROGRESS.
+    private final List<JCTJob> jobs = new ArrayList<>();
+    {
+        for (int i = 0; i < 10; i++) {
+            jobs.add(new JCTJob("J" + i, "Job " + i, 50.0, LocalDate.of(2021, 1, 1).plusDays(i), 0.0,
+                    i % 2 == 0 ? JCTJobStatus.IN_PROGRESS : JCTJobStatus.PENDING));
+        }
+    }
+
+    private static class Written {
+        private final long matched;
+        private final List<String> references = new ArrayList<>();
+
+        Written(long matched, JsonNode items) {
+            this.matched = matched;
+            items.forEach(item -> references.add(item.get("reference").asText()));
+        }
+    }
+
+    private Written write(Predicate<JCTJob> filter, long offset, int limit) throws IOException {
+        final StringWriter out = new StringWriter();
+        final long matched;
+        try (JsonGenerator json = new JsonFactory().createGenerator(out)) {
+            json.writeStartObject();
+            matched = StateJson.writeJobs(json, "items", jobs, filter, offset, limit);
+            json.writeEndObject();
+        }
+        return new Written(matched, new ObjectMapper().readTree(out.toString()).get("items"));
+    }
+
+    @Test
+    public void writesOnePageOfTheJobs() throws IOException {
+        Written first = write(job -> true, 0, 4);
+        assertEquals(10, first.matched);
+        assertEquals(Arrays.asList("J0", "J1", "J2", "J3"), first.references);
+
+        Written last = write(job -> true, 8, 4);
+        assertEquals(10, last.matched);
+        assertEquals(Arrays.asList("J8", "J9"), last.references);
+    }
+
+    @Test
+    public void theOffsetAndLimitCountOnlyTheJobsThatPassTheFilter() throws IOException {
+        Written second = write(job -> job.getStatus() == JCTJobStatus.IN_PROGRESS, 2, 2);
+        assertEquals(5, second.matched);
+        assertEquals(Arrays.asList("J4", "J6"), second.references);
+    }
+
+    @Test
+    public void anOffsetPastTheEndWritesNoJobs() throws IOException {
+        Written past = write(job -> true, 10, 4);
+        assertEquals(10, past.matched);
+        assertTrue(past.references.isEmpty());
+    }
+}
@@ -0,0 +1,42 @@
+package com.template.webserver;
+
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.junit.Assert.*;
+
+public class VaultUpdateBroadcasterTest {
+
+    private static VaultUpdateBroadcaster.Event event(long id) {
+        return new VaultUpdateBroadcaster.Event(id, "schedule", "{\"id\":" + id + "}");
+    }
+
+    @Test
+    public void aViewerReceivesItsEventsInOrder() {
+        VaultUpdateBroadcaster.Viewer viewer = new VaultUpdateBroadcaster.Viewer(new SseEmitter(0L), 3);
+        viewer.offer(event(1));
+        viewer.offer(event(2));
+        assertEquals(1, viewer.poll().id);
+        assertEquals(2, viewer.poll().id);
+        assertNull(viewer.poll());
+        assertTrue(viewer.isEmpty());
+    }
+
+    @Test
+    public void aViewerThatFallsBehindGetsASingleSnapshot() {
+        VaultUpdateBroadcaster.Viewer viewer = new VaultUpdateBroadcaster.Viewer(new SseEmitter(0L), 2);
+        viewer.offer(event(1));
+        viewer.offer(event(2));
+        viewer.offer(event(3));
+
+        VaultUpdateBroadcaster.Event snapshot = viewer.poll();
+        assertEquals("snapshot", snapshot.name);
+        assertEquals(3, snapshot.id);
+        assertTrue(snapshot.data.startsWith("{\"asOf\":\""));
+        assertNull(viewer.poll());
+
+        // Once it has caught up, it receives events again.
+        viewer.offer(event(4));
+        assertEquals("schedule", viewer.poll().name);
+    }
+}
@@ -0,0 +1,143 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobState;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.CommandData;
+import net.corda.core.contracts.CommandWithParties;
+import net.corda.core.contracts.Contract;
+import net.corda.core.contracts.TypeOnlyCommandData;
+import net.corda.core.transactions.LedgerTransaction;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static net.corda.core.contracts.ContractsDSL.requireThat;
+
+// ************
+// * Contract *
+// ************
+// Governs [JCTJobState]s: jobs of a schedule that are tracked one state per job. The schedule is consumed once,
+// when its jobs are split out, and is only attached as a reference input to job updates after that.
+public class JCTJobContract implements Contract {
+    // This is used to identify our contract when building a transaction.
+    public static final String ID = "com.template.contracts.JCTJobContract";
+
+    public interface Commands extends CommandData {
+        class Issue extends TypeOnlyCommandData implements Commands {}
+        class Transition extends TypeOnlyCommandData implements Commands {
+            private JobTransition transition;
+            public Transition(JobTransition transition) {
+                this.transition = transition;
+            }
+            public JobTransition getTransition() { return transition; }
+        }
+    }
+
+    // Verifies one command of type [C] against the transaction it was extracted from.
+    @FunctionalInterface
+    private interface Handler<C extends Commands> {
+        void verify(JCTJobContract contract, LedgerTransaction tx, CommandWithParties<C> command);
+    }
+
+    // Command class -> handler, built once per class load. Commands without an entry are rejected.
+    private static final Map<Class<? extends Commands>, Handler<?>> HANDLERS = new HashMap<>();
+
+    private static <C extends Commands> void register(Class<C> type, Handler<C> handler) {
+        HANDLERS.put(type, handler);
+    }
+
+    static {
+        // SPLIT THE JOBS OF A SCHEDULE INTO JOB STATES
+        register(Commands.Issue.class, JCTJobContract::verifyIssue);
+
+        // MOVE A SINGLE JOB STATE THROUGH A STATUS TRANSITION
+        register(Commands.Transition.class, JCTJobContract::verifyTransition);
+    }
+
+    // A transaction is valid if the verify() function of the contract of all the transaction's input and output states
+    // does not throw an exception.
+    @Override
+    public void verify(LedgerTransaction tx) throws IllegalArgumentException {
+        final List<CommandWithParties<Commands>> commands = tx.commandsOfType(Commands.class);
+        if (commands.size() != 1) {
+            throw new IllegalArgumentException("Exactly one JCTJobContract command is required, found " + commands.size() + ".");
+        }
+        dispatch(tx, commands.get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C extends Commands> void dispatch(LedgerTransaction tx, CommandWithParties<C> command) {
+        final Handler<C> handler = (Handler<C>) HANDLERS.get(command.getValue().getClass());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unsupported JCTJobContract command: " + command.getValue().getClass().getSimpleName());
+        }
+        handler.verify(this, tx, command);
+    }
+
+    // The schedule is consumed and its issued jobs flagged SPLIT in the same transaction (see
+    // [ScheduleClauseContract.Commands.SplitJobs]), so a job can't be issued twice or also be moved on the schedule.
+    private void verifyIssue(LedgerTransaction tx, CommandWithParties<Commands.Issue> command) {
+
+        requireThat(require -> {
+            require.using("The schedule must be the only input.",
+                    tx.getInputs().size() == 1 && tx.inputsOfType(ScheduleClauseState.class).size() == 1);
+            require.using("The schedule must be reissued with its jobs split out.",
+                    tx.outputsOfType(ScheduleClauseState.class).size() == 1);
+            ScheduleClauseState schedule = tx.inputsOfType(ScheduleClauseState.class).get(0);
+            ScheduleClauseState splitSchedule = tx.outputsOfType(ScheduleClauseState.class).get(0);
+
+            List<JCTJobState> outputs = tx.outputsOfType(JCTJobState.class);
+            require.using("Only job states and the schedule should be produced.",
+                    !outputs.isEmpty() && outputs.size() + 1 == tx.getOutputs().size());
+
+            Map<String, JCTJob> scheduledJobs = new HashMap<>();
+            schedule.getJobs().forEach(job -> scheduledJobs.put(job.getReference(), job));
+            Set<String> references = new HashSet<>();
+            for (JCTJobState output : outputs) {
+                require.using("Job states must belong to the split schedule.", output.belongsTo(schedule));
+                JCTJob job = output.getJob();
+                require.using("Each job may only be issued once.", references.add(job.getReference()));
+                require.using("Issued jobs must be part of the schedule.", job.equals(scheduledJobs.get(job.getReference())));
+                require.using("All the jobs should be unstarted/pending.", job.getStatus() == JCTJobStatus.PENDING);
+                JCTJob flagged = splitSchedule.getJob(job.getReference());
+                require.using("Issued jobs must be flagged SPLIT on the schedule.",
+                        flagged != null && flagged.getStatus() == JCTJobStatus.SPLIT);
+            }
+
+            require.using("The employers and contractors should be required signers.",
+                    SignerPolicy.of(command.getSigners()).allKeys(schedule.getParticipantKeys()));
+            return null;
+        });
+    }
+
+    private void verifyTransition(LedgerTransaction tx, CommandWithParties<Commands.Transition> command) {
+        final JobTransition transition = command.getValue().getTransition();
+
+        requireThat(require -> {
+            require.using("A transition must be given.", transition != null);
+            require.using("One JCTJobState input should be consumed.", tx.getInputs().size() == 1);
+            require.using("One JCTJobState output should be produced.", tx.getOutputs().size() == 1);
+            List<ScheduleClauseState> schedules = tx.referenceInputsOfType(ScheduleClauseState.class);
+            require.using("The schedule must be a single reference input.", schedules.size() == 1);
+            ScheduleClauseState schedule = schedules.get(0);
+
+            JCTJobState input = tx.inputsOfType(JCTJobState.class).get(0);
+            JCTJobState output = tx.outputsOfType(JCTJobState.class).get(0);
+            require.using("The job state must belong to the referenced schedule.", input.belongsTo(schedule));
+            JCTJob scheduled = schedule.getJob(input.getJob().getReference());
+            require.using("The job must have been split out of the referenced schedule.",
+                    scheduled != null && scheduled.getStatus() == JCTJobStatus.SPLIT);
+            require.using("Only the job may change.", input.withJob(output.getJob()).equals(output));
+
+            transition.verifyParties(require, schedule, schedule);
+            transition.verifyJob(require, input.getJob(), output.getJob());
+            transition.verifySigners(require, schedule, schedule, SignerPolicy.of(command.getSigners()));
+            return null;
+        });
+    }
+}
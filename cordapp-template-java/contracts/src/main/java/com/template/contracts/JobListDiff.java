@@ -0,0 +1,77 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The positions at which an output schedule's jobs differ from the input schedule's jobs.
+ *
+ * Both lists are walked once, side by side, without copying them; jobs that already carry a content digest are
+ * compared by digest. Command handlers then only need to assert that the changed positions are the ones the
+ * command is allowed to touch.
+ */
+public class JobListDiff {
+    private final int inputSize;
+    private final int outputSize;
+    private final BitSet changed;
+
+    private JobListDiff(int inputSize, int outputSize, BitSet changed) {
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.changed = changed;
+    }
+
+    public static JobListDiff between(List<JCTJob> inputJobs, List<JCTJob> outputJobs) {
+        final int shared = Math.min(inputJobs.size(), outputJobs.size());
+        final BitSet changed = new BitSet();
+        for (int i = 0; i < shared; i++) {
+            JCTJob input = inputJobs.get(i);
+            JCTJob output = outputJobs.get(i);
+            if (!input.sameContentAs(output)) {
+                changed.set(i);
+            }
+        }
+        return new JobListDiff(inputJobs.size(), outputJobs.size(), changed);
+    }
+
+    // Jobs were neither added nor removed.
+    public boolean sameSize() {
+        return inputSize == outputSize;
+    }
+
+    public boolean isChanged(int jobIx) {
+        return changed.get(jobIx);
+    }
+
+    public int changedCount() {
+        return changed.cardinality();
+    }
+
+    public Set<Integer> getChangedIndices() {
+        final Set<Integer> indices = new TreeSet<>();
+        changed.stream().forEach(indices::add);
+        return indices;
+    }
+
+    // True if the lists are the same length and no job other than the one at [jobIx] differs.
+    public boolean unchangedExcept(int jobIx) {
+        if (!sameSize()) return false;
+        int first = changed.nextSetBit(0);
+        return first == -1 || (first == jobIx && changed.nextSetBit(jobIx + 1) == -1);
+    }
+
+    // True if the lists are the same length and no job outside [jobIxs] differs.
+    public boolean unchangedExcept(Collection<Integer> jobIxs) {
+        if (!sameSize()) return false;
+        final BitSet allowed = new BitSet();
+        jobIxs.forEach(allowed::set);
+        final BitSet unexpected = (BitSet) changed.clone();
+        unexpected.andNot(allowed);
+        return unexpected.isEmpty();
+    }
+}
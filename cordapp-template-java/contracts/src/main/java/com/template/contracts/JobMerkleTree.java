@@ -0,0 +1,128 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.serialization.CordaSerializable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A binary Merkle tree over the jobs of a schedule, used by [ScheduleClauseContract] when a schedule only commits
+ * to the root of its jobs instead of carrying them.
+ *
+ * Leaves and inner nodes are hashed with different prefixes so that a node can never be passed off as a job. When
+ * a level has an odd number of nodes the last one is carried up unchanged rather than paired with itself, so two
+ * different job lists can never share a root. A proof is the list of sibling hashes from the leaf upwards.
+ */
+public class JobMerkleTree {
+    private static final byte NODE_PREFIX = 1;
+
+    private JobMerkleTree() {}
+
+    /** An inclusion proof for the job at [jobIx] of a tree over [jobCount] jobs. */
+    @CordaSerializable
+    public static class Proof {
+        private final int jobIx;
+        private final int jobCount;
+        private final List<SecureHash> siblings;
+
+        public Proof(int jobIx, int jobCount, List<SecureHash> siblings) {
+            this.jobIx = jobIx;
+            this.jobCount = jobCount;
+            this.siblings = siblings;
+        }
+
+        public int getJobIx() { return jobIx; }
+
+        public int getJobCount() { return jobCount; }
+
+        public List<SecureHash> getSiblings() { return siblings; }
+    }
+
+    // The job's cached content digest, whose encoding starts with a zero byte where inner nodes start with a one.
+    public static SecureHash leafHash(JCTJob job) {
+        return job.getContentDigest();
+    }
+
+    private static SecureHash nodeHash(SecureHash left, SecureHash right) {
+        byte[] joined = new byte[1 + 2 * 32];
+        joined[0] = NODE_PREFIX;
+        System.arraycopy(left.getBytes(), 0, joined, 1, 32);
+        System.arraycopy(right.getBytes(), 0, joined, 33, 32);
+        return SecureHash.sha256(joined);
+    }
+
+    public static SecureHash root(List<JCTJob> jobs) {
+        if (jobs.isEmpty()) {
+            throw new IllegalArgumentException("Cannot build a Merkle tree over no jobs.");
+        }
+        List<SecureHash> level = new ArrayList<>(jobs.size());
+        jobs.forEach(job -> level.add(leafHash(job)));
+        return rootOf(level);
+    }
+
+    private static SecureHash rootOf(List<SecureHash> level) {
+        while (level.size() > 1) {
+            level = parentsOf(level);
+        }
+        return level.get(0);
+    }
+
+    private static List<SecureHash> parentsOf(List<SecureHash> level) {
+        List<SecureHash> parents = new ArrayList<>((level.size() + 1) / 2);
+        for (int i = 0; i + 1 < level.size(); i += 2) {
+            parents.add(nodeHash(level.get(i), level.get(i + 1)));
+        }
+        if (level.size() % 2 == 1) {
+            parents.add(level.get(level.size() - 1));
+        }
+        return parents;
+    }
+
+    public static Proof proof(List<JCTJob> jobs, int jobIx) {
+        if (jobIx < 0 || jobIx >= jobs.size()) {
+            throw new IndexOutOfBoundsException("No job at index " + jobIx);
+        }
+        List<SecureHash> level = new ArrayList<>(jobs.size());
+        jobs.forEach(job -> level.add(leafHash(job)));
+
+        List<SecureHash> siblings = new ArrayList<>();
+        int index = jobIx;
+        List<SecureHash> current = level;
+        while (current.size() > 1) {
+            int sibling = index ^ 1;
+            if (sibling < current.size()) {
+                siblings.add(current.get(sibling));
+            }
+            current = parentsOf(current);
+            index /= 2;
+        }
+        return new Proof(jobIx, jobs.size(), Collections.unmodifiableList(siblings));
+    }
+
+    /**
+     * The root of the tree described by [proof] with [job] as its leaf, or null if the proof is malformed. Hashes
+     * O(log n) nodes and never needs the rest of the jobs.
+     */
+    public static SecureHash rootFromProof(JCTJob job, Proof proof) {
+        int index = proof.getJobIx();
+        int size = proof.getJobCount();
+        if (index < 0 || index >= size) return null;
+
+        SecureHash hash = leafHash(job);
+        int used = 0;
+        while (size > 1) {
+            boolean carried = index == size - 1 && size % 2 == 1;
+            if (!carried) {
+                if (used >= proof.getSiblings().size()) return null;
+                SecureHash sibling = proof.getSiblings().get(used++);
+                hash = index % 2 == 0 ? nodeHash(hash, sibling) : nodeHash(sibling, hash);
+            }
+            index /= 2;
+            size = (size + 1) / 2;
+        }
+        return used == proof.getSiblings().size() ? hash : null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JobField;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Requirements;
+import net.corda.core.identity.Party;
+import net.corda.core.serialization.CordaSerializable;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The job status transitions that a schedule's parties can make without a report, with the rules each one has
+ * to satisfy. Shared by the single-job and the batch commands of [ScheduleClauseContract].
+ */
+@CordaSerializable
+public enum JobTransition {
+    // Start a job on the schedule
+    START(JCTJobStatus.PENDING, JCTJobStatus.IN_PROGRESS) {
+        @Override
+        public void verifyJob(Requirements require, JCTJob input, JCTJob output) {
+            super.verifyJob(require, input, output);
+            require.using("The modified Job's description and amount shouldn't change.",
+                    input.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build().equals(output));
+        }
+
+        @Override
+        public void verifySigners(Requirements require, ScheduleClauseState input, ScheduleClauseState output, SignerPolicy signers) {
+            require.using("The employers and contractors should be required signers.",
+                    signers.allOf(output.getEmployers(), output.getContractors()));
+        }
+    },
+    // Contractor declares a started job to be complete
+    DECLARE_COMPLETE(JCTJobStatus.IN_PROGRESS, JCTJobStatus.COMPLETED) {
+        @Override
+        public void verifyJob(Requirements require, JCTJob input, JCTJob output) {
+            super.verifyJob(require, input, output);
+            require.using("The updated Job must not have a modified Job amount",
+                    input.copyBuilder().withStatus(JCTJobStatus.COMPLETED).build().equalsExcept(output, JobField.DESCRIPTION));
+            require.using("The modified Job's description must include 'Quality Surveyor Link'.",
+                    output.getDescription().contains("Quality Surveyor Link"));
+        }
+
+        @Override
+        public void verifySigners(Requirements require, ScheduleClauseState input, ScheduleClauseState output, SignerPolicy signers) {
+            require.using("At least a single contractor should be a required signer.",
+                    signers.anyOf(input.getContractors()));
+        }
+    },
+    // Employers sign-off a job marked as complete
+    CONFIRM_COMPLETE(JCTJobStatus.COMPLETED, JCTJobStatus.CONFIRMED) {
+        @Override
+        public void verifyParties(Requirements require, ScheduleClauseState input, ScheduleClauseState output) {
+            require.using("Input state must be contractor-signed.",
+                    !getOwningKeys(input.getContractors()).isEmpty());
+            require.using("Output state must involve employer signatures.",
+                    !getOwningKeys(output.getEmployers()).isEmpty());
+        }
+
+        @Override
+        public void verifyJob(Requirements require, JCTJob input, JCTJob output) {
+            super.verifyJob(require, input, output);
+            require.using("The updated Job must not have a modified Job amount",
+                    input.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build().equals(output));
+        }
+
+        @Override
+        public void verifySigners(Requirements require, ScheduleClauseState input, ScheduleClauseState output, SignerPolicy signers) {
+            verifyEmployerSigners(require, output, signers);
+        }
+    },
+    // Employers reject a job marked as complete
+    CONTINUE(JCTJobStatus.COMPLETED, JCTJobStatus.IN_PROGRESS) {
+        @Override
+        public void verifyParties(Requirements require, ScheduleClauseState input, ScheduleClauseState output) {
+            require.using("Input state must include contractors.",
+                    !getOwningKeys(input.getContractors()).isEmpty());
+            require.using("Output state must involve employer signatures.",
+                    !getOwningKeys(output.getEmployers()).isEmpty());
+        }
+
+        @Override
+        public void verifyJob(Requirements require, JCTJob input, JCTJob output) {
+            super.verifyJob(require, input, output);
+            require.using("The updated Job must not have a modified Job amount",
+                    input.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build().equals(output));
+        }
+
+        @Override
+        public void verifySigners(Requirements require, ScheduleClauseState input, ScheduleClauseState output, SignerPolicy signers) {
+            verifyEmployerSigners(require, output, signers);
+        }
+    };
+
+    private final JCTJobStatus from;
+    private final JCTJobStatus to;
+
+    JobTransition(JCTJobStatus from, JCTJobStatus to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public JCTJobStatus getFrom() {
+        return from;
+    }
+
+    public JCTJobStatus getTo() {
+        return to;
+    }
+
+    // Checks on the schedule's parties, made before any job is looked at.
+    public void verifyParties(Requirements require, ScheduleClauseState input, ScheduleClauseState output) { }
+
+    public void verifyJob(Requirements require, JCTJob input, JCTJob output) {
+        require.using("The modified Job should have an input status of " + from + ".",
+                input.getStatus() == from);
+        require.using("The Job should have an output status of " + to + ".",
+                output.getStatus() == to);
+    }
+
+    public abstract void verifySigners(Requirements require, ScheduleClauseState input, ScheduleClauseState output, SignerPolicy signers);
+
+    private static void verifyEmployerSigners(Requirements require, ScheduleClauseState output, SignerPolicy signers) {
+        require.using("All employers should be required signers.",
+                signers.allOf(output.getEmployers()));
+        require.using("All signers must be authorised via previous transactions.",
+                signers.exactly(output.getEmployers()));
+    }
+
+    private static List<PublicKey> getOwningKeys(List<Party> parties) {
+        List<PublicKey> keys = new ArrayList<PublicKey>();
+        if(parties != null) {
+            parties.forEach((party) -> keys.add(party.getOwningKey()));
+        }
+        return keys;
+    }
+}
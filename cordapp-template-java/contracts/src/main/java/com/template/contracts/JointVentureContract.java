@@ -12,8 +12,6 @@ import net.corda.core.identity.AbstractParty;
 import net.corda.core.identity.Party;
 import net.corda.core.transactions.LedgerTransaction;
 
-import java.security.PublicKey;
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -42,12 +40,6 @@ public class JointVentureContract implements Contract {
         }
     }
 
-    private List<PublicKey> getOwningKeys(List<Party> parties) {
-        List<PublicKey> keys = new ArrayList<PublicKey>();
-        parties.forEach((party) -> keys.add(party.getOwningKey()));
-        return keys;
-    }
-
 
     // A transaction is valid if the verify() function of the contract of all the transaction's input and output states
     // does not throw an exception.
@@ -88,13 +80,9 @@ public class JointVentureContract implements Contract {
             require.using("The Contractor cannot be the Employer", !employer.equals(contractor));
 
             // Constraints on the signers of the contract
-            final List<PublicKey> requiredSigners = create.getSigners();
-            final List<PublicKey> expectedSigners = new ArrayList<>();
-            expectedSigners.addAll(getOwningKeys(employer));
-            expectedSigners.addAll(getOwningKeys(contractor));
-            require.using("There must be 2 or more signers in this transaction", expectedSigners.size() > 1);
-            require.using("There must be 2 or more signers in this transaction", expectedSigners.size() > 1);
-            require.using("The Employer and Contractor must be signers to this transaction", expectedSigners.containsAll(expectedSigners));
+            final SignerPolicy signers = SignerPolicy.of(create.getSigners());
+            require.using("There must be 2 or more signers in this transaction", employer.size() + contractor.size() > 1);
+            require.using("The Employer and Contractor must be signers to this transaction", signers.allOf(employer, contractor));
 
             return null;
         });
@@ -0,0 +1,45 @@
+package com.template.contracts;
+
+import com.template.states.JCTState;
+import net.corda.core.contracts.Requirements;
+import net.corda.core.identity.AbstractParty;
+import net.corda.core.transactions.LedgerTransaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Checks a transaction's parties against the project header ([JCTState]) it carries as a reference input. The header
+ * names every employer and contractor of the project, and is only read, never consumed, so any number of schedule
+ * and job transactions can cite the same one at once.
+ */
+public class ProjectMembership {
+
+    private ProjectMembership() {}
+
+    // The transaction must cite exactly one header, for [projectName], and [parties] must all be members of it.
+    public static void verify(Requirements require, LedgerTransaction tx, String projectName,
+                              Collection<? extends AbstractParty> parties) {
+        final List<JCTState> headers = tx.referenceInputsOfType(JCTState.class);
+        require.using("The project header must be a reference input.", headers.size() == 1);
+        verifyMembers(require, headers.get(0), projectName, parties);
+    }
+
+    // As [verify], for states that name no project: a header is only checked when the transaction cites one.
+    public static void verifyCited(Requirements require, LedgerTransaction tx, Collection<? extends AbstractParty> parties) {
+        final List<JCTState> headers = tx.referenceInputsOfType(JCTState.class);
+        require.using("At most one project header may be a reference input.", headers.size() <= 1);
+        if (!headers.isEmpty()) {
+            verifyMembers(require, headers.get(0), null, parties);
+        }
+    }
+
+    private static void verifyMembers(Requirements require, JCTState header, String projectName,
+                                      Collection<? extends AbstractParty> parties) {
+        require.using("The referenced project header must be for this project.",
+                projectName == null || Objects.equals(projectName, header.getProjectName()));
+        require.using("Every party must be a member of the referenced project.",
+                header.getParticipants().containsAll(parties));
+    }
+}
@@ -52,6 +52,8 @@ public class ReportContract implements Contract {
                         !outputState.checkIfEmpty());
                 require.using("Output ReportState must have status: UNSEEN",
                         outputState.getStatus() == ReportStatus.ISSUED);
+                // Reports name no project, so only the reporters' membership of a referenced header is checked.
+                ProjectMembership.verifyCited(require, tx, outputState.getParticipants());
 
                 return null;
             });
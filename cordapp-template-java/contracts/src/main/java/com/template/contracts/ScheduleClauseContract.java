@@ -1,22 +1,29 @@
 package com.template.contracts;
 
-// Add these imports:
-
+import com.template.contracts.metrics.VerificationMetrics;
 import com.template.states.*;
 import net.corda.core.contracts.CommandData;
 import net.corda.core.contracts.CommandWithParties;
 import net.corda.core.contracts.Contract;
+import net.corda.core.contracts.Requirements;
+import net.corda.core.contracts.StateRef;
 import net.corda.core.contracts.TypeOnlyCommandData;
 import net.corda.core.identity.Party;
+import net.corda.core.serialization.ConstructorForDeserialization;
 import net.corda.core.transactions.LedgerTransaction;
 
 import java.security.PublicKey;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import static net.corda.core.contracts.ContractsDSL.requireSingleCommand;
 import static net.corda.core.contracts.ContractsDSL.requireThat;
 
 // ************
@@ -27,353 +34,572 @@ public class ScheduleClauseContract implements Contract {
     public static final String ID = "com.template.contracts.ScheduleClauseContract";
 
     public interface Commands extends CommandData {
-        class CreateSchedule extends TypeOnlyCommandData implements Commands {}
-        class StartJob extends TypeOnlyCommandData implements Commands {
+        // A command acting on one job, addressed by index, by reference, or by both (which must then agree).
+        abstract class JobCommand extends TypeOnlyCommandData implements Commands {
             private Integer jobIx;
-            public StartJob(Integer jobIx) {
+            private String jobReference;
+            protected JobCommand(Integer jobIx, String jobReference) {
                 this.jobIx = jobIx;
+                this.jobReference = jobReference;
+            }
+            public Integer getJobIx() { return jobIx; }
+            public String getJobReference() { return jobReference; }
+
+            // The index of the addressed job in [schedule], or null if it isn't there.
+            public Integer resolveJobIndex(ScheduleClauseState schedule) {
+                if (jobReference != null) {
+                    int index = schedule.jobIndexOf(jobReference);
+                    if (index < 0 || (jobIx != null && jobIx != index)) return null;
+                    return index;
+                }
+                if (jobIx == null || jobIx < 0 || jobIx >= schedule.getJobs().size()) return null;
+                return jobIx;
             }
         }
-        class DeclareJobComplete extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class CreateSchedule extends TypeOnlyCommandData implements Commands {}
+        class StartJob extends JobCommand {
+            @ConstructorForDeserialization
+            public StartJob(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
+            public StartJob(Integer jobIx) {
+                this(jobIx, null);
+            }
+        }
+        class DeclareJobComplete extends JobCommand {
+            @ConstructorForDeserialization
+            public DeclareJobComplete(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public DeclareJobComplete(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
             }
         }
-        class ConfirmJobComplete extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class ConfirmJobComplete extends JobCommand {
+            @ConstructorForDeserialization
+            public ConfirmJobComplete(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public ConfirmJobComplete(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
             }
         }
-        class ContinueJob extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class ContinueJob extends JobCommand {
+            @ConstructorForDeserialization
+            public ContinueJob(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public ContinueJob(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
             }
         }
-        class RequestAmountModification extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class StartJobs extends TypeOnlyCommandData implements Commands {
+            private List<Integer> jobIxs;
+            public StartJobs(List<Integer> jobIxs) {
+                this.jobIxs = jobIxs;
+            }
+            public List<Integer> getJobIxs() { return jobIxs; }
+        }
+        class DeclareJobsComplete extends TypeOnlyCommandData implements Commands {
+            private List<Integer> jobIxs;
+            public DeclareJobsComplete(List<Integer> jobIxs) {
+                this.jobIxs = jobIxs;
+            }
+            public List<Integer> getJobIxs() { return jobIxs; }
+        }
+        class ConfirmJobsComplete extends TypeOnlyCommandData implements Commands {
+            private List<Integer> jobIxs;
+            public ConfirmJobsComplete(List<Integer> jobIxs) {
+                this.jobIxs = jobIxs;
+            }
+            public List<Integer> getJobIxs() { return jobIxs; }
+        }
+        class ContinueJobs extends TypeOnlyCommandData implements Commands {
+            private List<Integer> jobIxs;
+            public ContinueJobs(List<Integer> jobIxs) {
+                this.jobIxs = jobIxs;
+            }
+            public List<Integer> getJobIxs() { return jobIxs; }
+        }
+        class CommitJobs extends TypeOnlyCommandData implements Commands {}
+        class UpdateCommittedJob extends TypeOnlyCommandData implements Commands {
+            private JCTJob oldJob;
+            private JCTJob newJob;
+            private JobMerkleTree.Proof proof;
+            private JobTransition transition;
+            public UpdateCommittedJob(JCTJob oldJob, JCTJob newJob, JobMerkleTree.Proof proof, JobTransition transition) {
+                this.oldJob = oldJob;
+                this.newJob = newJob;
+                this.proof = proof;
+                this.transition = transition;
+            }
+            public JCTJob getOldJob() { return oldJob; }
+            public JCTJob getNewJob() { return newJob; }
+            public JobMerkleTree.Proof getProof() { return proof; }
+            public JobTransition getTransition() { return transition; }
+        }
+        class RequestAmountModification extends JobCommand {
             private Double amount;
-            public RequestAmountModification(Integer jobIx, Double amount) {
-                this.jobIx = jobIx;
+            @ConstructorForDeserialization
+            public RequestAmountModification(Integer jobIx, String jobReference, Double amount) {
+                super(jobIx, jobReference);
                 this.amount = amount;
             }
+            public RequestAmountModification(Integer jobIx, Double amount) {
+                this(jobIx, null, amount);
+            }
+            public Double getAmount() { return amount; }
         }
-        class AcceptAmountModification extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class AcceptAmountModification extends JobCommand {
+            @ConstructorForDeserialization
+            public AcceptAmountModification(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public AcceptAmountModification(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
             }
         }
-        class RequestExpectedDateModification extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class RequestExpectedDateModification extends JobCommand {
             private LocalDate delayToDate;
-            public RequestExpectedDateModification(Integer jobIx, LocalDate delayToDate) {
-                this.jobIx = jobIx;
+            @ConstructorForDeserialization
+            public RequestExpectedDateModification(Integer jobIx, String jobReference, LocalDate delayToDate) {
+                super(jobIx, jobReference);
                 this.delayToDate = delayToDate;
             }
+            public RequestExpectedDateModification(Integer jobIx, LocalDate delayToDate) {
+                this(jobIx, null, delayToDate);
+            }
+            public LocalDate getDelayToDate() { return delayToDate; }
         }
-        class AcceptExpectedDateModification extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class AcceptExpectedDateModification extends JobCommand {
+            @ConstructorForDeserialization
+            public AcceptExpectedDateModification(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public AcceptExpectedDateModification(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
             }
         }
-        class SendPayment extends TypeOnlyCommandData implements Commands {
-            private Integer jobIx;
+        class SendPayment extends JobCommand {
+            @ConstructorForDeserialization
+            public SendPayment(Integer jobIx, String jobReference) {
+                super(jobIx, jobReference);
+            }
             public SendPayment(Integer jobIx) {
-                this.jobIx = jobIx;
+                this(jobIx, null);
+            }
+        }
+        // Pays a schedule whose jobs are committed. [job] is the CONFIRMED job paid against and [proof] proves it is
+        // in the schedule's root. Unless payments on account are allowed, [jobs] must reveal every committed job so
+        // that all of them can be seen to be CONFIRMED; otherwise it may be null.
+        class SendCommittedPayment extends TypeOnlyCommandData implements Commands {
+            private JCTJob job;
+            private JobMerkleTree.Proof proof;
+            private List<JCTJob> jobs;
+            public SendCommittedPayment(JCTJob job, JobMerkleTree.Proof proof, List<JCTJob> jobs) {
+                this.job = job;
+                this.proof = proof;
+                this.jobs = jobs;
             }
+            public JCTJob getJob() { return job; }
+            public JobMerkleTree.Proof getProof() { return proof; }
+            public List<JCTJob> getJobs() { return jobs; }
+        }
+        // Flags the jobs with [jobReferences] as SPLIT, alongside a JCTJobContract Issue of those jobs.
+        class SplitJobs extends TypeOnlyCommandData implements Commands {
+            private final List<String> jobReferences;
+            public SplitJobs(List<String> jobReferences) {
+                this.jobReferences = jobReferences;
+            }
+            public List<String> getJobReferences() { return jobReferences; }
+        }
+        // Consumes a schedule once an exact copy of it has been reissued; the copy is cited as a reference input.
+        class Retire extends TypeOnlyCommandData implements Commands {}
+        // Issues an exact copy of [retired], the schedule at [retiredRef], ahead of a Retire transaction consuming it.
+        class Reissue extends TypeOnlyCommandData implements Commands {
+            private final StateRef retiredRef;
+            private final ScheduleClauseState retired;
+            public Reissue(StateRef retiredRef, ScheduleClauseState retired) {
+                this.retiredRef = retiredRef;
+                this.retired = retired;
+            }
+            public StateRef getRetiredRef() { return retiredRef; }
+            public ScheduleClauseState getRetired() { return retired; }
         }
     }
 
-    // A transaction is valid if the verify() function of the contract of all the transaction's input and output states
-    // does not throw an exception.
-    @Override
-    public void verify(LedgerTransaction tx) throws IllegalArgumentException {
-        final Commands command = tx.findCommand(Commands.class, cmd -> true).getValue();
+    // Verifies one command of type [C] against the transaction it was extracted from.
+    @FunctionalInterface
+    private interface Handler<C extends Commands> {
+        void verify(ScheduleClauseContract contract, LedgerTransaction tx, CommandWithParties<C> command);
+    }
+
+    // Command class -> handler, built once per class load. Commands without an entry are rejected.
+    private static final Map<Class<? extends Commands>, Handler<?>> HANDLERS = new HashMap<>();
+
+    private static <C extends Commands> void register(Class<C> type, Handler<C> handler) {
+        HANDLERS.put(type, handler);
+    }
 
+    static {
         // CREATE THE ESCROW SCHEDULE CONTRACT
-        if (command instanceof Commands.CreateSchedule) { verifyCreate(tx); }
+        register(Commands.CreateSchedule.class, ScheduleClauseContract::verifyCreate);
 
         // START A JOB ON THE SCHEDULE
-        if (command instanceof Commands.StartJob) { startJobWithIndex(tx); }
+        register(Commands.StartJob.class, ScheduleClauseContract::startJobWithIndex);
 
         // CONTRACTOR DECLARES A STARTED JOB TO BE COMPLETE
-        if (command instanceof Commands.DeclareJobComplete) { declareCompleteWithIndex(tx); }
+        register(Commands.DeclareJobComplete.class, ScheduleClauseContract::declareCompleteWithIndex);
 
         // EMPLOYERS SIGN-OFF A JOB MARKED AS COMPLETE
-        if (command instanceof Commands.ConfirmJobComplete) { confirmJobCompleteWithIndex(tx); }
+        register(Commands.ConfirmJobComplete.class, ScheduleClauseContract::confirmJobCompleteWithIndex);
 
         // EMPLOYERS REJECT A JOB MARKED AS COMPLETE
-        if (command instanceof Commands.ContinueJob) { orderContinuationOfJobWithIndex(tx); }
+        register(Commands.ContinueJob.class, ScheduleClauseContract::orderContinuationOfJobWithIndex);
+
+        // BATCH VARIANTS OF THE ABOVE, MOVING SEVERAL JOBS OF ONE SCHEDULE IN A SINGLE TRANSACTION
+        register(Commands.StartJobs.class, ScheduleClauseContract::startJobsWithIndices);
+        register(Commands.DeclareJobsComplete.class, ScheduleClauseContract::declareCompleteWithIndices);
+        register(Commands.ConfirmJobsComplete.class, ScheduleClauseContract::confirmJobsCompleteWithIndices);
+        register(Commands.ContinueJobs.class, ScheduleClauseContract::orderContinuationOfJobsWithIndices);
+
+        // REPLACE THE SCHEDULE'S JOBS WITH A MERKLE ROOT OVER THEM
+        register(Commands.CommitJobs.class, ScheduleClauseContract::verifyCommitJobs);
+
+        // MOVE ONE JOB OF A COMMITTED SCHEDULE, PROVEN AGAINST ITS ROOT
+        register(Commands.UpdateCommittedJob.class, ScheduleClauseContract::verifyCommittedJobUpdate);
+
+        // SPLIT JOBS OUT OF THE SCHEDULE INTO THEIR OWN JOB STATES
+        register(Commands.SplitJobs.class, ScheduleClauseContract::verifySplitJobs);
 
         // CONTRACTORS REQUEST CONTRACT DATE AMENDMENT,
         // USING AN ATTACHMENT THAT IS WITHIN 'VARIABLES CLAUSE'
-        if (command instanceof Commands.RequestExpectedDateModification) { requestDateAmendment(tx); }
+        register(Commands.RequestExpectedDateModification.class, ScheduleClauseContract::requestDateAmendment);
 
         // EMPLOYERS ACCEPT CONTRACT DATE AMENDMENT
-        if (command instanceof Commands.AcceptExpectedDateModification) { acceptDateAmendment(tx); }
+        register(Commands.AcceptExpectedDateModification.class, ScheduleClauseContract::acceptDateAmendment);
 
         // CONTRACTORS REQUEST CONTRACT AMOUNT AMENDMENT,
         // USING AN ATTACHMENT THAT IS WITHIN 'VARIABLES CLAUSE'
-        if (command instanceof Commands.RequestAmountModification) { requestAmountAmendment(tx); }
+        register(Commands.RequestAmountModification.class, ScheduleClauseContract::requestAmountAmendment);
 
         // EMPLOYERS ACCEPT CONTRACT AMOUNT AMENDMENT,
-        if (command instanceof Commands.AcceptAmountModification) { acceptAmountAmendment(tx); }
+        register(Commands.AcceptAmountModification.class, ScheduleClauseContract::acceptAmountAmendment);
+
+        // EMPLOYERS PAY THE AMOUNT DUE FOR THE CONFIRMED JOBS
+        register(Commands.SendPayment.class, ScheduleClauseContract::verifyPayment);
+        register(Commands.SendCommittedPayment.class, ScheduleClauseContract::verifyCommittedPayment);
+
+        // EVERY PARTY REISSUES A SCHEDULE WITH NO HISTORY, THEN RETIRES THE ORIGINAL
+        register(Commands.Reissue.class, ScheduleClauseContract::verifyReissue);
+        register(Commands.Retire.class, ScheduleClauseContract::verifyRetire);
+    }
+
+    // A transaction is valid if the verify() function of the contract of all the transaction's input and output states
+    // does not throw an exception.
+    @Override
+    public void verify(LedgerTransaction tx) throws IllegalArgumentException {
+        final List<CommandWithParties<Commands>> commands = tx.commandsOfType(Commands.class);
+        if (commands.size() != 1) {
+            throw new IllegalArgumentException("Exactly one ScheduleClauseContract command is required, found " + commands.size() + ".");
+        }
+        dispatch(tx, commands.get(0));
+        verifyProjectMembership(tx);
+    }
+
+    // A schedule's parties must be members of its project's header whenever they are set: when it is created or
+    // reissued, or when a command gives it other parties than its input had. Any other output carries an input's
+    // parties over unchanged, so it was checked when those were set, and need only match a header if one is cited.
+    private static void verifyProjectMembership(LedgerTransaction tx) {
+        final List<ScheduleClauseState> inputs = tx.inputsOfType(ScheduleClauseState.class);
+        final boolean cited = !tx.referenceInputsOfType(JCTState.class).isEmpty();
+        requireThat(require -> {
+            for (ScheduleClauseState schedule : tx.outputsOfType(ScheduleClauseState.class)) {
+                final boolean carriedOver = inputs.stream().anyMatch(input ->
+                        Objects.equals(input.getProjectName(), schedule.getProjectName()) &&
+                        Objects.equals(input.getEmployers(), schedule.getEmployers()) &&
+                        Objects.equals(input.getContractors(), schedule.getContractors()));
+                if (cited || !carriedOver) {
+                    ProjectMembership.verify(require, tx, schedule.getProjectName(), schedule.getParticipants());
+                }
+            }
+            return null;
+        });
     }
 
+    @SuppressWarnings("unchecked")
+    private <C extends Commands> void dispatch(LedgerTransaction tx, CommandWithParties<C> command) {
+        final Handler<C> handler = (Handler<C>) HANDLERS.get(command.getValue().getClass());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unsupported ScheduleClauseContract command: " + command.getValue().getClass().getSimpleName());
+        }
+        final VerificationMetrics metrics = VerificationMetrics.forContract(ID);
+        if (!metrics.isEnabled()) {
+            handler.verify(this, tx, command);
+            return;
+        }
+        final String commandName = command.getValue().getClass().getSimpleName();
+        final long start = System.nanoTime();
+        try {
+            handler.verify(this, tx, command);
+        } catch (RuntimeException e) {
+            metrics.recordFailure(commandName, e.getMessage(), System.nanoTime() - start);
+            throw e;
+        }
+        metrics.recordSuccess(commandName, jobCountOf(tx), System.nanoTime() - start);
+    }
 
-    private List<PublicKey> getOwningKeys(List<Party> parties) {
-        List<PublicKey> keys = new ArrayList<PublicKey>();
-        if(parties != null) {
-            parties.forEach((party) -> keys.add(party.getOwningKey()));
+    // The number of jobs carried by the schedule the transaction produces, or consumes if it produces none.
+    private static int jobCountOf(LedgerTransaction tx) {
+        final List<ScheduleClauseState> schedules = tx.outputsOfType(ScheduleClauseState.class);
+        final List<ScheduleClauseState> counted = schedules.isEmpty() ? tx.inputsOfType(ScheduleClauseState.class) : schedules;
+        int jobs = 0;
+        for (ScheduleClauseState schedule : counted) {
+            jobs += schedule.getCommittedJobCount() != null ? schedule.getCommittedJobCount() : schedule.getJobs().size();
         }
-        return keys;
+        return jobs;
     }
 
-    private void verifyCreate(LedgerTransaction tx) {
-        // If the Create command isn’t present, or if the transaction has
-        // multiple Create commands, an exception will be thrown
-        // and contract verification will fail.
-        final CommandWithParties<Commands.CreateSchedule> command = requireSingleCommand(tx.getCommands(), Commands.CreateSchedule.class);
+    // A schedule, or a batch of schedules issued together, each checked on its own.
+    private void verifyCreate(LedgerTransaction tx, CommandWithParties<Commands.CreateSchedule> command) {
 
         requireThat(require -> {
-            require.using("Output state is a type of: 'ScheduleEscrowState'", tx.getOutputStates().get(0) instanceof ScheduleClauseState);
+            require.using("Output state is a type of: 'ScheduleEscrowState'", !tx.getOutputStates().isEmpty() &&
+                    tx.getOutputStates().stream().allMatch(output -> output instanceof ScheduleClauseState));
 
             // Input/Output state requirements.
             require.using("No inputs should be consumed when issuing a Schedule.", tx.getInputs().isEmpty());
-            require.using("There should be one output state.", tx.getOutputs().size() == 1);
-
-            // State-specific requirements
-            final ScheduleClauseState jobOutput = tx.outputsOfType(ScheduleClauseState.class).get(0);
-            final List<Party> employers = jobOutput.getEmployers();
-            final List<Party> contractors = jobOutput.getContractors();
-            final List<PublicKey> expectedSigners = new ArrayList<>();
-            expectedSigners.addAll(getOwningKeys(employers));
-            expectedSigners.addAll(getOwningKeys(contractors));
-            System.out.println("No. Expected Signers: " + expectedSigners.size());
-            System.out.println("No. signers in command: " + command.getSigners().size());
-
-            // Assert the set of contractors is not the set of employers
-            require.using("The employers and the contractors should be different parties.",
-                    !employers.containsAll(contractors));
-
-            List<JCTJob> jobs = jobOutput.getJobs();
-            // Assert the Schedule Clause state to have at least one Job in it's list
-            require.using("Output state must have at least one Job", !jobs.isEmpty());
-            // Assert all JCTJobs are not-started, with status: PENDING
-            require.using("All the jobs should be unstarted/pending.",
-                    jobs.stream().allMatch(job -> job.getStatus() == JCTJobStatus.PENDING));
-
-            require.using("Testing for multiple employers & contractors",
-                    jobOutput.getParticipants().size() > 2);
-            require.using("The employers and contractors should be required signers.",
-                    command.getSigners().containsAll(expectedSigners));
 
-            require.using("Contract Amount must be greater zero", jobOutput.getContractSum() > 0.0);
+            final List<ScheduleClauseState> schedules = tx.outputsOfType(ScheduleClauseState.class);
+            require.using("Each new schedule must have its own linear id.",
+                    schedules.stream().map(ScheduleClauseState::getLinearId).distinct().count() == schedules.size());
+
+            final SignerPolicy signers = SignerPolicy.of(command.getSigners());
+            for (ScheduleClauseState jobOutput : schedules) {
+                // State-specific requirements
+                final List<Party> employers = jobOutput.getEmployers();
+                final List<Party> contractors = jobOutput.getContractors();
+
+                // Assert the set of contractors is not the set of employers
+                require.using("The employers and the contractors should be different parties.",
+                        !employers.containsAll(contractors));
+
+                List<JCTJob> jobs = jobOutput.getJobs();
+                // Assert the Schedule Clause state to have at least one Job in it's list
+                require.using("Output state must have at least one Job", !jobs.isEmpty());
+                // Assert all JCTJobs are not-started, with status: PENDING
+                require.using("All the jobs should be unstarted/pending.",
+                        jobs.stream().allMatch(job -> job.getStatus() == JCTJobStatus.PENDING));
+
+                require.using("Testing for multiple employers & contractors",
+                        jobOutput.getParticipants().size() > 2);
+                require.using("The employers and contractors should be required signers.",
+                        signers.allOf(employers, contractors));
+
+                require.using("Contract Amount must be greater zero",
+                        jobOutput.getContractValue() != null && jobOutput.getContractValue().isPositive());
+                require.using("Job references must be unique.", jobOutput.hasUniqueJobReferences());
+                require.using("A new schedule must carry its jobs, not a committed root.",
+                        jobOutput.getJobsRoot() == null && jobOutput.getCommittedJobCount() == null);
+
+                require.using("A new schedule must have nothing confirmed or paid.",
+                        jobOutput.getNetCumulativeValue() != null && jobOutput.getNetCumulativeValue().getMinorUnits() == 0 &&
+                        jobOutput.getPreviousCumulativeValue() != null && jobOutput.getPreviousCumulativeValue().getMinorUnits() == 0);
+            }
 
             return null;
         });
     }
 
-    private void startJobWithIndex(LedgerTransaction tx) {
-        final CommandWithParties<Commands.StartJob> command = requireSingleCommand(tx.getCommands(), Commands.StartJob.class);
-        requireThat(require -> {
-            require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
-            require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
+    private void startJobWithIndex(LedgerTransaction tx, CommandWithParties<Commands.StartJob> command) {
+        verifyJobTransitions(tx, command.getSigners(), jobIndexOf(tx, command.getValue()), JobTransition.START);
+    }
 
-            ScheduleClauseState jobInputs =  tx.inputsOfType(ScheduleClauseState.class).get(0);
-            ScheduleClauseState jobOutputs =  tx.outputsOfType(ScheduleClauseState.class).get(0);
-            int jobIndex = new Commands.StartJob(command.getValue().jobIx).jobIx;
-            JCTJob inputModifiedJob = jobInputs.getJobs().get(jobIndex);
-            JCTJob outputModifiedJob = jobOutputs.getJobs().get(jobIndex);
+    private void declareCompleteWithIndex(LedgerTransaction tx, CommandWithParties<Commands.DeclareJobComplete> command) {
+        verifyJobTransitions(tx, command.getSigners(), jobIndexOf(tx, command.getValue()), JobTransition.DECLARE_COMPLETE);
+    }
 
-            // Signers:
-            final List<Party> employers = jobOutputs.getEmployers();
-            final List<Party> contractors = jobOutputs.getContractors();
-            final List<PublicKey> expectedSigners = new ArrayList<>();
-
-            expectedSigners.addAll(getOwningKeys(employers));
-            expectedSigners.addAll(getOwningKeys(contractors));
-            require.using("The modified Job should have an input status of PENDING.",
-                    inputModifiedJob.getStatus() == JCTJobStatus.PENDING);
-            require.using("The Job should have an output status of IN_PROGRESS.",
-                    outputModifiedJob.getStatus() == JCTJobStatus.IN_PROGRESS);
-            require.using("The modified Job's description and amount shouldn't change.",
-                    inputModifiedJob.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build().equals(outputModifiedJob));
+    private void confirmJobCompleteWithIndex(LedgerTransaction tx, CommandWithParties<Commands.ConfirmJobComplete> command) {
+        verifyJobTransitions(tx, command.getSigners(), jobIndexOf(tx, command.getValue()), JobTransition.CONFIRM_COMPLETE);
+    }
 
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInputs.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutputs.getJobs());
-            otherOutputJobs.remove(jobIndex);
+    private void orderContinuationOfJobWithIndex(LedgerTransaction tx, CommandWithParties<Commands.ContinueJob> command) {
+        verifyJobTransitions(tx, command.getSigners(), jobIndexOf(tx, command.getValue()), JobTransition.CONTINUE);
+    }
 
-            require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
-            require.using("The employers and contractors should be required signers.",
-                    command.getSigners().containsAll(expectedSigners));
+    private void startJobsWithIndices(LedgerTransaction tx, CommandWithParties<Commands.StartJobs> command) {
+        verifyJobTransitions(tx, command.getSigners(), command.getValue().getJobIxs(), JobTransition.START);
+    }
 
-            return null;
-        });
+    private void declareCompleteWithIndices(LedgerTransaction tx, CommandWithParties<Commands.DeclareJobsComplete> command) {
+        verifyJobTransitions(tx, command.getSigners(), command.getValue().getJobIxs(), JobTransition.DECLARE_COMPLETE);
+    }
+
+    private void confirmJobsCompleteWithIndices(LedgerTransaction tx, CommandWithParties<Commands.ConfirmJobsComplete> command) {
+        verifyJobTransitions(tx, command.getSigners(), command.getValue().getJobIxs(), JobTransition.CONFIRM_COMPLETE);
+    }
+
+    private void orderContinuationOfJobsWithIndices(LedgerTransaction tx, CommandWithParties<Commands.ContinueJobs> command) {
+        verifyJobTransitions(tx, command.getSigners(), command.getValue().getJobIxs(), JobTransition.CONTINUE);
     }
 
-    private void declareCompleteWithIndex(LedgerTransaction tx) {
-        final CommandWithParties<Commands.DeclareJobComplete> command = requireSingleCommand(tx.getCommands(), Commands.DeclareJobComplete.class);
+    // The schedule index addressed by a single-job command, resolved against the input schedule.
+    private List<Integer> jobIndexOf(LedgerTransaction tx, Commands.JobCommand command) {
+        List<ScheduleClauseState> inputs = tx.inputsOfType(ScheduleClauseState.class);
+        if (inputs.isEmpty()) return Collections.singletonList(command.getJobIx());
+        return Collections.singletonList(command.resolveJobIndex(inputs.get(0)));
+    }
+
+    // Applies the same [transition] to every job in [jobIndices] of a single schedule, leaving the other jobs untouched.
+    private void verifyJobTransitions(LedgerTransaction tx, List<PublicKey> signers, List<Integer> jobIndices, JobTransition transition) {
         requireThat(require -> {
             require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
             require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
 
             ScheduleClauseState jobInputs =  tx.inputsOfType(ScheduleClauseState.class).get(0);
             ScheduleClauseState jobOutputs =  tx.outputsOfType(ScheduleClauseState.class).get(0);
-            int jobIndex = new Commands.DeclareJobComplete(command.getValue().jobIx).jobIx;
-            JCTJob inputModifiedJob = jobInputs.getJobs().get(jobIndex);
-            JCTJob outputModifiedJob = jobOutputs.getJobs().get(jobIndex);
-
-            // Signers:
-            final List<Party> expectedSigners = jobInputs.getContractors();
-
-            require.using("The modified Job should have an input status of IN_PROGRESS.",
-                    inputModifiedJob.getStatus() == JCTJobStatus.IN_PROGRESS);
-            require.using("The Job should have an output status of COMPLETED.",
-                    outputModifiedJob.getStatus() == JCTJobStatus.COMPLETED);
-            require.using("The updated Job must not have a modified Job amount",
-                    inputModifiedJob.copyBuilder().withStatus(JCTJobStatus.COMPLETED).build().equalsExcept(outputModifiedJob, "Description"));
-            require.using("The modified Job's description must include 'Quality Surveyor Link'.",
-                    outputModifiedJob.getDescription().contains("Quality Surveyor Link"));
-
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInputs.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutputs.getJobs());
-            otherOutputJobs.remove(jobIndex);
+            transition.verifyParties(require, jobInputs, jobOutputs);
+            require.using("The jobs root must not change.", sameCommitment(jobInputs, jobOutputs));
+
+            require.using("At least one Job should be modified.", jobIndices != null && !jobIndices.isEmpty());
+            require.using("A Job can only be modified once per transaction.",
+                    new HashSet<>(jobIndices).size() == jobIndices.size());
+            for (Integer jobIndex : jobIndices) {
+                require.using("The modified Job must exist in the schedule.",
+                        jobIndex != null && jobIndex >= 0 &&
+                        jobIndex < jobInputs.getJobs().size() && jobIndex < jobOutputs.getJobs().size());
+                require.using("A job split into its own state can't be moved on the schedule.",
+                        jobInputs.getJobs().get(jobIndex).getStatus() != JCTJobStatus.SPLIT);
+                transition.verifyJob(require, jobInputs.getJobs().get(jobIndex), jobOutputs.getJobs().get(jobIndex));
+            }
 
+            JobListDiff diff = JobListDiff.between(jobInputs.getJobs(), jobOutputs.getJobs());
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
-            require.using("At least a single contractor should be a required signer.",
-                    expectedSigners.stream().anyMatch(signer ->
-                            command.getSigners().contains(signer.getOwningKey())
-                    ));
+                    jobIndices.size() == 1 ? diff.unchangedExcept(jobIndices.get(0)) : diff.unchangedExcept(jobIndices));
+            transition.verifySigners(require, jobInputs, jobOutputs, SignerPolicy.of(signers));
+
+            ScheduleValuation.verify(require, jobInputs, jobOutputs, ScheduleValuation.delta(
+                    jobInputs.getJobs(), jobOutputs.getJobs(), jobIndices, ScheduleValuation.currencyOf(jobInputs)));
 
             return null;
         });
     }
 
-    private void confirmJobCompleteWithIndex(LedgerTransaction tx) {
-        final CommandWithParties<Commands.ConfirmJobComplete> command = requireSingleCommand(tx.getCommands(), Commands.ConfirmJobComplete.class);
+    private void verifyCommitJobs(LedgerTransaction tx, CommandWithParties<Commands.CommitJobs> command) {
+
         requireThat(require -> {
             require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
             require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
 
             ScheduleClauseState jobInputs =  tx.inputsOfType(ScheduleClauseState.class).get(0);
             ScheduleClauseState jobOutputs =  tx.outputsOfType(ScheduleClauseState.class).get(0);
-            int jobIndex = new Commands.ConfirmJobComplete(command.getValue().jobIx).jobIx;
-            JCTJob inputModifiedJob = jobInputs.getJobs().get(jobIndex);
-            JCTJob outputModifiedJob = jobOutputs.getJobs().get(jobIndex);
-
-            // Signers:
-            final List<Party> contractors = jobInputs.getContractors();
-            final List<Party> employers = jobOutputs.getEmployers();
-
-            final List<PublicKey> expectedInputSigners = new ArrayList<>();
-            final List<PublicKey> expectedOutputSigners = new ArrayList<>();
-
-            expectedInputSigners.addAll(getOwningKeys(contractors));
-            expectedOutputSigners.addAll(getOwningKeys(employers));
-
-            require.using("Input state must be contractor-signed.",
-                    !expectedInputSigners.isEmpty());
-
-            require.using("Output state must involve employer signatures.",
-                    !expectedOutputSigners.isEmpty());
-
-            require.using("The modified Job should have an input status of COMPLETED.",
-                    inputModifiedJob.getStatus() == JCTJobStatus.COMPLETED);
-            require.using("The Job should have an output status of CONFIRMED.",
-                    outputModifiedJob.getStatus() == JCTJobStatus.CONFIRMED);
+            require.using("The jobs must not already be committed.", !jobInputs.isJobsCommitted());
+            require.using("There must be jobs to commit.", !jobInputs.getJobs().isEmpty());
+            require.using("The committed schedule must not carry its jobs.", jobOutputs.getJobs().isEmpty());
+            require.using("The committed root must be built from the input jobs.",
+                    JobMerkleTree.root(jobInputs.getJobs()).equals(jobOutputs.getJobsRoot()) &&
+                    Integer.valueOf(jobInputs.getJobs().size()).equals(jobOutputs.getCommittedJobCount()));
+            require.using("Only the jobs may change.",
+                    jobInputs.getLinearId().equals(jobOutputs.getLinearId()) && jobInputs.equals(jobOutputs));
+            require.using("The employers and contractors should be required signers.",
+                    SignerPolicy.of(command.getSigners()).allKeys(jobInputs.getParticipantKeys()));
 
-            require.using("The updated Job must not have a modified Job amount",
-                    inputModifiedJob.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build().equals(outputModifiedJob));
+            ScheduleValuation.verify(require, jobInputs, jobOutputs, Money.zero(ScheduleValuation.currencyOf(jobInputs)));
 
+            return null;
+        });
+    }
 
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInputs.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutputs.getJobs());
-            otherOutputJobs.remove(jobIndex);
+    // Flags the jobs the transaction issues as [JCTJobState]s, so that they are issued once and only ever moved
+    // through their own states from then on.
+    private void verifySplitJobs(LedgerTransaction tx, CommandWithParties<Commands.SplitJobs> command) {
+        final List<String> references = command.getValue().getJobReferences();
 
+        requireThat(require -> {
+            require.using("One JobState input should be consumed.",
+                    tx.getInputs().size() == 1 && tx.inputsOfType(ScheduleClauseState.class).size() == 1);
+            require.using("One JobState output should be produced.", tx.outputsOfType(ScheduleClauseState.class).size() == 1);
+
+            ScheduleClauseState jobInputs = tx.inputsOfType(ScheduleClauseState.class).get(0);
+            ScheduleClauseState jobOutputs = tx.outputsOfType(ScheduleClauseState.class).get(0);
+            require.using("The jobs must not be committed.", !jobInputs.isJobsCommitted());
+            require.using("Only the jobs may change.",
+                    jobInputs.getLinearId().equals(jobOutputs.getLinearId()) && jobInputs.equals(jobOutputs));
+            require.using("The jobs root must not change.", sameCommitment(jobInputs, jobOutputs));
+            require.using("At least one Job should be split out.", references != null && !references.isEmpty());
+
+            final List<Integer> jobIndices = new ArrayList<>();
+            for (String reference : references) {
+                int jobIndex = jobInputs.jobIndexOf(reference);
+                require.using("The split Job must exist in the schedule.",
+                        jobIndex >= 0 && jobIndex < jobOutputs.getJobs().size());
+                JCTJob input = jobInputs.getJobs().get(jobIndex);
+                require.using("Only pending jobs can be split out.", input.getStatus() == JCTJobStatus.PENDING);
+                require.using("A split Job must only be flagged SPLIT.",
+                        input.copyBuilder().withStatus(JCTJobStatus.SPLIT).build().equals(jobOutputs.getJobs().get(jobIndex)));
+                jobIndices.add(jobIndex);
+            }
+            require.using("A Job can only be split once per transaction.",
+                    new HashSet<>(jobIndices).size() == jobIndices.size());
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
-            require.using("All employers should be required signers.",
-                    command.getSigners().containsAll(expectedOutputSigners));
-            require.using("All signers must be authorised via previous transactions.",
-                    command.getSigners().equals(expectedOutputSigners));
+                    JobListDiff.between(jobInputs.getJobs(), jobOutputs.getJobs()).unchangedExcept(jobIndices));
+
+            final List<JCTJobState> issued = tx.outputsOfType(JCTJobState.class);
+            final Set<String> issuedReferences = issued.stream()
+                    .map(jobState -> jobState.getJob().getReference())
+                    .collect(Collectors.toSet());
+            require.using("Exactly the split jobs must be issued as job states.",
+                    issued.size() == references.size() && issuedReferences.equals(new HashSet<>(references)) &&
+                    tx.getOutputs().size() == issued.size() + 1);
+            require.using("The employers and contractors should be required signers.",
+                    SignerPolicy.of(command.getSigners()).allKeys(jobInputs.getParticipantKeys()));
+
+            ScheduleValuation.verify(require, jobInputs, jobOutputs, Money.zero(ScheduleValuation.currencyOf(jobInputs)));
 
             return null;
         });
     }
 
-    private void orderContinuationOfJobWithIndex(LedgerTransaction tx) {
-        final CommandWithParties<Commands.ContinueJob> command = requireSingleCommand(tx.getCommands(), Commands.ContinueJob.class);
+    // Verifies one job transition of a schedule holding only a Merkle root over its jobs: the old job is proven to
+    // be in the input root and the output root must be the same tree with the new job in its place.
+    private void verifyCommittedJobUpdate(LedgerTransaction tx, CommandWithParties<Commands.UpdateCommittedJob> command) {
+        final Commands.UpdateCommittedJob update = command.getValue();
+        final JobTransition transition = update.getTransition();
+
         requireThat(require -> {
+            require.using("A transition must be given.", transition != null);
             require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
             require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
 
             ScheduleClauseState jobInputs =  tx.inputsOfType(ScheduleClauseState.class).get(0);
             ScheduleClauseState jobOutputs =  tx.outputsOfType(ScheduleClauseState.class).get(0);
-            int jobIndex = new Commands.ContinueJob(command.getValue().jobIx).jobIx;
-            JCTJob inputModifiedJob = jobInputs.getJobs().get(jobIndex);
-            JCTJob outputModifiedJob = jobOutputs.getJobs().get(jobIndex);
-
-            // Signers:
-            final List<Party> contractors = jobInputs.getContractors();
-            final List<Party> employers = jobOutputs.getEmployers();
-
-            final List<PublicKey> expectedInputSigners = new ArrayList<>();
-            final List<PublicKey> expectedOutputSigners = new ArrayList<>();
-
-            expectedInputSigners.addAll(getOwningKeys(contractors));
-            expectedOutputSigners.addAll(getOwningKeys(employers));
-
-            require.using("Input state must include contractors.",
-                    !expectedInputSigners.isEmpty());
-
-            require.using("Output state must involve employer signatures.",
-                    !expectedOutputSigners.isEmpty());
-
-            require.using("The modified Job should have an input status of COMPLETED.",
-                    inputModifiedJob.getStatus() == JCTJobStatus.COMPLETED);
-            require.using("The Job should have an output status of IN_PROGRESS.",
-                    outputModifiedJob.getStatus() == JCTJobStatus.IN_PROGRESS);
-
-            require.using("The updated Job must not have a modified Job amount",
-                    inputModifiedJob.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build().equals(outputModifiedJob));
-
-
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInputs.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutputs.getJobs());
-            otherOutputJobs.remove(jobIndex);
-
-            require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
-            require.using("All employers should be required signers.",
-                    command.getSigners().containsAll(expectedOutputSigners));
-            require.using("All signers must be authorised via previous transactions.",
-                    command.getSigners().equals(expectedOutputSigners));
+            require.using("The jobs must be committed.", jobInputs.isJobsCommitted() && jobOutputs.isJobsCommitted());
+            require.using("The committed schedule must not carry its jobs.",
+                    jobInputs.getJobs().isEmpty() && jobOutputs.getJobs().isEmpty());
+            require.using("Only the jobs may change.",
+                    jobInputs.getLinearId().equals(jobOutputs.getLinearId()) && jobInputs.equals(jobOutputs) &&
+                    jobInputs.getCommittedJobCount().equals(jobOutputs.getCommittedJobCount()));
+            transition.verifyParties(require, jobInputs, jobOutputs);
+
+            JobMerkleTree.Proof proof = update.getProof();
+            require.using("The proof must cover every committed job.",
+                    proof.getJobCount() == jobInputs.getCommittedJobCount());
+            require.using("The old job must be proven to be in the input schedule.",
+                    jobInputs.getJobsRoot().equals(JobMerkleTree.rootFromProof(update.getOldJob(), proof)));
+            require.using("The output root must only replace the old job with the new job.",
+                    jobOutputs.getJobsRoot().equals(JobMerkleTree.rootFromProof(update.getNewJob(), proof)));
+
+            transition.verifyJob(require, update.getOldJob(), update.getNewJob());
+            transition.verifySigners(require, jobInputs, jobOutputs, SignerPolicy.of(command.getSigners()));
+
+            ScheduleValuation.verify(require, jobInputs, jobOutputs, ScheduleValuation.delta(
+                    update.getOldJob(), update.getNewJob(), ScheduleValuation.currencyOf(jobInputs)));
 
             return null;
         });
     }
 
-    private void requestAmountAmendment(LedgerTransaction tx) {
-        final CommandWithParties<Commands.RequestAmountModification> command = requireSingleCommand(tx.getCommands(), Commands.RequestAmountModification.class);
+    private void requestAmountAmendment(LedgerTransaction tx, CommandWithParties<Commands.RequestAmountModification> command) {
 
         requireThat(require -> {
             require.using("Two inputs should be consumed.", tx.getInputs().size() == 2);
@@ -404,7 +630,9 @@ public class ScheduleClauseContract implements Contract {
                     reportOutput.getStatus() == ReportStatus.PROCESSED);
 
             // Job Specific verification
-            int jobIndex = new Commands.RequestAmountModification(command.getValue().jobIx, command.getValue().amount).jobIx;
+            Integer jobIndex = command.getValue().resolveJobIndex(jobInput);
+            require.using("The modified Job must exist in the schedule.",
+                    jobIndex != null && jobIndex < jobOutput.getJobs().size());
             JCTJob inputModifiedJob = jobInput.getJobs().get(jobIndex);
             JCTJob outputModifiedJob = jobOutput.getJobs().get(jobIndex);
             // Signers:
@@ -415,13 +643,9 @@ public class ScheduleClauseContract implements Contract {
             require.using("Output Job should have status: AMOUNT_AMENDMENT_REQUESTED",
                     outputModifiedJob.getStatus() == JCTJobStatus.AMOUNT_AMENDMENT_REQUESTED);
             require.using("ScheduleEscrowState should not change besides Status",
-                    inputModifiedJob.equalsExcept(outputModifiedJob, "Status"));
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInput.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutput.getJobs());
-            otherOutputJobs.remove(jobIndex);
+                    inputModifiedJob.equalsExcept(outputModifiedJob, JobField.STATUS));
 
-            Double requestedAmount = new Commands.RequestAmountModification(command.getValue().jobIx, command.getValue().amount).amount;
+            Double requestedAmount = command.getValue().getAmount();
             require.using("Output ReportState must have correctly saved contractSum",
                     reportInput.copyBuilder()
                             .withRequestedSum(requestedAmount)
@@ -430,20 +654,19 @@ public class ScheduleClauseContract implements Contract {
 
 
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
+                    JobListDiff.between(jobInput.getJobs(), jobOutput.getJobs()).unchangedExcept(jobIndex));
+            require.using("The jobs root must not change.", sameCommitment(jobInput, jobOutput));
             require.using("At least a single contractor should be a required signer.",
-                    expectedSigners.stream().anyMatch(signer ->
-                            command.getSigners().contains(signer.getOwningKey())
-                    ));
+                    SignerPolicy.of(command.getSigners()).anyOf(expectedSigners));
+
+            ScheduleValuation.verify(require, jobInput, jobOutput, ScheduleValuation.delta(
+                    inputModifiedJob, outputModifiedJob, ScheduleValuation.currencyOf(jobInput)));
 
             return null;
         });
     }
 
-    private void acceptAmountAmendment(LedgerTransaction tx) {
-        final CommandWithParties<Commands.AcceptAmountModification> command = requireSingleCommand(tx.getCommands(), Commands.AcceptAmountModification.class);
+    private void acceptAmountAmendment(LedgerTransaction tx, CommandWithParties<Commands.AcceptAmountModification> command) {
 
         requireThat(require -> {
             require.using("Two inputs should be consumed.", tx.getInputs().size() == 2);
@@ -474,7 +697,9 @@ public class ScheduleClauseContract implements Contract {
                     reportOutput.getStatus() == ReportStatus.CONSUMED);
 
             // Job Specific verification
-            int jobIndex = new Commands.AcceptAmountModification(command.getValue().jobIx).jobIx;
+            Integer jobIndex = command.getValue().resolveJobIndex(jobInput);
+            require.using("The modified Job must exist in the schedule.",
+                    jobIndex != null && jobIndex < jobOutput.getJobs().size());
             JCTJob inputModifiedJob = jobInput.getJobs().get(jobIndex);
             JCTJob outputModifiedJob = jobOutput.getJobs().get(jobIndex);
 
@@ -485,45 +710,39 @@ public class ScheduleClauseContract implements Contract {
             require.using("Output Job should have status: IN_PROGRESS",
                     outputModifiedJob.getStatus() == JCTJobStatus.IN_PROGRESS);
 
-            Double requestedContractSumAmount = jobInput.getContractSum() + reportInput.getRequestedAmount();
-            Double newJobAmount = reportInput.getRequestedAmount() + inputModifiedJob.getAmount();
-
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInput.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutput.getJobs());
-            otherOutputJobs.remove(jobIndex);
-            List<JCTJob> expectedOutputJobs = new ArrayList<>();
-            expectedOutputJobs.add(inputModifiedJob.copyBuilder()
-                    .withAmount(newJobAmount)
-                    .build());
-            expectedOutputJobs.addAll(otherOutputJobs);
+            Money requestedValue = reportInput.getRequestedValue();
+            require.using("Report should request an amount", requestedValue != null);
+            Money requestedContractValue = jobInput.getContractValue().plus(requestedValue);
+            Money newJobPrice = inputModifiedJob.getPrice().plus(requestedValue);
+
             require.using("Output Job should have same amount as requested in report",
-                    expectedOutputJobs.get(0).equalsExcept(outputModifiedJob, "Status"));
+                    inputModifiedJob.copyBuilder()
+                            .withPrice(newJobPrice)
+                            .build()
+                            .equalsExcept(outputModifiedJob, JobField.STATUS));
 
             ScheduleClauseState expectedOutputEscrowState =
                     jobInput.copyBuilder()
-                    .withContractSum(requestedContractSumAmount)
-                    .withJobs(expectedOutputJobs)
+                    .withContractValue(requestedContractValue)
                     .build();
 
             require.using("Output ScheduleEscrowState should have same ContractSum as requested in report",
                     expectedOutputEscrowState.equals(jobOutput));
 
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
+                    JobListDiff.between(jobInput.getJobs(), jobOutput.getJobs()).unchangedExcept(jobIndex));
+            require.using("The jobs root must not change.", sameCommitment(jobInput, jobOutput));
             require.using("All authorised employers should be required signers.",
-                    expectedSigners.stream().allMatch(signer ->
-                            command.getSigners().contains(signer.getOwningKey())
-                    ));
+                    SignerPolicy.of(command.getSigners()).allOf(expectedSigners));
+
+            ScheduleValuation.verify(require, jobInput, jobOutput, ScheduleValuation.delta(
+                    inputModifiedJob, outputModifiedJob, ScheduleValuation.currencyOf(jobInput)));
 
             return null;
         });
     }
 
-    private void requestDateAmendment(LedgerTransaction tx) {
-        final CommandWithParties<Commands.RequestExpectedDateModification> command = requireSingleCommand(tx.getCommands(), Commands.RequestExpectedDateModification.class);
+    private void requestDateAmendment(LedgerTransaction tx, CommandWithParties<Commands.RequestExpectedDateModification> command) {
 
         requireThat(require -> {
             require.using("Two inputs should be consumed.", tx.getInputs().size() == 2);
@@ -554,7 +773,9 @@ public class ScheduleClauseContract implements Contract {
                     reportOutput.getStatus() == ReportStatus.PROCESSED);
 
             // Job Specific verification
-            int jobIndex = new Commands.RequestExpectedDateModification(command.getValue().jobIx, command.getValue().delayToDate).jobIx;
+            Integer jobIndex = command.getValue().resolveJobIndex(jobInput);
+            require.using("The modified Job must exist in the schedule.",
+                    jobIndex != null && jobIndex < jobOutput.getJobs().size());
             JCTJob inputModifiedJob = jobInput.getJobs().get(jobIndex);
             JCTJob outputModifiedJob = jobOutput.getJobs().get(jobIndex);
 
@@ -566,13 +787,9 @@ public class ScheduleClauseContract implements Contract {
             require.using("Output Job should have status: DATE_AMENDMENT_REQUESTED",
                     outputModifiedJob.getStatus() == JCTJobStatus.DATE_AMENDMENT_REQUESTED);
             require.using("Input ScheduleEscrowState should not change besides Status",
-                    inputModifiedJob.equalsExcept(outputModifiedJob, "Status"));
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInput.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutput.getJobs());
-            otherOutputJobs.remove(jobIndex);
+                    inputModifiedJob.equalsExcept(outputModifiedJob, JobField.STATUS));
 
-            LocalDate requestedDate = new Commands.RequestExpectedDateModification(command.getValue().jobIx, command.getValue().delayToDate).delayToDate;
+            LocalDate requestedDate = command.getValue().getDelayToDate();
             ReportState modifiedReport = reportInput.copyBuilder()
                     .withRequestedDate(requestedDate)
                     .withStatus(ReportStatus.PROCESSED)
@@ -581,20 +798,19 @@ public class ScheduleClauseContract implements Contract {
                     modifiedReport.equals(reportOutput));
 
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
+                    JobListDiff.between(jobInput.getJobs(), jobOutput.getJobs()).unchangedExcept(jobIndex));
+            require.using("The jobs root must not change.", sameCommitment(jobInput, jobOutput));
             require.using("At least a single contractor should be a required signer.",
-                    expectedSigners.stream().anyMatch(signer ->
-                            command.getSigners().contains(signer.getOwningKey())
-                    ));
+                    SignerPolicy.of(command.getSigners()).anyOf(expectedSigners));
+
+            ScheduleValuation.verify(require, jobInput, jobOutput, ScheduleValuation.delta(
+                    inputModifiedJob, outputModifiedJob, ScheduleValuation.currencyOf(jobInput)));
 
             return null;
         });
     }
 
-    private void acceptDateAmendment(LedgerTransaction tx) {
-        final CommandWithParties<Commands.AcceptExpectedDateModification> command = requireSingleCommand(tx.getCommands(), Commands.AcceptExpectedDateModification.class);
+    private void acceptDateAmendment(LedgerTransaction tx, CommandWithParties<Commands.AcceptExpectedDateModification> command) {
 
         requireThat(require -> {
             require.using("Two inputs should be consumed.", tx.getInputs().size() == 2);
@@ -625,7 +841,9 @@ public class ScheduleClauseContract implements Contract {
                     reportOutput.getStatus() == ReportStatus.CONSUMED);
 
             // Job Specific verification
-            int jobIndex = new Commands.AcceptExpectedDateModification(command.getValue().jobIx).jobIx;
+            Integer jobIndex = command.getValue().resolveJobIndex(jobInput);
+            require.using("The modified Job must exist in the schedule.",
+                    jobIndex != null && jobIndex < jobOutput.getJobs().size());
             JCTJob inputModifiedJob = jobInput.getJobs().get(jobIndex);
             JCTJob outputModifiedJob = jobOutput.getJobs().get(jobIndex);
 
@@ -641,21 +859,160 @@ public class ScheduleClauseContract implements Contract {
                     inputModifiedJob.copyBuilder()
                             .withExpectedEndDate(requestedDate)
                             .build()
-                            .equalsExcept(outputModifiedJob, "Status"));
-            List<JCTJob> otherInputtedJobs = new ArrayList<>(jobInput.getJobs());
-            otherInputtedJobs.remove(jobIndex);
-            List<JCTJob> otherOutputJobs = new ArrayList<>(jobOutput.getJobs());
-            otherOutputJobs.remove(jobIndex);
-
-
+                            .equalsExcept(outputModifiedJob, JobField.STATUS));
             require.using("All other jobs mustn't be changed",
-                    IntStream.range(0, otherInputtedJobs.size()).allMatch(idx ->
-                            (otherInputtedJobs.get(idx).equals(otherOutputJobs.get(idx)))
-                    ));
+                    JobListDiff.between(jobInput.getJobs(), jobOutput.getJobs()).unchangedExcept(jobIndex));
+            require.using("The jobs root must not change.", sameCommitment(jobInput, jobOutput));
             require.using("All authorised employers should be required signers.",
-                    expectedSigners.stream().allMatch(signer ->
-                            command.getSigners().contains(signer.getOwningKey())
-                    ));
+                    SignerPolicy.of(command.getSigners()).allOf(expectedSigners));
+
+            ScheduleValuation.verify(require, jobInput, jobOutput, ScheduleValuation.delta(
+                    inputModifiedJob, outputModifiedJob, ScheduleValuation.currencyOf(jobInput)));
+
+            return null;
+        });
+    }
+
+    // Pays out everything due on the schedule: the confirmed value less retention and earlier payments. The command
+    // names the confirmed job the payment is for; without payments on account, every job must be confirmed first.
+    private void verifyPayment(LedgerTransaction tx, CommandWithParties<Commands.SendPayment> command) {
+
+        requireThat(require -> {
+            require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
+            require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
+
+            ScheduleClauseState jobInput =  tx.inputsOfType(ScheduleClauseState.class).get(0);
+            ScheduleClauseState jobOutput =  tx.outputsOfType(ScheduleClauseState.class).get(0);
+            require.using("Schedules with committed jobs are paid with SendCommittedPayment.", !jobInput.isJobsCommitted());
+            require.using("Only the payments may change.",
+                    jobInput.getLinearId().equals(jobOutput.getLinearId()) && jobInput.equals(jobOutput));
+            require.using("The jobs root must not change.", sameCommitment(jobInput, jobOutput));
+            require.using("The jobs mustn't be changed",
+                    JobListDiff.between(jobInput.getJobs(), jobOutput.getJobs()).unchangedExcept(Collections.emptyList()));
+
+            Integer jobIndex = command.getValue().resolveJobIndex(jobInput);
+            require.using("The modified Job must exist in the schedule.", jobIndex != null);
+            require.using("The paid Job should have status: CONFIRMED",
+                    jobInput.getJobs().get(jobIndex).getStatus() == JCTJobStatus.CONFIRMED);
+            require.using("Payments on account are not allowed before every job is confirmed.",
+                    Boolean.TRUE.equals(jobInput.getAllowAccountPayments()) ||
+                    jobInput.getJobs().stream().allMatch(job -> job.getStatus() == JCTJobStatus.CONFIRMED));
+
+            verifyAmountPaid(require, jobInput, jobOutput, command.getSigners());
+
+            return null;
+        });
+    }
+
+    // Pays a schedule holding only a Merkle root over its jobs; the paid job is proven to be in the root instead of
+    // being read from the schedule.
+    private void verifyCommittedPayment(LedgerTransaction tx, CommandWithParties<Commands.SendCommittedPayment> command) {
+        final Commands.SendCommittedPayment payment = command.getValue();
+
+        requireThat(require -> {
+            require.using("One JobState input should be consumed.", tx.getInputs().size() == 1);
+            require.using("One JobState output should be produced.", tx.getOutputs().size() == 1);
+
+            ScheduleClauseState jobInput =  tx.inputsOfType(ScheduleClauseState.class).get(0);
+            ScheduleClauseState jobOutput =  tx.outputsOfType(ScheduleClauseState.class).get(0);
+            require.using("The jobs must be committed.", jobInput.isJobsCommitted() && jobOutput.isJobsCommitted());
+            require.using("The committed schedule must not carry its jobs.",
+                    jobInput.getJobs().isEmpty() && jobOutput.getJobs().isEmpty());
+            require.using("Only the payments may change.",
+                    jobInput.getLinearId().equals(jobOutput.getLinearId()) && jobInput.equals(jobOutput) &&
+                    jobInput.getJobsRoot().equals(jobOutput.getJobsRoot()) &&
+                    jobInput.getCommittedJobCount().equals(jobOutput.getCommittedJobCount()));
+
+            JobMerkleTree.Proof proof = payment.getProof();
+            require.using("The paid Job and its proof must be given.", payment.getJob() != null && proof != null);
+            require.using("The proof must cover every committed job.",
+                    proof.getJobCount() == jobInput.getCommittedJobCount());
+            require.using("The paid Job must be proven to be in the schedule.",
+                    jobInput.getJobsRoot().equals(JobMerkleTree.rootFromProof(payment.getJob(), proof)));
+            require.using("The paid Job should have status: CONFIRMED",
+                    payment.getJob().getStatus() == JCTJobStatus.CONFIRMED);
+
+            List<JCTJob> jobs = payment.getJobs();
+            require.using("Payments on account are not allowed before every job is confirmed.",
+                    Boolean.TRUE.equals(jobInput.getAllowAccountPayments()) ||
+                    (jobs != null && jobs.size() == jobInput.getCommittedJobCount() &&
+                     jobInput.getJobsRoot().equals(JobMerkleTree.root(jobs)) &&
+                     jobs.stream().allMatch(job -> job.getStatus() == JCTJobStatus.CONFIRMED)));
+
+            verifyAmountPaid(require, jobInput, jobOutput, command.getSigners());
+
+            return null;
+        });
+    }
+
+    // Only CommitJobs moves a schedule's jobs to a root; every other command carries the root and count over as is.
+    private static boolean sameCommitment(ScheduleClauseState input, ScheduleClauseState output) {
+        return Objects.equals(input.getJobsRoot(), output.getJobsRoot()) &&
+                Objects.equals(input.getCommittedJobCount(), output.getCommittedJobCount());
+    }
+
+    // The employers pay exactly the amount due on [input], leaving the confirmed value as it was.
+    private static void verifyAmountPaid(Requirements require, ScheduleClauseState input, ScheduleClauseState output,
+                                         List<PublicKey> signers) {
+        Money amountDue = input.getAmountDue();
+        require.using("There must be an amount due.", amountDue.isPositive());
+        require.using("The amount due must be added to the payments made.",
+                input.getPreviousCumulativeValue().plus(amountDue).equals(output.getPreviousCumulativeValue()));
+        require.using("The confirmed value must not change.",
+                input.getNetCumulativeValue().equals(output.getNetCumulativeValue()) &&
+                Objects.equals(input.getAllowAccountPayments(), output.getAllowAccountPayments()));
+        require.using("All authorised employers should be required signers.",
+                SignerPolicy.of(signers).allOf(input.getEmployers()));
+    }
+
+    // The reissued copy is cited as a reference input, so a schedule can only be retired once a copy of it exists.
+    private void verifyRetire(LedgerTransaction tx, CommandWithParties<Commands.Retire> command) {
+
+        requireThat(require -> {
+            require.using("One schedule should be retired.",
+                    tx.getInputs().size() == 1 && tx.inputsOfType(ScheduleClauseState.class).size() == 1);
+            require.using("Retiring a schedule must produce no outputs.", tx.getOutputs().isEmpty());
+            List<ScheduleClauseState> reissued = tx.referenceInputsOfType(ScheduleClauseState.class);
+            require.using("The reissued schedule must be a reference input.", reissued.size() == 1);
+
+            ScheduleClauseState retired = tx.inputsOfType(ScheduleClauseState.class).get(0);
+            require.using("The reissued schedule must be a snapshot of the retired one.",
+                    reissued.get(0).isSnapshotOf(retired));
+            require.using("All participants should be required signers.",
+                    SignerPolicy.of(command.getSigners()).allOf(retired.getEmployers(), retired.getContractors()));
+
+            return null;
+        });
+    }
+
+    // The schedule being replaced isn't part of this transaction, or the copy would inherit its history. The command
+    // carries its content instead, which every participant checks against its own copy before signing.
+    private void verifyReissue(LedgerTransaction tx, CommandWithParties<Commands.Reissue> command) {
+
+        requireThat(require -> {
+            require.using("No inputs should be consumed when reissuing a Schedule.", tx.getInputs().isEmpty());
+            require.using("One schedule should be reissued.",
+                    tx.getOutputs().size() == 1 && tx.outputsOfType(ScheduleClauseState.class).size() == 1);
+            require.using("The retired schedule must be given.",
+                    command.getValue().getRetiredRef() != null && command.getValue().getRetired() != null);
+
+            ScheduleClauseState reissued = tx.outputsOfType(ScheduleClauseState.class).get(0);
+            require.using("The reissued schedule must be a snapshot of the retired one.",
+                    reissued.isSnapshotOf(command.getValue().getRetired()));
+            require.using("All participants should be required signers.",
+                    SignerPolicy.of(command.getSigners()).allOf(reissued.getEmployers(), reissued.getContractors()));
+            require.using("Job references must be unique.", reissued.hasUniqueJobReferences());
+            require.using("The schedule's valuation must be recorded.",
+                    reissued.getNetCumulativeValue() != null && reissued.getPreviousCumulativeValue() != null);
+            if (!reissued.isJobsCommitted()) {
+                final String currency = ScheduleValuation.currencyOf(reissued);
+                Money confirmedValue = Money.zero(currency);
+                for (JCTJob job : reissued.getJobs()) {
+                    confirmedValue = confirmedValue.plus(ScheduleValuation.confirmedValue(job, currency));
+                }
+                require.using("The reissued confirmed value must match its jobs.",
+                        confirmedValue.equals(reissued.getNetCumulativeValue()));
+            }
 
             return null;
         });
@@ -0,0 +1,71 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Requirements;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps a schedule's valuation in step with its jobs. A confirmed job adds its price to the confirmed value and
+ * repricing a confirmed job adds the difference, so each command only has to look at the jobs it changed instead of
+ * re-summing the schedule.
+ */
+public class ScheduleValuation {
+
+    private ScheduleValuation() {}
+
+    // What [job] contributes to the schedule's confirmed value.
+    public static Money confirmedValue(JCTJob job, String currency) {
+        if (job.getStatus() != JCTJobStatus.CONFIRMED || job.getPrice() == null) {
+            return Money.zero(currency);
+        }
+        return job.getPrice();
+    }
+
+    // What [jobs] contribute to the schedule's confirmed value: the sum of the prices of the CONFIRMED ones.
+    public static Money confirmedValue(List<JCTJob> jobs, String currency) {
+        Money total = Money.zero(currency);
+        for (JCTJob job : jobs) {
+            total = total.plus(confirmedValue(job, currency));
+        }
+        return total;
+    }
+
+    // The change in confirmed value from replacing [input] with [output].
+    public static Money delta(JCTJob input, JCTJob output, String currency) {
+        return confirmedValue(output, currency).minus(confirmedValue(input, currency));
+    }
+
+    // The change in confirmed value from the jobs at [jobIndices], the only ones a command may change.
+    public static Money delta(List<JCTJob> inputs, List<JCTJob> outputs, Collection<Integer> jobIndices, String currency) {
+        Money delta = Money.zero(currency);
+        for (Integer jobIndex : jobIndices) {
+            delta = delta.plus(delta(inputs.get(jobIndex), outputs.get(jobIndex), currency));
+        }
+        return delta;
+    }
+
+    public static String currencyOf(ScheduleClauseState schedule) {
+        if (schedule.getNetCumulativeValue() != null) return schedule.getNetCumulativeValue().getCurrency();
+        if (schedule.getContractValue() != null) return schedule.getContractValue().getCurrency();
+        return Money.DEFAULT_CURRENCY;
+    }
+
+    // The output keeps the input's payments and terms, and its confirmed value moved by exactly [delta].
+    public static void verify(Requirements require, ScheduleClauseState input, ScheduleClauseState output, Money delta) {
+        require.using("The schedule's valuation must be recorded.",
+                input.getNetCumulativeValue() != null && input.getPreviousCumulativeValue() != null &&
+                output.getNetCumulativeValue() != null && output.getPreviousCumulativeValue() != null);
+        require.using("The confirmed value must only change by the value of the jobs confirmed.",
+                input.getNetCumulativeValue().plus(delta).equals(output.getNetCumulativeValue()));
+        require.using("Payments already made must not change.",
+                input.getPreviousCumulativeValue().equals(output.getPreviousCumulativeValue()));
+        require.using("The payment on account terms must not change.",
+                Objects.equals(input.getAllowAccountPayments(), output.getAllowAccountPayments()));
+    }
+}
@@ -0,0 +1,84 @@
+package com.template.contracts;
+
+import net.corda.core.identity.AbstractParty;
+
+import java.security.PublicKey;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The keys that signed a command, hashed once so that checking them against a transaction's parties costs one
+ * lookup per party instead of a scan of the signer list.
+ *
+ * Parties are matched on their owning key, as the contracts did before; a null party list is treated as empty.
+ */
+public class SignerPolicy {
+    private final Set<PublicKey> signers;
+
+    private SignerPolicy(Set<PublicKey> signers) {
+        this.signers = signers;
+    }
+
+    public static SignerPolicy of(Collection<PublicKey> signers) {
+        return new SignerPolicy(new HashSet<>(signers));
+    }
+
+    public boolean signedBy(PublicKey key) {
+        return signers.contains(key);
+    }
+
+    // Every key in [keys] signed.
+    public boolean allKeys(Collection<PublicKey> keys) {
+        for (PublicKey key : keys) {
+            if (!signers.contains(key)) return false;
+        }
+        return true;
+    }
+
+    // Every party in [parties] signed.
+    @SafeVarargs
+    public final boolean allOf(List<? extends AbstractParty>... parties) {
+        for (List<? extends AbstractParty> group : parties) {
+            if (group == null) continue;
+            for (AbstractParty party : group) {
+                if (!signers.contains(party.getOwningKey())) return false;
+            }
+        }
+        return true;
+    }
+
+    // At least one party in [parties] signed.
+    public boolean anyOf(List<? extends AbstractParty> parties) {
+        return atLeast(1, parties);
+    }
+
+    // At least [threshold] distinct parties in [parties] signed.
+    public boolean atLeast(int threshold, List<? extends AbstractParty> parties) {
+        if (threshold <= 0) return true;
+        if (parties == null) return false;
+        final Set<PublicKey> matched = new HashSet<>();
+        for (AbstractParty party : parties) {
+            if (signers.contains(party.getOwningKey()) && matched.add(party.getOwningKey()) && matched.size() >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The signers are the parties in [parties] and nobody else.
+    @SafeVarargs
+    public final boolean exactly(List<? extends AbstractParty>... parties) {
+        final Set<PublicKey> expected = new HashSet<>();
+        for (List<? extends AbstractParty> group : parties) {
+            if (group == null) continue;
+            group.forEach(party -> expected.add(party.getOwningKey()));
+        }
+        return signers.equals(expected);
+    }
+
+    public int size() {
+        return signers.size();
+    }
+}
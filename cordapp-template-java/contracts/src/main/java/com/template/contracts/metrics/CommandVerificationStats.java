@@ -0,0 +1,63 @@
+package com.template.contracts.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A point-in-time summary of the verifications of one command. Latencies are in microseconds; percentiles are the
+ * upper bound of the power-of-two histogram bucket they fall in.
+ */
+public class CommandVerificationStats {
+    private final String command;
+    private final long verifications;
+    private final long failures;
+    private final long jobsVerified;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    @ConstructorProperties({"command", "verifications", "failures", "jobsVerified", "meanMicros", "p50Micros", "p99Micros", "maxMicros"})
+    public CommandVerificationStats(String command, long verifications, long failures, long jobsVerified,
+                                    long meanMicros, long p50Micros, long p99Micros, long maxMicros) {
+        this.command = command;
+        this.verifications = verifications;
+        this.failures = failures;
+        this.jobsVerified = jobsVerified;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public long getVerifications() {
+        return verifications;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getJobsVerified() {
+        return jobsVerified;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+}
@@ -0,0 +1,69 @@
+package com.template.contracts.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * [VerificationMetrics] backed by a [VerificationStats] bean on the platform MBean server.
+ *
+ * Contracts are loaded once per attachment class loader, so the bean may already have been registered by another
+ * copy of this class. The first copy records straight into its own bean; later copies go through the MBean server
+ * rather than registering a bean each, which would pin every class loader that ever verified a transaction.
+ */
+public class JmxVerificationMetrics extends VerificationMetrics {
+    private static final String RECORD = "record";
+    private static final String[] RECORD_SIGNATURE = {
+            String.class.getName(), boolean.class.getName(), String.class.getName(), int.class.getName(), long.class.getName()
+    };
+
+    private final MBeanServer server;
+    private final ObjectName name;
+    // Null when the bean was registered by another class loader.
+    private final VerificationStats local;
+
+    public JmxVerificationMetrics(String contractName) throws JMException {
+        this.server = ManagementFactory.getPlatformMBeanServer();
+        this.name = new ObjectName("com.template:type=ContractVerification,contract=" + ObjectName.quote(contractName));
+        this.local = register(server, name);
+    }
+
+    private static VerificationStats register(MBeanServer server, ObjectName name) throws JMException {
+        final VerificationStats stats = new VerificationStats();
+        try {
+            server.registerMBean(stats, name);
+            return stats;
+        } catch (InstanceAlreadyExistsException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void recordSuccess(String command, int jobCount, long elapsedNanos) {
+        record(command, true, null, jobCount, elapsedNanos);
+    }
+
+    @Override
+    public void recordFailure(String command, String reason, long elapsedNanos) {
+        record(command, false, reason, 0, elapsedNanos);
+    }
+
+    private void record(String command, boolean success, String reason, int jobCount, long elapsedNanos) {
+        if (local != null) {
+            local.record(command, success, reason, jobCount, elapsedNanos);
+            return;
+        }
+        try {
+            server.invoke(name, RECORD, new Object[]{command, success, reason, jobCount, elapsedNanos}, RECORD_SIGNATURE);
+        } catch (JMException e) {
+            // Metrics must never fail a verification; the bean was unregistered or replaced.
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.template.contracts.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long each contract command takes to verify, how many jobs it looked at and why it failed.
+ *
+ * Contracts ask for their metrics once per verification and must call [isEnabled] before timing anything: inside
+ * the deterministic sandbox every contract gets [NO_OP], which records nothing and never touches the clock or JMX.
+ * Outside it the metrics are published to the platform MBean server, and so through the node's Jolokia agent, under
+ * `com.template:type=ContractVerification,contract=<name>`.
+ */
+public abstract class VerificationMetrics {
+    public static final VerificationMetrics NO_OP = new VerificationMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordSuccess(String command, int jobCount, long elapsedNanos) { }
+
+        @Override
+        public void recordFailure(String command, String reason, long elapsedNanos) { }
+    };
+
+    // Classes loaded by the deterministic sandbox are renamed into this package.
+    private static final boolean SANDBOXED = VerificationMetrics.class.getName().startsWith("sandbox.");
+    private static final String JMX_METRICS = "com.template.contracts.metrics.JmxVerificationMetrics";
+
+    private static final Map<String, VerificationMetrics> BY_CONTRACT = SANDBOXED ? null : new ConcurrentHashMap<>();
+
+    public static VerificationMetrics forContract(String contractName) {
+        if (SANDBOXED) return NO_OP;
+        return BY_CONTRACT.computeIfAbsent(contractName, VerificationMetrics::create);
+    }
+
+    // Loaded reflectively so that nothing in this class links against java.lang.management.
+    private static VerificationMetrics create(String contractName) {
+        try {
+            return (VerificationMetrics) Class.forName(JMX_METRICS)
+                    .getConstructor(String.class)
+                    .newInstance(contractName);
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            return NO_OP;
+        }
+    }
+
+    public abstract boolean isEnabled();
+
+    public abstract void recordSuccess(String command, int jobCount, long elapsedNanos);
+
+    public abstract void recordFailure(String command, String reason, long elapsedNanos);
+}
@@ -0,0 +1,106 @@
+package com.template.contracts.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters behind [VerificationStatsMXBean]. Each command keeps a histogram of verification latencies in
+ * power-of-two microsecond buckets, so recording never allocates once the command has been seen.
+ */
+public class VerificationStats implements VerificationStatsMXBean {
+    // Bucket 0 holds sub-microsecond verifications, bucket i those taking [2^(i-1), 2^i) microseconds.
+    static final int BUCKETS = 40;
+    // Failure messages are free text; stop tracking new ones past this many so a bad actor can't grow the map.
+    static final int MAX_FAILURE_REASONS = 128;
+    static final String OTHER_REASON = "<other>";
+
+    private final ConcurrentMap<String, CommandCounters> commands = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> failureReasons = new ConcurrentHashMap<>();
+
+    private static class CommandCounters {
+        final LongAdder verifications = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder jobs = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+        final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKETS);
+    }
+
+    @Override
+    public void record(String command, boolean success, String reason, int jobCount, long elapsedNanos) {
+        final CommandCounters counters = commands.computeIfAbsent(command, c -> new CommandCounters());
+        counters.verifications.increment();
+        counters.jobs.add(jobCount);
+        counters.totalNanos.add(elapsedNanos);
+        counters.maxNanos.accumulate(elapsedNanos);
+        counters.latencyBuckets.incrementAndGet(bucketOf(elapsedNanos / 1000));
+        if (!success) {
+            counters.failures.increment();
+            failureReason(command + ": " + reason).increment();
+        }
+    }
+
+    private LongAdder failureReason(String key) {
+        final LongAdder existing = failureReasons.get(key);
+        if (existing != null) return existing;
+        if (failureReasons.size() >= MAX_FAILURE_REASONS) {
+            return failureReasons.computeIfAbsent(OTHER_REASON, k -> new LongAdder());
+        }
+        return failureReasons.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    static int bucketOf(long micros) {
+        if (micros <= 0) return 0;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    // The upper bound, in microseconds, of the bucket holding the [quantile]th verification.
+    private static long percentile(AtomicLongArray buckets, long count, double quantile) {
+        if (count == 0) return 0;
+        final long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return i == 0 ? 1 : 1L << i;
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+    @Override
+    public List<CommandVerificationStats> getCommands() {
+        final List<CommandVerificationStats> stats = new ArrayList<>();
+        new TreeMap<>(commands).forEach((command, counters) -> {
+            final long count = counters.verifications.sum();
+            stats.add(new CommandVerificationStats(
+                    command,
+                    count,
+                    counters.failures.sum(),
+                    counters.jobs.sum(),
+                    count == 0 ? 0 : counters.totalNanos.sum() / count / 1000,
+                    percentile(counters.latencyBuckets, count, 0.5),
+                    percentile(counters.latencyBuckets, count, 0.99),
+                    counters.maxNanos.get() / 1000));
+        });
+        return stats;
+    }
+
+    @Override
+    public Map<String, Long> getFailureReasons() {
+        final Map<String, Long> reasons = new TreeMap<>();
+        failureReasons.forEach((reason, count) -> reasons.put(reason, count.sum()));
+        return reasons;
+    }
+
+    @Override
+    public void reset() {
+        commands.clear();
+        failureReasons.clear();
+    }
+}
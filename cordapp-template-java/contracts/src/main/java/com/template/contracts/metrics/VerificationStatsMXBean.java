@@ -0,0 +1,19 @@
+package com.template.contracts.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JMX view of one contract's verification metrics. Only JDK types cross this interface, which lets a copy of the
+ * contract loaded by another class loader record into the bean that was registered first.
+ */
+public interface VerificationStatsMXBean {
+    List<CommandVerificationStats> getCommands();
+
+    // "<command>: <reason>" -> number of verifications that failed with it.
+    Map<String, Long> getFailureReasons();
+
+    void record(String command, boolean success, String reason, int jobCount, long elapsedNanos);
+
+    void reset();
+}
@@ -0,0 +1,9 @@
+package com.template.schema;
+
+/**
+ * The part a party plays in a JCT, stored with each row of [PersistentJCTParticipant].
+ */
+public enum JCTParticipantRole {
+    EMPLOYER,
+    CONTRACTOR
+}
@@ -0,0 +1,24 @@
+package com.template.schema;
+
+import net.corda.core.schemas.MappedSchema;
+
+import java.util.Arrays;
+
+
+/**
+ * MappedSchema subclass representing the custom schema for the JCTState QueryableState.
+ *
+ * Supersedes the [JCTSchemaV1] design, which mapped the employer and contractor lists as columns of [PersistentJCT]:
+ * the parties now live in a JCT_PARTICIPANT join table, one row per party and role, so JCTs can be looked up by party.
+ */
+
+public class JCTSchemaV2 extends MappedSchema {
+
+    /**
+     * The constructor of the MappedSchema requires the schemafamily, verison, and a list of all JPA entity classes for
+     * the Schema.
+     */
+    public JCTSchemaV2() {
+        super(JCTSchemaFamily.class, 2, Arrays.asList(PersistentJCTProject.class, PersistentJCTParticipant.class));
+    }
+}
@@ -0,0 +1,74 @@
+package com.template.schema;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.UUID;
+
+
+/**
+ * JPA Entity for saving one party of a JCT, in one role, to the database table. Lookups by party lead with the key
+ * hash or the party name and narrow on role, so both orders are indexed.
+ */
+@Entity
+@Table(name = "JCT_PARTICIPANT",
+        indexes = {
+                @Index(name = "jct_participant_key_role_idx", columnList = "key_hash,role"),
+                @Index(name = "jct_participant_name_role_idx", columnList = "party_name,role")
+        })
+public class PersistentJCTParticipant implements Serializable {
+
+    @Id private final UUID id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", length = 16) private final JCTParticipantRole role;
+    @Column(name = "party_name") private final String partyName;
+    // The short string form of the party's owning key, as used by the node's own vault tables.
+    @Column(name = "key_hash", length = 130) private final String keyHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "transaction_id", referencedColumnName = "transaction_id", insertable = false, updatable = false),
+            @JoinColumn(name = "output_index", referencedColumnName = "output_index", insertable = false, updatable = false),
+    })
+    private PersistentJCTProject project;
+
+    /**
+     * Default constructor required by Hibernate
+     */
+    public PersistentJCTParticipant() {
+        this.id = null;
+        this.role = null;
+        this.partyName = null;
+        this.keyHash = null;
+    }
+
+    public PersistentJCTParticipant(JCTParticipantRole role, String partyName, String keyHash) {
+        this.id = UUID.randomUUID();
+        this.role = role;
+        this.partyName = partyName;
+        this.keyHash = keyHash;
+    }
+
+    void setProject(PersistentJCTProject project) {
+        this.project = project;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public JCTParticipantRole getRole() {
+        return role;
+    }
+
+    public String getPartyName() {
+        return partyName;
+    }
+
+    public String getKeyHash() {
+        return keyHash;
+    }
+
+    public PersistentJCTProject getProject() {
+        return project;
+    }
+}
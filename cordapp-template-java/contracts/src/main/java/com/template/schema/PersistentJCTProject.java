@@ -0,0 +1,63 @@
+package com.template.schema;
+
+import net.corda.core.schemas.PersistentState;
+import org.hibernate.annotations.Cascade;
+import org.hibernate.annotations.CascadeType;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * JPA Entity for saving JCT details to the database table. The employers and contractors are kept in
+ * [PersistentJCTParticipant].
+ */
+@Entity
+@Table(name = "JCT_PROJECT",
+        indexes = {
+                @Index(name = "jct_project_linear_id_idx", columnList = "linear_id"),
+                @Index(name = "jct_project_name_idx", columnList = "project_name")
+        })
+public class PersistentJCTProject extends PersistentState implements Serializable {
+
+    @Column(name = "linear_id") private final UUID linearId;
+    @Column(name = "project_name") private final String projectName;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "transaction_id", referencedColumnName = "transaction_id"),
+            @JoinColumn(name = "output_index", referencedColumnName = "output_index"),
+    })
+    @Cascade(CascadeType.PERSIST)
+    private List<PersistentJCTParticipant> participants;
+
+    /**
+     * Default constructor required by Hibernate
+     */
+    public PersistentJCTProject() {
+        this.linearId = null;
+        this.projectName = null;
+        this.participants = null;
+    }
+
+    public PersistentJCTProject(UUID linearId, String projectName, List<PersistentJCTParticipant> participants) {
+        this.linearId = linearId;
+        this.projectName = projectName;
+        this.participants = participants;
+        participants.forEach(participant -> participant.setProject(this));
+    }
+
+    public UUID getLinearId() {
+        return linearId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public List<PersistentJCTParticipant> getParticipants() {
+        return participants;
+    }
+}
@@ -0,0 +1,87 @@
+package com.template.schema;
+
+import net.corda.core.schemas.PersistentState;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+
+/**
+ * JPA Entity for saving report details to the database table. The composite index lets the latest report of a
+ * given status for a job be read from the index alone.
+ */
+@Entity
+@Table(name = "REPORT_DETAIL",
+        indexes = {
+                @Index(name = "report_linear_id_idx", columnList = "linear_id"),
+                @Index(name = "report_job_reference_idx", columnList = "jct_job_reference"),
+                @Index(name = "report_status_idx", columnList = "status"),
+                @Index(name = "report_date_of_survey_idx", columnList = "date_of_survey"),
+                @Index(name = "report_job_status_survey_idx", columnList = "jct_job_reference,status,date_of_survey")
+        })
+public class PersistentReport extends PersistentState implements Serializable {
+
+    @Column(name = "linear_id") private final UUID linearId;
+    @Column(name = "jct_job_reference") private final String jctJobReference;
+    @Column(name = "status") private final String status;
+    @Column(name = "date_of_survey") private final Instant dateOfSurvey;
+    @Column(name = "requested_completion_date") private final LocalDate requestedCompletionDate;
+    @Column(name = "requested_value") private final Long requestedValue;
+    @Column(name = "currency", length = 3) private final String currency;
+
+    /**
+     * Default constructor required by Hibernate
+     */
+    public PersistentReport() {
+        this.linearId = null;
+        this.jctJobReference = null;
+        this.status = null;
+        this.dateOfSurvey = null;
+        this.requestedCompletionDate = null;
+        this.requestedValue = null;
+        this.currency = null;
+    }
+
+    public PersistentReport(UUID linearId, String jctJobReference, String status, Instant dateOfSurvey,
+                            LocalDate requestedCompletionDate, Long requestedValue, String currency) {
+        this.linearId = linearId;
+        this.jctJobReference = jctJobReference;
+        this.status = status;
+        this.dateOfSurvey = dateOfSurvey;
+        this.requestedCompletionDate = requestedCompletionDate;
+        this.requestedValue = requestedValue;
+        this.currency = currency;
+    }
+
+    public UUID getLinearId() {
+        return linearId;
+    }
+
+    public String getJctJobReference() {
+        return jctJobReference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Instant getDateOfSurvey() {
+        return dateOfSurvey;
+    }
+
+    public LocalDate getRequestedCompletionDate() {
+        return requestedCompletionDate;
+    }
+
+    // In minor units of [currency].
+    public Long getRequestedValue() {
+        return requestedValue;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,99 @@
+package com.template.schema;
+
+import net.corda.core.schemas.PersistentState;
+import org.hibernate.annotations.Cascade;
+import org.hibernate.annotations.CascadeType;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * JPA Entity for saving the schedule header to the database table. The jobs are kept in [PersistentScheduleJob].
+ */
+@Entity
+@Table(name = "SCHEDULE_DETAIL",
+        indexes = {@Index(name = "schedule_linear_id_idx", columnList = "linear_id")})
+public class PersistentSchedule extends PersistentState implements Serializable {
+
+    @Column(name = "linear_id") private final UUID linearId;
+    @Column(name = "project_name") private final String projectName;
+    @Column(name = "contract_value") private final Long contractValue;
+    @Column(name = "currency", length = 3) private final String currency;
+    @Column(name = "retention_basis_points") private final Integer retentionBasisPoints;
+    @Column(name = "job_count") private final Integer jobCount;
+    // Hex of the Merkle root when the jobs are committed; the job rows are then absent.
+    @Column(name = "jobs_root", length = 64) private final String jobsRoot;
+
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "transaction_id", referencedColumnName = "transaction_id"),
+            @JoinColumn(name = "output_index", referencedColumnName = "output_index"),
+    })
+    @OrderColumn(name = "job_index")
+    @Cascade(CascadeType.PERSIST)
+    private List<PersistentScheduleJob> jobs;
+
+    /**
+     * Default constructor required by Hibernate
+     */
+    public PersistentSchedule() {
+        this.linearId = null;
+        this.projectName = null;
+        this.contractValue = null;
+        this.currency = null;
+        this.retentionBasisPoints = null;
+        this.jobCount = null;
+        this.jobsRoot = null;
+        this.jobs = null;
+    }
+
+    public PersistentSchedule(UUID linearId, String projectName, Long contractValue, String currency,
+                              Integer retentionBasisPoints, Integer jobCount, String jobsRoot,
+                              List<PersistentScheduleJob> jobs) {
+        this.linearId = linearId;
+        this.projectName = projectName;
+        this.contractValue = contractValue;
+        this.currency = currency;
+        this.retentionBasisPoints = retentionBasisPoints;
+        this.jobCount = jobCount;
+        this.jobsRoot = jobsRoot;
+        this.jobs = jobs;
+        jobs.forEach(job -> job.setSchedule(this));
+    }
+
+    public UUID getLinearId() {
+        return linearId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    // In minor units of [currency].
+    public Long getContractValue() {
+        return contractValue;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Integer getRetentionBasisPoints() {
+        return retentionBasisPoints;
+    }
+
+    public Integer getJobCount() {
+        return jobCount;
+    }
+
+    public String getJobsRoot() {
+        return jobsRoot;
+    }
+
+    public List<PersistentScheduleJob> getJobs() {
+        return jobs;
+    }
+}
@@ -0,0 +1,106 @@
+package com.template.schema;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+
+/**
+ * JPA Entity for saving one job of a schedule to the database table. Reference, status and expected end date are
+ * indexed so that vault queries such as "IN_PROGRESS jobs due this week" don't need to load any schedule.
+ */
+@Entity
+@Table(name = "SCHEDULE_JOB_DETAIL",
+        indexes = {
+                @Index(name = "schedule_job_reference_idx", columnList = "reference"),
+                @Index(name = "schedule_job_status_idx", columnList = "status"),
+                @Index(name = "schedule_job_end_date_idx", columnList = "expected_end_date"),
+                @Index(name = "schedule_job_status_end_date_idx", columnList = "status,expected_end_date")
+        })
+public class PersistentScheduleJob implements Serializable {
+
+    @Id private final UUID id;
+    @Column(name = "reference") private final String reference;
+    // Free text of any length, as JCTJob doesn't bound it.
+    @Lob @Column(name = "description") private final String description;
+    @Column(name = "price") private final Long price;
+    @Column(name = "currency", length = 3) private final String currency;
+    @Column(name = "expected_end_date") private final LocalDate expectedEndDate;
+    @Column(name = "completion_basis_points") private final Integer completionBasisPoints;
+    @Column(name = "status") private final String status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumns({
+            @JoinColumn(name = "transaction_id", referencedColumnName = "transaction_id", insertable = false, updatable = false),
+            @JoinColumn(name = "output_index", referencedColumnName = "output_index", insertable = false, updatable = false),
+    })
+    private PersistentSchedule schedule;
+
+    /**
+     * Default constructor required by Hibernate
+     */
+    public PersistentScheduleJob() {
+        this.id = null;
+        this.reference = null;
+        this.description = null;
+        this.price = null;
+        this.currency = null;
+        this.expectedEndDate = null;
+        this.completionBasisPoints = null;
+        this.status = null;
+    }
+
+    public PersistentScheduleJob(String reference, String description, Long price, String currency,
+                                 LocalDate expectedEndDate, Integer completionBasisPoints, String status) {
+        this.id = UUID.randomUUID();
+        this.reference = reference;
+        this.description = description;
+        this.price = price;
+        this.currency = currency;
+        this.expectedEndDate = expectedEndDate;
+        this.completionBasisPoints = completionBasisPoints;
+        this.status = status;
+    }
+
+    void setSchedule(PersistentSchedule schedule) {
+        this.schedule = schedule;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // In minor units of [currency].
+    public Long getPrice() {
+        return price;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public LocalDate getExpectedEndDate() {
+        return expectedEndDate;
+    }
+
+    public Integer getCompletionBasisPoints() {
+        return completionBasisPoints;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public PersistentSchedule getSchedule() {
+        return schedule;
+    }
+}
@@ -0,0 +1,10 @@
+package com.template.schema;
+
+/**
+ * Schema Family for the Report Mapped Schema
+ *
+ * MappedSchema should be associated with a schema family which is consistent across versions of the schema.
+ * It allows the SchemaService to select the appropriate version of the schema if it has evolved over time.
+ */
+
+public class ReportSchemaFamily { }
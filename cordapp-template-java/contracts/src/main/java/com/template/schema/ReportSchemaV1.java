@@ -0,0 +1,21 @@
+package com.template.schema;
+
+import net.corda.core.schemas.MappedSchema;
+
+import java.util.Collections;
+
+
+/**
+ * MappedSchema subclass representing the custom schema for the ReportState QueryableState.
+ */
+
+public class ReportSchemaV1 extends MappedSchema {
+
+    /**
+     * The constructor of the MappedSchema requires the schemafamily, verison, and a list of all JPA entity classes for
+     * the Schema.
+     */
+    public ReportSchemaV1() {
+        super(ReportSchemaFamily.class, 1, Collections.singletonList(PersistentReport.class));
+    }
+}
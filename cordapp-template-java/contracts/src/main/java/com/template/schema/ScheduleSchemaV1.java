@@ -0,0 +1,22 @@
+package com.template.schema;
+
+import net.corda.core.schemas.MappedSchema;
+
+import java.util.Arrays;
+
+
+/**
+ * MappedSchema subclass representing the custom schema for the ScheduleClauseState QueryableState: one row per
+ * schedule and one child row per job, so that job filters can be pushed into SQL.
+ */
+
+public class ScheduleSchemaV1 extends MappedSchema {
+
+    /**
+     * The constructor of the MappedSchema requires the schemafamily, verison, and a list of all JPA entity classes for
+     * the Schema.
+     */
+    public ScheduleSchemaV1() {
+        super(ScheduleSchemaFamily.class, 1, Arrays.asList(PersistentSchedule.class, PersistentScheduleJob.class));
+    }
+}
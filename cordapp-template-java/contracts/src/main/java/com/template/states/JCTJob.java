@@ -1,8 +1,20 @@
 package com.template.states;
 
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.serialization.ConstructorForDeserialization;
 import net.corda.core.serialization.CordaSerializable;
+import net.corda.core.serialization.DeprecatedConstructorForDeserialization;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 // *******************************
 // * JOB: A class that describes *
@@ -13,28 +25,42 @@ import java.time.LocalDate;
 public class JCTJob {
     private String reference;
     private String description;
-    private Double amount;
+    private Money price;
     private LocalDate expectedEndDate;
-    private Double percentageComplete;
+    private int completionBasisPoints;
 //    private Amount<Currency> requestedAmount;
 //    private Amount<Currency> amountPaidOut;
 //    private Amount<Currency> paidOutMinusRet;
     // List<SecureHash> documentsRequired = Arrays.asList();
     private JCTJobStatus status;
+    // Worked out on first use; jobs are never modified after construction.
+    private transient int hash;
+    private transient SecureHash contentDigest;
 
+    @ConstructorForDeserialization
     public JCTJob(String reference,
                   String description,
-                  Double amount,
+                  Money price,
                   LocalDate expectedEndDate,
-                  Double percentageComplete, JCTJobStatus status) {
+                  int completionBasisPoints, JCTJobStatus status) {
         this.reference = reference;
         this.description = description;
-        this.amount = amount;
+        this.price = price;
         this.expectedEndDate = expectedEndDate;
-        this.percentageComplete = percentageComplete;
+        this.completionBasisPoints = completionBasisPoints;
         this.status = status;
     }
 
+    // Jobs recorded with a Double amount and percentage, which are converted to minor units and basis points.
+    @DeprecatedConstructorForDeserialization(version = 1)
+    public JCTJob(String reference,
+                  String description,
+                  Double amount,
+                  LocalDate expectedEndDate,
+                  Double percentageComplete, JCTJobStatus status) {
+        this(reference, description, Money.ofMajor(amount), expectedEndDate, Money.toBasisPoints(percentageComplete), status);
+    }
+
     public String getReference() {
         return reference;
     }
@@ -43,16 +69,25 @@ public class JCTJob {
         return description;
     }
 
+    public Money getPrice() {
+        return price;
+    }
+
+    // The price in major units, for display and for callers that still work in Doubles.
     public Double getAmount() {
-        return amount;
+        return price == null ? null : price.toMajor();
     }
 
     public LocalDate getExpectedEndDate() {
         return expectedEndDate;
     }
 
+    public int getCompletionBasisPoints() {
+        return completionBasisPoints;
+    }
+
     public Double getPercentageComplete() {
-        return percentageComplete;
+        return Money.fromBasisPoints(completionBasisPoints);
     }
 
 //    public Double getRequestedAmount() {
@@ -75,17 +110,17 @@ public class JCTJob {
 
         private String reference;
         private String description;
-        private Double amount;
+        private Money price;
         private LocalDate expectedEndDate;
-        private Double percentageComplete;
+        private int completionBasisPoints;
         private JCTJobStatus status;
 
         public JCTJobBuilder(JCTJob origin) {
             this.reference = origin.getReference();
             this.description = origin.getDescription();
-            this.amount = origin.getAmount();
+            this.price = origin.getPrice();
             this.expectedEndDate = origin.getExpectedEndDate();
-            this.percentageComplete = origin.getPercentageComplete();
+            this.completionBasisPoints = origin.getCompletionBasisPoints();
             this.status = origin.getStatus();
         }
 
@@ -94,13 +129,24 @@ public class JCTJob {
             return this;
         }
 
+        public JCTJobBuilder withPrice(Money price) {
+            this.price = price;
+            return this;
+        }
+
         public JCTJobBuilder withAmount(Double amount) {
-            this.amount = amount;
+            this.price = amount == null ? null :
+                    Money.ofMajor(amount, price == null ? Money.DEFAULT_CURRENCY : price.getCurrency());
+            return this;
+        }
+
+        public JCTJobBuilder withCompletionBasisPoints(int completionBasisPoints) {
+            this.completionBasisPoints = completionBasisPoints;
             return this;
         }
 
         public JCTJobBuilder withPercentage(Double percentageComplete) {
-            this.percentageComplete = percentageComplete;
+            this.completionBasisPoints = Money.toBasisPoints(percentageComplete);
             return this;
         }
 
@@ -115,7 +161,7 @@ public class JCTJob {
         }
 
         public JCTJob build() {
-            return new JCTJob(reference, description, amount, expectedEndDate, percentageComplete, status);
+            return new JCTJob(reference, description, price, expectedEndDate, completionBasisPoints, status);
         }
     }
 
@@ -123,76 +169,133 @@ public class JCTJob {
       return new JCTJobBuilder(this);
     }
 
+    // The fields in which [other] differs from this job.
+    public EnumSet<JobField> differingFields(JCTJob other) {
+        EnumSet<JobField> fields = EnumSet.noneOf(JobField.class);
+        if (!Objects.equals(other.getReference(), this.getReference())) fields.add(JobField.REFERENCE);
+        if (!Objects.equals(other.getDescription(), this.getDescription())) fields.add(JobField.DESCRIPTION);
+        if (!Objects.equals(other.getPrice(), this.getPrice())) fields.add(JobField.PRICE);
+        if (!Objects.equals(other.getExpectedEndDate(), this.getExpectedEndDate())) fields.add(JobField.EXPECTED_END_DATE);
+        if (other.getCompletionBasisPoints() != this.getCompletionBasisPoints()) fields.add(JobField.COMPLETION);
+        if (other.getStatus() != this.getStatus()) fields.add(JobField.STATUS);
+        return fields;
+    }
+
+    // True if [obj] is a job equal to this one in every field outside [ignored].
+    public boolean equalsExcept(Object obj, Set<JobField> ignored) {
+        if (!(obj instanceof JCTJob)) return false;
+        JCTJob job = (JCTJob) obj;
+        return (ignored.contains(JobField.REFERENCE) || Objects.equals(job.getReference(), this.getReference())) &&
+                (ignored.contains(JobField.DESCRIPTION) || Objects.equals(job.getDescription(), this.getDescription())) &&
+                (ignored.contains(JobField.PRICE) || Objects.equals(job.getPrice(), this.getPrice())) &&
+                (ignored.contains(JobField.EXPECTED_END_DATE) || Objects.equals(job.getExpectedEndDate(), this.getExpectedEndDate())) &&
+                (ignored.contains(JobField.COMPLETION) || job.getCompletionBasisPoints() == this.getCompletionBasisPoints()) &&
+                (ignored.contains(JobField.STATUS) || job.getStatus() == this.getStatus());
+    }
+
+    public boolean equalsExcept(Object obj, JobField ignored, JobField... moreIgnored) {
+        return equalsExcept(obj, EnumSet.of(ignored, moreIgnored));
+    }
+
+    /**
+     * @deprecated use [equalsExcept] with [JobField]s. "Amount" compares every field, as it always has; to ignore
+     * the price, use [JobField.PRICE].
+     */
+    @Deprecated
+    public boolean equalsExcept(Object obj, String check) {
+        switch (check) {
+            case "Amount": return equals(obj);
+            case "Status": return equalsExcept(obj, JobField.STATUS);
+            case "Reference": return equalsExcept(obj, JobField.REFERENCE);
+            case "Description": return equalsExcept(obj, JobField.DESCRIPTION);
+            case "Expected": return equalsExcept(obj, JobField.EXPECTED_END_DATE);
+            case "Percentage": return equalsExcept(obj, JobField.COMPLETION);
+            default: return false;
+        }
+    }
+
     public boolean equals(Object obj) {
-        boolean flag = false;
-        if (obj instanceof JCTJob) {
-            JCTJob job = (JCTJob) obj;
-            if (job.getAmount().equals(this.getAmount()) &&
-                job.getStatus().equals(this.getStatus()) &&
-                job.getReference().equals(this.getReference()) &&
-                job.getDescription().equals(this.getDescription()) &&
-                job.getExpectedEndDate().equals(this.getExpectedEndDate()) &&
-                job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                flag = true;
-            }
+        if (this == obj) return true;
+        if (!(obj instanceof JCTJob)) return false;
+        JCTJob job = (JCTJob) obj;
+        // Both hashes already worked out and different: the jobs can't be equal.
+        if (hash != 0 && job.hash != 0 && hash != job.hash) return false;
+        return job.getCompletionBasisPoints() == this.getCompletionBasisPoints() &&
+                job.getStatus() == this.getStatus() &&
+                Objects.equals(job.getPrice(), this.getPrice()) &&
+                Objects.equals(job.getExpectedEndDate(), this.getExpectedEndDate()) &&
+                Objects.equals(job.getReference(), this.getReference()) &&
+                Objects.equals(job.getDescription(), this.getDescription());
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(reference, description, price, expectedEndDate, completionBasisPoints, status);
+            hash = h;
         }
-        return flag;
+        return h;
     }
 
-    public boolean equalsExcept(Object obj, String check) {
-        boolean flag = false;
-        if (obj instanceof JCTJob) {
-            JCTJob job = (JCTJob) obj;
-            if (check.equals("Amount") &&
-                job.getAmount().equals(this.getAmount()) &&
-                job.getStatus().equals(this.getStatus()) &&
-                job.getReference().equals(this.getReference()) &&
-                job.getDescription().equals(this.getDescription()) &&
-                job.getExpectedEndDate().equals(this.getExpectedEndDate()) &&
-                job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                    flag = true;
-            }
-            if (check.equals("Status") &&
-                    job.getAmount().equals(this.getAmount()) &&
-                    job.getReference().equals(this.getReference()) &&
-                    job.getDescription().equals(this.getDescription()) &&
-                    job.getExpectedEndDate().equals(this.getExpectedEndDate()) &&
-                    job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                flag = true;
-            }
-            if (check.equals("Reference") &&
-                    job.getAmount().equals(this.getAmount()) &&
-                    job.getStatus().equals(this.getStatus()) &&
-                    job.getDescription().equals(this.getDescription()) &&
-                    job.getExpectedEndDate().equals(this.getExpectedEndDate()) &&
-                    job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                flag = true;
-            }
-            if (check.equals("Description") &&
-                    job.getAmount().equals(this.getAmount()) &&
-                    job.getStatus().equals(this.getStatus()) &&
-                    job.getReference().equals(this.getReference()) &&
-                    job.getExpectedEndDate().equals(this.getExpectedEndDate()) &&
-                    job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                flag = true;
-            }
-            if (check.equals("Expected") &&
-                    job.getAmount().equals(this.getAmount()) &&
-                    job.getStatus().equals(this.getStatus()) &&
-                    job.getReference().equals(this.getReference()) &&
-                    job.getDescription().equals(this.getDescription()) &&
-                    job.getPercentageComplete().equals(this.getPercentageComplete())) {
-                flag = true;
-            }
-            if (check.equals("Percentage") &&
-                    job.getAmount().equals(this.getAmount()) &&
-                    job.getStatus().equals(this.getStatus()) &&
-                    job.getReference().equals(this.getReference()) &&
-                    job.getDescription().equals(this.getDescription()) &&
-                    job.getExpectedEndDate().equals(this.getExpectedEndDate())) {
-                flag = true;
+    /**
+     * True if [other] has the same content as this job, comparing cached digests when both jobs already have one
+     * and falling back to [equals] otherwise.
+     */
+    public boolean sameContentAs(JCTJob other) {
+        if (this == other) return true;
+        SecureHash mine = contentDigest;
+        SecureHash theirs = other.contentDigest;
+        if (mine != null && theirs != null) return mine.equals(theirs);
+        return equals(other);
+    }
+
+    /**
+     * A SHA-256 digest over a canonical encoding of every field, worked out once per instance. The encoding starts
+     * with a zero byte so the digest can serve directly as a leaf of [com.template.contracts.JobMerkleTree].
+     *
+     * Every field is written as a length-prefixed block, a null field as a length of -1. Strings are UTF-8, the
+     * price is its minor units as a long followed by its currency code, the end date is its epoch day as a long,
+     * the completion is its basis points as an int and the status is its name, so the digest never depends on how
+     * any of these types print themselves or on the order of the status enum.
+     */
+    public SecureHash getContentDigest() {
+        SecureHash digest = contentDigest;
+        if (digest == null) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(0);
+                writeField(out, utf8(reference));
+                writeField(out, utf8(description));
+                writeField(out, price == null ? null : longBytes(price.getMinorUnits()));
+                writeField(out, price == null ? null : utf8(price.getCurrency()));
+                writeField(out, expectedEndDate == null ? null : longBytes(expectedEndDate.toEpochDay()));
+                writeField(out, ByteBuffer.allocate(Integer.BYTES).putInt(completionBasisPoints).array());
+                writeField(out, status == null ? null : utf8(status.name()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+            digest = SecureHash.sha256(bytes.toByteArray());
+            contentDigest = digest;
         }
-        return flag;
+        return digest;
+    }
+
+    // Length-prefixed so that no two different field lists encode to the same bytes.
+    private static void writeField(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.template.states;
+
+import com.template.contracts.JCTJobContract;
+import net.corda.core.contracts.BelongsToContract;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.LinearState;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.AbstractParty;
+import net.corda.core.identity.Party;
+import net.corda.core.serialization.ConstructorForDeserialization;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+// *********
+// * State *
+// *********
+// A single [JCTJob] of a schedule held as its own linear state. The schedule's [ScheduleClauseState] is only
+// referenced by these states, so jobs of the same schedule can progress in parallel.
+@BelongsToContract(JCTJobContract.class)
+public class JCTJobState implements ContractState, LinearState {
+    private final UniqueIdentifier linearId;
+    private final UniqueIdentifier scheduleId;
+    private final List<Party> employers;
+    private final List<Party> contractors;
+    private final JCTJob job;
+
+    @ConstructorForDeserialization
+    public JCTJobState(UniqueIdentifier linearId, UniqueIdentifier scheduleId, List<Party> employers, List<Party> contractors, JCTJob job) {
+        this.linearId = linearId;
+        this.scheduleId = scheduleId;
+        this.employers = employers;
+        this.contractors = contractors;
+        this.job = job;
+    }
+
+    public JCTJobState(ScheduleClauseState schedule, JCTJob job) {
+        this(new UniqueIdentifier(), schedule.getLinearId(), schedule.getEmployers(), schedule.getContractors(), job);
+    }
+
+    @NotNull
+    @Override
+    public UniqueIdentifier getLinearId() {
+        return this.linearId;
+    }
+
+    @NotNull
+    @Override
+    public List<AbstractParty> getParticipants() {
+        final List<AbstractParty> parts = new ArrayList<>();
+        if (employers != null) parts.addAll(employers);
+        if (contractors != null) parts.addAll(contractors);
+        return parts;
+    }
+
+    public UniqueIdentifier getScheduleId() { return scheduleId; }
+
+    public List<Party> getEmployers() { return employers; }
+
+    public List<Party> getContractors() { return contractors; }
+
+    public JCTJob getJob() { return job; }
+
+    // Same job state (and linearId) holding an updated job.
+    public JCTJobState withJob(JCTJob job) {
+        return new JCTJobState(this.linearId, this.scheduleId, this.employers, this.contractors, job);
+    }
+
+    // True if this job state belongs to [schedule] and is shared by the same parties.
+    public boolean belongsTo(ScheduleClauseState schedule) {
+        return Objects.equals(schedule.getLinearId(), this.scheduleId) &&
+                Objects.equals(schedule.getEmployers(), this.employers) &&
+                Objects.equals(schedule.getContractors(), this.contractors);
+    }
+
+    public boolean equals(Object obj) {
+        boolean flag = false;
+        if (obj instanceof JCTJobState) {
+            JCTJobState state = (JCTJobState) obj;
+            if (Objects.equals(state.getLinearId(), this.getLinearId()) &&
+                    Objects.equals(state.getScheduleId(), this.getScheduleId()) &&
+                    Objects.equals(state.getEmployers(), this.getEmployers()) &&
+                    Objects.equals(state.getContractors(), this.getContractors()) &&
+                    Objects.equals(state.getJob(), this.getJob())) {
+                flag = true;
+            }
+        }
+        return flag;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(linearId, scheduleId);
+    }
+}
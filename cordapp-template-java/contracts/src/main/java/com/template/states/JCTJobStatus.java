@@ -1,8 +1,11 @@
 package com.template.states;
 
 import net.corda.core.serialization.CordaSerializable;
+import net.corda.core.serialization.CordaSerializationTransformEnumDefault;
 
 @CordaSerializable
+// Nodes that predate SPLIT read it as PENDING, the status a job has when it is split out.
+@CordaSerializationTransformEnumDefault(newName = "SPLIT", oldName = "PENDING")
 public enum JCTJobStatus {
     PENDING,
     IN_PROGRESS,
@@ -10,6 +13,8 @@ public enum JCTJobStatus {
     CONFIRMED,
     DATE_AMENDMENT_REQUESTED,
     AMOUNT_AMENDMENT_REQUESTED,
+    // Moved out of the schedule into its own [JCTJobState]; the schedule no longer moves it.
+    SPLIT,
 //    PAID,
 //    ON_ACCOUNT_PAYMENT
 }
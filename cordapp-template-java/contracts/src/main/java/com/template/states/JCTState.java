@@ -1,18 +1,27 @@
 package com.template.states;
 
 import com.template.contracts.JCTContract;
+import com.template.schema.JCTParticipantRole;
+import com.template.schema.JCTSchemaV2;
+import com.template.schema.PersistentJCTParticipant;
+import com.template.schema.PersistentJCTProject;
 import net.corda.core.contracts.BelongsToContract;
 import net.corda.core.contracts.ContractState;
 import net.corda.core.contracts.LinearState;
 import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.crypto.CryptoUtils;
 import net.corda.core.identity.AbstractParty;
 import net.corda.core.identity.Party;
+import net.corda.core.schemas.MappedSchema;
+import net.corda.core.schemas.PersistentState;
+import net.corda.core.schemas.QueryableState;
 import net.corda.core.serialization.ConstructorForDeserialization;
 import org.jetbrains.annotations.NotNull;
 
 import java.security.PublicKey;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,7 +29,7 @@ import java.util.stream.Collectors;
 // * State *
 // *********
 @BelongsToContract(JCTContract.class)
-public class JCTState implements ContractState, LinearState {
+public class JCTState implements ContractState, LinearState, QueryableState {
 
     private Instant issuanceDate;
     private final UniqueIdentifier linearId;
@@ -46,6 +55,10 @@ public class JCTState implements ContractState, LinearState {
         this.clauses = clauses;
     }
 
+    public JCTState(String projectName, List<Party> employer, List<Party> contractor) {
+        this(projectName, employer, contractor, new ArrayList<>());
+    }
+
     // JCT-based state
     public JCTState copy() {
         return new JCTState(this.projectName, this.employer, this.contractor, this.clauses);
@@ -88,6 +101,31 @@ public class JCTState implements ContractState, LinearState {
     @NotNull
     @Override
     public UniqueIdentifier getLinearId() {
-        return null;
+        return this.linearId;
+    }
+
+    @Override
+    public Iterable<MappedSchema> supportedSchemas() {
+        return Collections.singletonList(new JCTSchemaV2());
+    }
+
+    @Override
+    public PersistentState generateMappedObject(MappedSchema schema) {
+        if (schema instanceof JCTSchemaV2) {
+            final List<PersistentJCTParticipant> participants = new ArrayList<>();
+            addParticipants(participants, JCTParticipantRole.EMPLOYER, employer);
+            addParticipants(participants, JCTParticipantRole.CONTRACTOR, contractor);
+            return new PersistentJCTProject(this.linearId.getId(), this.projectName, participants);
+        } else {
+            throw new IllegalArgumentException("Unrecognised schema " + schema);
+        }
+    }
+
+    private static void addParticipants(List<PersistentJCTParticipant> rows, JCTParticipantRole role, List<Party> parties) {
+        if (parties == null) return;
+        parties.forEach(party -> rows.add(new PersistentJCTParticipant(
+                role,
+                party.getName().toString(),
+                CryptoUtils.toStringShort(party.getOwningKey()))));
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.template.states;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The deadlines of a schedule's outstanding jobs, sorted once by [JCTJob.getExpectedEndDate]. The earliest deadline
+ * is read in O(1), and the jobs overdue on a date, or the next deadline from a date, are found by binary search in
+ * O(log n), plus O(k) to list the k jobs overdue. Built once per state and never changed: a state's jobs are immutable.
+ */
+public class JobDeadlines {
+
+    private final List<JCTJob> jobs;
+    // Positions in [jobs] of the outstanding jobs with a deadline, earliest first.
+    private final int[] sorted;
+
+    public JobDeadlines(List<JCTJob> jobs) {
+        this.jobs = jobs;
+        final List<Integer> outstanding = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (isOutstanding(jobs.get(i))) {
+                outstanding.add(i);
+            }
+        }
+        // A stable sort, so jobs due on the same day keep their order in the schedule.
+        outstanding.sort(Comparator.comparing((Integer index) -> jobs.get(index).getExpectedEndDate()));
+        this.sorted = outstanding.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // A job is outstanding until it is completed; only outstanding jobs with an expected end date can overrun.
+    public static boolean isOutstanding(JCTJob job) {
+        return job.getExpectedEndDate() != null &&
+                job.getStatus() != JCTJobStatus.COMPLETED &&
+                job.getStatus() != JCTJobStatus.CONFIRMED &&
+                job.getStatus() != JCTJobStatus.SPLIT;
+    }
+
+    // The instant a job due on [expectedEndDate] becomes overdue: the end of that day, UTC.
+    public static Instant overdueAt(LocalDate expectedEndDate) {
+        return expectedEndDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    // The earliest expected end date of an outstanding job, or null if there is none.
+    public LocalDate earliest() {
+        return sorted.length == 0 ? null : deadlineAt(0);
+    }
+
+    // The earliest expected end date of an outstanding job on or after [date], or null if there is none.
+    public LocalDate nextOnOrAfter(LocalDate date) {
+        final int position = firstOnOrAfter(date);
+        return position == sorted.length ? null : deadlineAt(position);
+    }
+
+    // The outstanding jobs expected to have ended before [date], earliest first.
+    public List<JCTJob> overdueOn(LocalDate date) {
+        final int count = firstOnOrAfter(date);
+        final List<JCTJob> overdue = new ArrayList<>(count);
+        for (int position = 0; position < count; position++) {
+            overdue.add(jobs.get(sorted[position]));
+        }
+        return overdue;
+    }
+
+    private LocalDate deadlineAt(int position) {
+        return jobs.get(sorted[position]).getExpectedEndDate();
+    }
+
+    // The position in [sorted] of the first deadline on or after [date], or its length if there is none.
+    private int firstOnOrAfter(LocalDate date) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (deadlineAt(mid).isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,11 @@
+package com.template.states;
+
+// The fields of a [JCTJob], used to say which fields a comparison may ignore.
+public enum JobField {
+    REFERENCE,
+    DESCRIPTION,
+    PRICE,
+    EXPECTED_END_DATE,
+    COMPLETION,
+    STATUS
+}
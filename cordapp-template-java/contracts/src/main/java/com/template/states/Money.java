@@ -0,0 +1,118 @@
+package com.template.states;
+
+import net.corda.core.serialization.ConstructorForDeserialization;
+import net.corda.core.serialization.CordaSerializable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+// *******************************
+// * MONEY: An exact amount in   *
+// *   the currency's minor unit *
+// *******************************
+
+// Amounts are held as a long count of minor units (pence for GBP) so that sums, retention and cumulative values
+// are exact and serialise as two primitives instead of a described Double.
+@CordaSerializable
+public final class Money implements Comparable<Money> {
+    public static final String DEFAULT_CURRENCY = "GBP";
+    // Basis points in one hundred percent.
+    public static final int FULL_BASIS_POINTS = 10_000;
+
+    private final long minorUnits;
+    private final String currency;
+
+    @ConstructorForDeserialization
+    public Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_CURRENCY);
+    }
+
+    // Converts a major-unit amount such as 12.50, rounding half-up to the nearest minor unit. Returns null for null.
+    public static Money ofMajor(Double amount) {
+        return amount == null ? null : ofMajor(amount, DEFAULT_CURRENCY);
+    }
+
+    public static Money ofMajor(double amount, String currency) {
+        long minor = BigDecimal.valueOf(amount).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        return new Money(minor, currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0L, currency);
+    }
+
+    public long getMinorUnits() { return minorUnits; }
+
+    public String getCurrency() { return currency; }
+
+    public double toMajor() {
+        return minorUnits / 100.0;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    // The given share of this amount, rounded half-up to the nearest minor unit.
+    public Money percentage(int basisPoints) {
+        long scaled = Math.multiplyExact(minorUnits, (long) basisPoints);
+        long rounded = Math.floorDiv(scaled + FULL_BASIS_POINTS / 2, FULL_BASIS_POINTS);
+        return new Money(rounded, currency);
+    }
+
+    // Converts a percentage such as 2.5 into basis points (250). Null is treated as zero.
+    public static int toBasisPoints(Double percentage) {
+        if (percentage == null) return 0;
+        return BigDecimal.valueOf(percentage).movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    public static double fromBasisPoints(int basisPoints) {
+        return basisPoints / 100.0;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " with " + other.currency);
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Money)) return false;
+        Money money = (Money) obj;
+        return minorUnits == money.minorUnits && Objects.equals(currency, money.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + Objects.hashCode(currency);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(minorUnits, 2).toPlainString() + " " + currency;
+    }
+}
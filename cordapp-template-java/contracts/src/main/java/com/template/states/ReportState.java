@@ -1,18 +1,25 @@
 package com.template.states;
 
 import com.template.contracts.ReportContract;
+import com.template.schema.PersistentReport;
+import com.template.schema.ReportSchemaV1;
 import net.corda.core.contracts.BelongsToContract;
 import net.corda.core.contracts.ContractState;
 import net.corda.core.contracts.LinearState;
 import net.corda.core.contracts.UniqueIdentifier;
 import net.corda.core.identity.AbstractParty;
 import net.corda.core.identity.Party;
+import net.corda.core.schemas.MappedSchema;
+import net.corda.core.schemas.PersistentState;
+import net.corda.core.schemas.QueryableState;
 import net.corda.core.serialization.ConstructorForDeserialization;
+import net.corda.core.serialization.DeprecatedConstructorForDeserialization;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -20,37 +27,36 @@ import java.util.Objects;
 // * State *
 // *********
 @BelongsToContract(ReportContract.class)
-public class ReportState implements ContractState, LinearState {
+public class ReportState implements ContractState, LinearState, QueryableState {
     private final UniqueIdentifier linearId;
     private final String jctJobReference;
     private final Instant dateOfSurvey;
     private final LocalDate requestedCompletionDate;
-    private final Double requestedContractSum;
+    private final Money requestedValue;
     private final String reportBody;
     private final ReportStatus status;
     private final List<Party> reporters;
 
     @ConstructorForDeserialization
-    public ReportState(UniqueIdentifier linearId, String jctJobReference, Instant dateOfSurvey, LocalDate requestedCompletionDate, Double requestedContractSum, String reportBody, ReportStatus status, List<Party> reporters) {
+    public ReportState(UniqueIdentifier linearId, String jctJobReference, Instant dateOfSurvey, LocalDate requestedCompletionDate, Money requestedValue, String reportBody, ReportStatus status, List<Party> reporters) {
         this.linearId = linearId;
         this.jctJobReference = jctJobReference;
         this.dateOfSurvey = dateOfSurvey;
         this.requestedCompletionDate = requestedCompletionDate;
-        this.requestedContractSum = requestedContractSum;
+        this.requestedValue = requestedValue;
         this.reportBody = reportBody;
         this.status = status;
         this.reporters = reporters;
     }
 
+    // Reports recorded with a Double requested contract sum.
+    @DeprecatedConstructorForDeserialization(version = 1)
+    public ReportState(UniqueIdentifier linearId, String jctJobReference, Instant dateOfSurvey, LocalDate requestedCompletionDate, Double requestedContractSum, String reportBody, ReportStatus status, List<Party> reporters) {
+        this(linearId, jctJobReference, dateOfSurvey, requestedCompletionDate, Money.ofMajor(requestedContractSum), reportBody, status, reporters);
+    }
+
     public ReportState(ReportStatus status, String jctJobReference, Instant dateOfSurvey, LocalDate requestedCompletionDate, Double requestedContractSum, String reportBody, List<Party> reporters) {
-        this.requestedCompletionDate = requestedCompletionDate;
-        this.requestedContractSum = requestedContractSum;
-        this.linearId = new UniqueIdentifier();
-        this.status = status;
-        this.jctJobReference = jctJobReference;
-        this.dateOfSurvey = dateOfSurvey;
-        this.reportBody = reportBody;
-        this.reporters = reporters;
+        this(new UniqueIdentifier(), jctJobReference, dateOfSurvey, requestedCompletionDate, Money.ofMajor(requestedContractSum), reportBody, status, reporters);
     }
 
 //    public ReportState copy() {
@@ -87,12 +93,33 @@ public class ReportState implements ContractState, LinearState {
         return false;
     }
 
+    @Override
+    public Iterable<MappedSchema> supportedSchemas() {
+        return Collections.singletonList(new ReportSchemaV1());
+    }
+
+    @Override
+    public PersistentState generateMappedObject(MappedSchema schema) {
+        if (schema instanceof ReportSchemaV1) {
+            return new PersistentReport(
+                    this.linearId.getId(),
+                    this.jctJobReference,
+                    this.status == null ? null : this.status.name(),
+                    this.dateOfSurvey,
+                    this.requestedCompletionDate,
+                    this.requestedValue == null ? null : this.requestedValue.getMinorUnits(),
+                    this.requestedValue == null ? null : this.requestedValue.getCurrency());
+        } else {
+            throw new IllegalArgumentException("Unrecognised schema " + schema);
+        }
+    }
+
     public class ReportBuilder {
         private UniqueIdentifier linearId;
         private String jctJobReference;
         private Instant dateOfSurvey;
         private LocalDate requestedCompletionDate;
-        private Double requestedContractSum;
+        private Money requestedValue;
         private String reportBody;
         private ReportStatus status;
         private List<Party> reporters;
@@ -102,7 +129,7 @@ public class ReportState implements ContractState, LinearState {
             this.jctJobReference = origin.getJctJobReference();
             this.dateOfSurvey = origin.getDateOfSurvey();
             this.requestedCompletionDate = origin.getRequestedCompletionDate();
-            this.requestedContractSum = origin.getRequestedAmount();
+            this.requestedValue = origin.getRequestedValue();
             this.reportBody = origin.getReportBody();
             this.status = origin.getStatus();
             this.reporters = origin.getReporters();
@@ -123,8 +150,13 @@ public class ReportState implements ContractState, LinearState {
             return this;
         }
 
+        public ReportState.ReportBuilder withRequestedValue(Money requestedValue) {
+            this.requestedValue = requestedValue;
+            return this;
+        }
+
         public ReportState.ReportBuilder withRequestedSum(Double requestedSum) {
-            this.requestedContractSum = requestedSum;
+            this.requestedValue = Money.ofMajor(requestedSum);
             return this;
         }
 
@@ -139,7 +171,7 @@ public class ReportState implements ContractState, LinearState {
         }
 
         public ReportState build() {
-            return new ReportState(this.linearId, this.jctJobReference, this.dateOfSurvey, this.requestedCompletionDate, this.requestedContractSum, this.reportBody, this.status, this.reporters);
+            return new ReportState(this.linearId, this.jctJobReference, this.dateOfSurvey, this.requestedCompletionDate, this.requestedValue, this.reportBody, this.status, this.reporters);
         }
     }
 
@@ -149,7 +181,10 @@ public class ReportState implements ContractState, LinearState {
 
     public LocalDate getRequestedCompletionDate() { return requestedCompletionDate; }
 
-    public Double getRequestedAmount() { return requestedContractSum; }
+    public Money getRequestedValue() { return requestedValue; }
+
+    // The requested sum in major units, for display and for callers that still work in Doubles.
+    public Double getRequestedAmount() { return requestedValue == null ? null : requestedValue.toMajor(); }
 
     public String getJctJobReference() {
         return jctJobReference;
@@ -180,7 +215,7 @@ public class ReportState implements ContractState, LinearState {
                     Objects.equals(report.getReporters(), this.getReporters()) &&
                     Objects.equals(report.getReportBody(), this.getReportBody()) &&
                     Objects.equals(report.getRequestedCompletionDate(), this.getRequestedCompletionDate()) &&
-                    Objects.equals(report.getRequestedAmount(), this.getRequestedAmount())) {
+                    Objects.equals(report.getRequestedValue(), this.getRequestedValue())) {
                             flag = true;
                     }
             }
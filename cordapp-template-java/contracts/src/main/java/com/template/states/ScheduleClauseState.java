@@ -1,19 +1,36 @@
 package com.template.states;
 
 import com.template.contracts.ScheduleClauseContract;
+import com.template.contracts.ScheduleValuation;
+import com.template.schema.PersistentSchedule;
+import com.template.schema.PersistentScheduleJob;
+import com.template.schema.ScheduleSchemaV1;
 import net.corda.core.contracts.BelongsToContract;
 import net.corda.core.contracts.ContractState;
 import net.corda.core.contracts.LinearState;
+import net.corda.core.contracts.SchedulableState;
+import net.corda.core.contracts.ScheduledActivity;
+import net.corda.core.contracts.StateRef;
 import net.corda.core.contracts.UniqueIdentifier;
 import net.corda.core.identity.AbstractParty;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.flows.FlowLogicRefFactory;
 import net.corda.core.identity.Party;
+import net.corda.core.schemas.MappedSchema;
+import net.corda.core.schemas.PersistentState;
+import net.corda.core.schemas.QueryableState;
 import net.corda.core.serialization.ConstructorForDeserialization;
+import net.corda.core.serialization.DeprecatedConstructorForDeserialization;
 import org.jetbrains.annotations.NotNull;
 
 import java.security.PublicKey;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -21,38 +38,81 @@ import java.util.stream.Collectors;
 // * State *
 // *********
 @BelongsToContract(ScheduleClauseContract.class)
-public class ScheduleClauseState implements ContractState, LinearState {
+public class ScheduleClauseState implements ContractState, LinearState, QueryableState, SchedulableState {
+    // Started on every participant's node when a job overruns; see [nextScheduledActivity].
+    private static final String OVERDUE_FLOW = "com.template.flows.NotifyOverdueJobsFlow";
+
 
     private final UniqueIdentifier linearId;
     private final String projectName;
     private final List<Party> employers;
     private final List<Party> contractors;
-    private Double contractSum;
-    private final Double retentionPercentage;
-    private Boolean allowAccountPayments = true;
-    private Double netCumulateValue = 0.0;
-    private Double previousCumulativeValue = 0.0;
+    private Money contractValue;
+    private final int retentionBasisPoints;
+    private final Boolean allowAccountPayments;
+    // The value of the confirmed jobs, kept up to date by every command that confirms or reprices one.
+    private final Money netCumulativeValue;
+    // The total paid to the contractors so far, net of retention.
+    private final Money previousCumulativeValue;
     private List<JCTJob> jobs;
+    // Set once the jobs are committed to a Merkle root: the jobs then live off-ledger and [jobs] is empty.
+    private final SecureHash jobsRoot;
+    private final Integer committedJobCount;
+    // reference -> position in [jobs], built on the first lookup. Not part of the state's serialised form.
+    private transient Map<String, Integer> jobIndex;
+    // The outstanding jobs' deadlines, built on first use. Not part of the state's serialised form.
+    private transient JobDeadlines jobDeadlines;
 
     @ConstructorForDeserialization
-    public ScheduleClauseState(UniqueIdentifier linearId, String projectName, List<Party> employers, List<Party> contractors, Double contractSum, Double retentionPercentage, List<JCTJob> jobs) {
+    public ScheduleClauseState(UniqueIdentifier linearId, String projectName, List<Party> employers, List<Party> contractors, Money contractValue, int retentionBasisPoints, List<JCTJob> jobs, SecureHash jobsRoot, Integer committedJobCount, Boolean allowAccountPayments, Money netCumulativeValue, Money previousCumulativeValue) {
         this.linearId = linearId;
         this.projectName = projectName;
         this.employers = employers;
         this.contractors = contractors;
-        this.contractSum = contractSum;
-        this.retentionPercentage = retentionPercentage;
+        this.contractValue = contractValue;
+        this.retentionBasisPoints = retentionBasisPoints;
         this.jobs = jobs;
+        this.jobsRoot = jobsRoot;
+        this.committedJobCount = committedJobCount;
+        this.allowAccountPayments = allowAccountPayments;
+        this.netCumulativeValue = netCumulativeValue;
+        this.previousCumulativeValue = previousCumulativeValue;
+    }
+
+    // States recorded before the schedule kept its valuation. The confirmed value is derived from the jobs, as the
+    // sum of the CONFIRMED jobs' prices; a schedule committed to a Merkle root carries no jobs, so its value starts
+    // at zero. Payments weren't recorded on the ledger before then, so the payments made start at zero and the
+    // amount due covers all the confirmed work. Payments on account weren't restricted, so they stay allowed.
+    @DeprecatedConstructorForDeserialization(version = 3)
+    public ScheduleClauseState(UniqueIdentifier linearId, String projectName, List<Party> employers, List<Party> contractors, Money contractValue, int retentionBasisPoints, List<JCTJob> jobs, SecureHash jobsRoot, Integer committedJobCount) {
+        this(linearId, projectName, employers, contractors, contractValue, retentionBasisPoints, jobs, jobsRoot, committedJobCount,
+                true, confirmedValueOf(jobs, contractValue), zeroIn(contractValue));
+    }
+
+    // States recorded with a Double contract sum and retention percentage, before the jobs could be committed to
+    // a Merkle root.
+    @DeprecatedConstructorForDeserialization(version = 1)
+    public ScheduleClauseState(UniqueIdentifier linearId, String projectName, List<Party> employers, List<Party> contractors, Double contractSum, Double retentionPercentage, List<JCTJob> jobs) {
+        this(linearId, projectName, employers, contractors, contractSum, retentionPercentage, jobs, null, null);
+    }
+
+    // States recorded with a Double contract sum and retention percentage.
+    @DeprecatedConstructorForDeserialization(version = 2)
+    public ScheduleClauseState(UniqueIdentifier linearId, String projectName, List<Party> employers, List<Party> contractors, Double contractSum, Double retentionPercentage, List<JCTJob> jobs, SecureHash jobsRoot, Integer committedJobCount) {
+        this(linearId, projectName, employers, contractors, Money.ofMajor(contractSum), Money.toBasisPoints(retentionPercentage), jobs, jobsRoot, committedJobCount);
+    }
+
+    public ScheduleClauseState(String projectName, List<Party> employers, List<Party> contractors, Money contractValue, int retentionBasisPoints, List<JCTJob> jobs) {
+        this(new UniqueIdentifier(), projectName, employers, contractors, contractValue, retentionBasisPoints, jobs, null, null);
+    }
+
+    public ScheduleClauseState(String projectName, List<Party> employers, List<Party> contractors, Money contractValue, int retentionBasisPoints, Boolean allowAccountPayments, List<JCTJob> jobs) {
+        this(new UniqueIdentifier(), projectName, employers, contractors, contractValue, retentionBasisPoints, jobs, null, null,
+                allowAccountPayments, zeroIn(contractValue), zeroIn(contractValue));
     }
 
     public ScheduleClauseState(String projectName, List<Party> employers, List<Party> contractors, Double contractSum, Double retentionPercentage, List<JCTJob> jobs) {
-        this.linearId = new UniqueIdentifier();
-        this.projectName = projectName;
-        this.employers = employers;
-        this.contractors = contractors;
-        this.contractSum = contractSum;
-        this.retentionPercentage = retentionPercentage;
-        this.jobs = jobs;
+        this(projectName, employers, contractors, Money.ofMajor(contractSum), Money.toBasisPoints(retentionPercentage), jobs);
     }
 
 //    public ScheduleEscrowState signDate(Instant issuanceDate) {
@@ -67,7 +127,9 @@ public class ScheduleClauseState implements ContractState, LinearState {
 //        return stateWithSignedDate;
 //    }
 
-    public Double getRetentionPercentage() { return this.retentionPercentage; }
+    public int getRetentionBasisPoints() { return this.retentionBasisPoints; }
+
+    public Double getRetentionPercentage() { return Money.fromBasisPoints(this.retentionBasisPoints); }
 
     public String getProjectName() { return this.projectName; }
 
@@ -112,8 +174,150 @@ public class ScheduleClauseState implements ContractState, LinearState {
         return this.jobs;
     }
 
+    private Map<String, Integer> jobIndex() {
+        Map<String, Integer> index = this.jobIndex;
+        if (index == null) {
+            index = new HashMap<>(jobs == null ? 0 : jobs.size() * 2);
+            if (jobs != null) {
+                for (int i = 0; i < jobs.size(); i++) {
+                    // The first job wins if a reference is repeated; the contract rejects such schedules.
+                    index.putIfAbsent(jobs.get(i).getReference(), i);
+                }
+            }
+            this.jobIndex = index;
+        }
+        return index;
+    }
+
+    // The position of the job with [reference] in [getJobs], or -1 if there is none.
+    public int jobIndexOf(String reference) {
+        Integer index = jobIndex().get(reference);
+        return index == null ? -1 : index;
+    }
+
+    // The job with [reference], or null if there is none.
+    public JCTJob getJob(String reference) {
+        int index = jobIndexOf(reference);
+        return index < 0 ? null : jobs.get(index);
+    }
+
+    public boolean hasUniqueJobReferences() {
+        return jobs == null || jobIndex().size() == jobs.size();
+    }
+
+    public JobDeadlines jobDeadlines() {
+        JobDeadlines deadlines = this.jobDeadlines;
+        if (deadlines == null) {
+            deadlines = new JobDeadlines(jobs == null ? Collections.emptyList() : jobs);
+            this.jobDeadlines = deadlines;
+        }
+        return deadlines;
+    }
+
+    // The outstanding jobs expected to have ended before [date], earliest first.
+    public List<JCTJob> overdueJobs(LocalDate date) {
+        return jobDeadlines().overdueOn(date);
+    }
+
+    // The node's scheduler wakes when the earliest outstanding job overruns. It asks once per state; the flow it
+    // starts hands the state on to the node's OverdueJobsService, which wakes again at each later deadline. A
+    // schedule whose jobs have all completed, or whose jobs are committed off-ledger, schedules nothing.
+    @Override
+    public ScheduledActivity nextScheduledActivity(@NotNull StateRef thisStateRef, @NotNull FlowLogicRefFactory flowLogicRefFactory) {
+        final LocalDate earliest = jobDeadlines().earliest();
+        if (earliest == null) {
+            return null;
+        }
+        return new ScheduledActivity(flowLogicRefFactory.create(OVERDUE_FLOW, thisStateRef), JobDeadlines.overdueAt(earliest));
+    }
+
+    public Money getContractValue() {
+        return this.contractValue;
+    }
+
+    // The contract value in major units, for display and for callers that still work in Doubles.
     public Double getContractSum() {
-        return this.contractSum;
+        return this.contractValue == null ? null : this.contractValue.toMajor();
+    }
+
+    private static Money confirmedValueOf(List<JCTJob> jobs, Money contractValue) {
+        final Money zero = zeroIn(contractValue);
+        return jobs == null ? zero : ScheduleValuation.confirmedValue(jobs, zero.getCurrency());
+    }
+
+    private static Money zeroIn(Money contractValue) {
+        return Money.zero(contractValue == null ? Money.DEFAULT_CURRENCY : contractValue.getCurrency());
+    }
+
+    public Boolean getAllowAccountPayments() { return this.allowAccountPayments; }
+
+    public Money getNetCumulativeValue() { return this.netCumulativeValue; }
+
+    public Money getPreviousCumulativeValue() { return this.previousCumulativeValue; }
+
+    // The share of the confirmed value kept back until the end of the project.
+    public Money getRetentionHeld() {
+        return this.netCumulativeValue.percentage(this.retentionBasisPoints);
+    }
+
+    // What the employers owe for the confirmed work, after retention and the payments already made.
+    public Money getAmountDue() {
+        return this.netCumulativeValue.minus(getRetentionHeld()).minus(this.previousCumulativeValue);
+    }
+
+    public SecureHash getJobsRoot() { return this.jobsRoot; }
+
+    public Integer getCommittedJobCount() { return this.committedJobCount; }
+
+    public boolean isJobsCommitted() { return this.jobsRoot != null; }
+
+    // Whether this schedule is a field-for-field copy of [other], as a reissued schedule must be. Unlike [equals],
+    // which only compares the terms, this also compares the identity, the jobs and the valuation.
+    public boolean isSnapshotOf(ScheduleClauseState other) {
+        return other != null &&
+                this.equals(other) &&
+                Objects.equals(this.linearId, other.linearId) &&
+                Objects.equals(this.employers, other.employers) &&
+                Objects.equals(this.contractors, other.contractors) &&
+                Objects.equals(this.jobs, other.jobs) &&
+                Objects.equals(this.jobsRoot, other.jobsRoot) &&
+                Objects.equals(this.committedJobCount, other.committedJobCount) &&
+                Objects.equals(this.allowAccountPayments, other.allowAccountPayments) &&
+                Objects.equals(this.netCumulativeValue, other.netCumulativeValue) &&
+                Objects.equals(this.previousCumulativeValue, other.previousCumulativeValue);
+    }
+
+    @Override
+    public Iterable<MappedSchema> supportedSchemas() {
+        return Collections.singletonList(new ScheduleSchemaV1());
+    }
+
+    @Override
+    public PersistentState generateMappedObject(MappedSchema schema) {
+        if (schema instanceof ScheduleSchemaV1) {
+            final List<PersistentScheduleJob> persistentJobs = new ArrayList<>();
+            if (jobs != null) {
+                jobs.forEach(job -> persistentJobs.add(new PersistentScheduleJob(
+                        job.getReference(),
+                        job.getDescription(),
+                        job.getPrice() == null ? null : job.getPrice().getMinorUnits(),
+                        job.getPrice() == null ? null : job.getPrice().getCurrency(),
+                        job.getExpectedEndDate(),
+                        job.getCompletionBasisPoints(),
+                        job.getStatus() == null ? null : job.getStatus().name())));
+            }
+            return new PersistentSchedule(
+                    this.linearId.getId(),
+                    this.projectName,
+                    this.contractValue == null ? null : this.contractValue.getMinorUnits(),
+                    this.contractValue == null ? null : this.contractValue.getCurrency(),
+                    this.retentionBasisPoints,
+                    isJobsCommitted() ? this.committedJobCount : persistentJobs.size(),
+                    isJobsCommitted() ? this.jobsRoot.toString() : null,
+                    persistentJobs);
+        } else {
+            throw new IllegalArgumentException("Unrecognised schema " + schema);
+        }
     }
 
     public class ScheduleEscrowStateBuilder {
@@ -123,21 +327,28 @@ public class ScheduleClauseState implements ContractState, LinearState {
         private String projectName;
         private List<Party> employers;
         private List<Party> contractors;
-        private Double contractSum;
-        private Double retentionPercentage;
-        private Boolean allowAccountPayments = true;
-        private Double netCumulateValue = 0.0;
-        private Double previousCumulativeValue = 0.0;
+        private Money contractValue;
+        private int retentionBasisPoints;
         private List<JCTJob> jobs;
+        private SecureHash jobsRoot;
+        private Integer committedJobCount;
+        private Boolean allowAccountPayments;
+        private Money netCumulativeValue;
+        private Money previousCumulativeValue;
 
         public ScheduleEscrowStateBuilder(ScheduleClauseState origin) {
             this.projectName = origin.getProjectName();
             this.linearId = origin.getLinearId();
             this.employers = origin.getEmployers();
             this.contractors = origin.getContractors();
-            this.contractSum = origin.getContractSum();
-            this.retentionPercentage = origin.getRetentionPercentage();
+            this.contractValue = origin.getContractValue();
+            this.retentionBasisPoints = origin.getRetentionBasisPoints();
             this.jobs = origin.getJobs();
+            this.jobsRoot = origin.getJobsRoot();
+            this.committedJobCount = origin.getCommittedJobCount();
+            this.allowAccountPayments = origin.getAllowAccountPayments();
+            this.netCumulativeValue = origin.getNetCumulativeValue();
+            this.previousCumulativeValue = origin.getPreviousCumulativeValue();
         }
 
         public ScheduleClauseState.ScheduleEscrowStateBuilder withEmployers(List<Party> employers) {
@@ -145,13 +356,24 @@ public class ScheduleClauseState implements ContractState, LinearState {
             return this;
         }
 
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withContractValue(Money contractValue) {
+            this.contractValue = contractValue;
+            return this;
+        }
+
         public ScheduleClauseState.ScheduleEscrowStateBuilder withContractSum(Double contractSum) {
-            this.contractSum = contractSum;
+            this.contractValue = contractSum == null ? null : Money.ofMajor(contractSum,
+                    contractValue == null ? Money.DEFAULT_CURRENCY : contractValue.getCurrency());
+            return this;
+        }
+
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withRetentionBasisPoints(int retentionBasisPoints) {
+            this.retentionBasisPoints = retentionBasisPoints;
             return this;
         }
 
         public ScheduleClauseState.ScheduleEscrowStateBuilder withPercentage(Double retentionPercentage) {
-            this.retentionPercentage = retentionPercentage;
+            this.retentionBasisPoints = Money.toBasisPoints(retentionPercentage);
             return this;
         }
 
@@ -160,9 +382,29 @@ public class ScheduleClauseState implements ContractState, LinearState {
             return this;
         }
 
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withJobsRoot(SecureHash jobsRoot, Integer committedJobCount) {
+            this.jobsRoot = jobsRoot;
+            this.committedJobCount = committedJobCount;
+            return this;
+        }
+
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withAllowAccountPayments(Boolean allowAccountPayments) {
+            this.allowAccountPayments = allowAccountPayments;
+            return this;
+        }
+
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withNetCumulativeValue(Money netCumulativeValue) {
+            this.netCumulativeValue = netCumulativeValue;
+            return this;
+        }
+
+        public ScheduleClauseState.ScheduleEscrowStateBuilder withPreviousCumulativeValue(Money previousCumulativeValue) {
+            this.previousCumulativeValue = previousCumulativeValue;
+            return this;
+        }
 
         public ScheduleClauseState build() {
-            return new ScheduleClauseState(this.linearId, this.projectName, this.employers, this.contractors, this.contractSum, this.retentionPercentage, this.jobs);
+            return new ScheduleClauseState(this.linearId, this.projectName, this.employers, this.contractors, this.contractValue, this.retentionBasisPoints, this.jobs, this.jobsRoot, this.committedJobCount, this.allowAccountPayments, this.netCumulativeValue, this.previousCumulativeValue);
         }
     }
 
@@ -175,8 +417,8 @@ public class ScheduleClauseState implements ContractState, LinearState {
         boolean flag = false;
         if (obj instanceof ScheduleClauseState) {
             ScheduleClauseState schedule = (ScheduleClauseState) obj;
-            if (Objects.equals(schedule.getContractSum(), this.getContractSum()) &&
-                    Objects.equals(schedule.getRetentionPercentage(), this.getRetentionPercentage()) &&
+            if (Objects.equals(schedule.getContractValue(), this.getContractValue()) &&
+                    schedule.getRetentionBasisPoints() == this.getRetentionBasisPoints() &&
                     Objects.equals(schedule.getParticipants(), this.getParticipants()) &&
                     Objects.equals(schedule.getProjectName(), this.getProjectName())
                     ) {
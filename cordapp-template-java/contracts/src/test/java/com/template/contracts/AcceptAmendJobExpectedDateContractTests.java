@@ -281,4 +281,27 @@ public class AcceptAmendJobExpectedDateContractTests {
         });
 
     }
-}
\ No newline at end of file
+
+    private ScheduleClauseState withForgedRoot(ScheduleClauseState state) {
+        return state.copyBuilder().withJobsRoot(JobMerkleTree.root(state.getJobs()), state.getJobs().size()).build();
+    }
+
+    @Test
+    public void acceptingADateMustNotCommitTheJobs() {
+        ReportState inputReportState = getRequestReportState(ReportStatus.PROCESSED);
+        ReportState outputReportState = getOutputReportState(ReportStatus.CONSUMED);
+        ScheduleClauseState inputState = getScheduleEscrowState(null);
+        ScheduleClauseState outputState = withForgedRoot(getScheduleEscrowState(inputState));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.input(ReportContract.ID, inputReportState);
+                tx.input(com.template.contracts.ScheduleClauseContract.ID, inputState);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
+                tx.output(ReportContract.ID, outputReportState);
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.AcceptExpectedDateModification(0));
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,164 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+
+public class BatchJobTransitionContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    List<PublicKey> employerSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    JCTJob job1InProgress = job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+    JCTJob job2InProgress = job2.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+    JCTJob job1Completed = job1.copyBuilder().withStatus(JCTJobStatus.COMPLETED).build();
+    JCTJob job2Completed = job2.copyBuilder().withStatus(JCTJobStatus.COMPLETED).build();
+
+    private ScheduleClauseState getScheduleEscrowState(List<JCTJob> jobs) {
+        return new ScheduleClauseState(
+                "Project Title",
+                employers,
+                contractors,
+                1000.0,
+                1.0, jobs);
+    }
+
+    @Test
+    public void startingSeveralJobsShouldWork() {
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1, job2));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(job1InProgress, job2InProgress)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Arrays.asList(0, 1)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void confirmingSeveralJobsShouldWork() {
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1Completed, job2Completed));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(
+                job1.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build(),
+                job2.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build()))
+                .withNetCumulativeValue(inputState.getNetCumulativeValue().plus(job1.getPrice()).plus(job2.getPrice()))
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.ConfirmJobsComplete(Arrays.asList(0, 1)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void everyListedJobMustMakeTheTransition() {
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1Completed, job2InProgress));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(job1InProgress, job2InProgress)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.ContinueJobs(Arrays.asList(0, 1)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("The modified Job should have an input status of COMPLETED.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void unlistedJobsShouldNotBeUpdated() {
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1, job2));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(job1InProgress, job2InProgress)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Collections.singletonList(0)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("All other jobs mustn't be changed");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void jobIndicesMustBeValidAndDistinct() {
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1, job2));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(job1InProgress, job2)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Collections.emptyList()));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("At least one Job should be modified.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Arrays.asList(0, 0)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("A Job can only be modified once per transaction.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Arrays.asList(0, 2)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("The modified Job must exist in the schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void declaringSeveralJobsCompleteNeedsAContractor() {
+        String link = " - Quality Surveyor Link: https://example.com/survey";
+        ScheduleClauseState inputState = getScheduleEscrowState(Arrays.asList(job1InProgress, job2InProgress));
+        ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(
+                job1Completed.copyBuilder().withDescription(job1.getDescription() + link).build(),
+                job2Completed.copyBuilder().withDescription(job2.getDescription() + link).build())).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.DeclareJobsComplete(Arrays.asList(0, 1)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("At least a single contractor should be a required signer.");
+            });
+            l.transaction(tx -> {
+                tx.command(contractor1.getPublicKey(), new ScheduleClauseContract.Commands.DeclareJobsComplete(Arrays.asList(0, 1)));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
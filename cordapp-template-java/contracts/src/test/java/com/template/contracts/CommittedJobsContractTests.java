@@ -0,0 +1,246 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+
+public class CommittedJobsContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    JCTJob job1InProgress = job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+    List<JCTJob> jobs = Arrays.asList(job1, job2);
+    ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0, jobs);
+    ScheduleClauseState committed = schedule.copyBuilder()
+            .withJobs(new ArrayList<>())
+            .withJobsRoot(JobMerkleTree.root(jobs), jobs.size())
+            .build();
+
+    @Test
+    public void committingJobsShouldWork() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CommitJobs());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, committed);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CommitJobs());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, committed.copyBuilder()
+                        .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2)), 2).build());
+                return tx.failsWith("The committed root must be built from the input jobs.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void startingACommittedJobShouldWork() {
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 0);
+        ScheduleClauseState output = committed.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2)), 2)
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.UpdateCommittedJob(job1, job1InProgress, proof, JobTransition.START));
+                tx.input(ScheduleClauseContract.ID, committed);
+                tx.output(ScheduleClauseContract.ID, output);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void oldJobMustBeProvenAgainstTheInputRoot() {
+        JCTJob forgedJob = job1.copyBuilder().withAmount(5000.0).build();
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 0);
+        ScheduleClauseState output = committed.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2)), 2)
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.UpdateCommittedJob(forgedJob, job1InProgress, proof, JobTransition.START));
+                tx.input(ScheduleClauseContract.ID, committed);
+                tx.output(ScheduleClauseContract.ID, output);
+                return tx.failsWith("The old job must be proven to be in the input schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void outputRootMustOnlyReplaceTheProvenJob() {
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 0);
+        JCTJob job2InProgress = job2.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        ScheduleClauseState output = committed.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2InProgress)), 2)
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.UpdateCommittedJob(job1, job1InProgress, proof, JobTransition.START));
+                tx.input(ScheduleClauseContract.ID, committed);
+                tx.output(ScheduleClauseContract.ID, output);
+                return tx.failsWith("The output root must only replace the old job with the new job.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void committedJobUpdatesNeedATransition() {
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 0);
+        ScheduleClauseState output = committed.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2)), 2)
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.UpdateCommittedJob(job1, job1InProgress, proof, null));
+                tx.input(ScheduleClauseContract.ID, committed);
+                tx.output(ScheduleClauseContract.ID, output);
+                return tx.failsWith("A transition must be given.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    List<JCTJob> confirmedJobs = Arrays.asList(
+            job1.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build(),
+            job2.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build());
+    List<PublicKey> employerKeys = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey());
+
+    private ScheduleClauseState committedAndConfirmed(List<JCTJob> committedJobs, Boolean allowAccountPayments) {
+        return new ScheduleClauseState("Project Title", employers, contractors, Money.ofMajor(1000.0),
+                Money.toBasisPoints(1.0), allowAccountPayments, new ArrayList<>()).copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(committedJobs), committedJobs.size())
+                .withNetCumulativeValue(Money.ofMajor(100.0))
+                .build();
+    }
+
+    private ScheduleClauseState paid(ScheduleClauseState schedule) {
+        return schedule.copyBuilder()
+                .withPreviousCumulativeValue(schedule.getPreviousCumulativeValue().plus(schedule.getAmountDue()))
+                .build();
+    }
+
+    @Test
+    public void payingACommittedScheduleShouldWork() {
+        ScheduleClauseState input = committedAndConfirmed(confirmedJobs, false);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(confirmedJobs, 0);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(confirmedJobs.get(0), proof, confirmedJobs));
+                tx.input(ScheduleClauseContract.ID, input);
+                tx.output(ScheduleClauseContract.ID, paid(input));
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, input);
+                tx.output(ScheduleClauseContract.ID, paid(input));
+                return tx.failsWith("Schedules with committed jobs are paid with SendCommittedPayment.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void committedPaymentsOnAccountOnlyProveThePaidJob() {
+        List<JCTJob> partlyConfirmed = Arrays.asList(confirmedJobs.get(0), job2);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(partlyConfirmed, 0);
+        ScheduleClauseState onAccount = committedAndConfirmed(partlyConfirmed, true);
+        ScheduleClauseState notOnAccount = committedAndConfirmed(partlyConfirmed, false);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(partlyConfirmed.get(0), proof, null));
+                tx.input(ScheduleClauseContract.ID, onAccount);
+                tx.output(ScheduleClauseContract.ID, paid(onAccount));
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(partlyConfirmed.get(0), proof, partlyConfirmed));
+                tx.input(ScheduleClauseContract.ID, notOnAccount);
+                tx.output(ScheduleClauseContract.ID, paid(notOnAccount));
+                return tx.failsWith("Payments on account are not allowed before every job is confirmed.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void paidJobMustBeProvenAndConfirmed() {
+        ScheduleClauseState input = committedAndConfirmed(confirmedJobs, true);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(confirmedJobs, 0);
+        JCTJob forgedJob = confirmedJobs.get(0).copyBuilder().withAmount(5000.0).build();
+        List<JCTJob> unconfirmed = Arrays.asList(job1, job2);
+        ScheduleClauseState unconfirmedInput = committedAndConfirmed(unconfirmed, true);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(forgedJob, proof, null));
+                tx.input(ScheduleClauseContract.ID, input);
+                tx.output(ScheduleClauseContract.ID, paid(input));
+                return tx.failsWith("The paid Job must be proven to be in the schedule.");
+            });
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(job1, JobMerkleTree.proof(unconfirmed, 0), null));
+                tx.input(ScheduleClauseContract.ID, unconfirmedInput);
+                tx.output(ScheduleClauseContract.ID, paid(unconfirmedInput));
+                return tx.failsWith("The paid Job should have status: CONFIRMED");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void aCommittedScheduleMustNotCarryItsJobs() {
+        // A forged committed input that still lists its jobs next to the root.
+        ScheduleClauseState carrying = committed.copyBuilder().withJobs(jobs).build();
+        ScheduleClauseState paying = committedAndConfirmed(confirmedJobs, true);
+        ScheduleClauseState payingCarrying = paying.copyBuilder().withJobs(confirmedJobs).build();
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 0);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.UpdateCommittedJob(job1, job1InProgress, proof, JobTransition.START));
+                tx.input(ScheduleClauseContract.ID, carrying);
+                tx.output(ScheduleClauseContract.ID, committed.copyBuilder()
+                        .withJobsRoot(JobMerkleTree.root(Arrays.asList(job1InProgress, job2)), 2).build());
+                return tx.failsWith("The committed schedule must not carry its jobs.");
+            });
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.SendCommittedPayment(
+                        confirmedJobs.get(0), JobMerkleTree.proof(confirmedJobs, 0), null));
+                tx.input(ScheduleClauseContract.ID, payingCarrying);
+                tx.output(ScheduleClauseContract.ID, paid(paying));
+                return tx.failsWith("The committed schedule must not carry its jobs.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
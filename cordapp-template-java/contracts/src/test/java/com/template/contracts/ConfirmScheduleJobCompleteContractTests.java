@@ -47,9 +47,12 @@ public class ConfirmScheduleJobCompleteContractTests {
                     1.0, jobs);
         }
         else {
-            // Copy the state given with updated jobs
+            // Copy the state given with updated jobs, adding the confirmed job to the confirmed value
             jobs = Arrays.asList(job1Complete, job2);
-            return state.copyBuilder().withJobs(jobs).build();
+            return state.copyBuilder()
+                    .withJobs(jobs)
+                    .withNetCumulativeValue(state.getNetCumulativeValue().plus(job1Complete.getPrice()))
+                    .build();
         }
     }
 
@@ -28,6 +28,7 @@ public class CreateScheduleEscrowContractTests {
                     employer1, employer2, contractor1, contractor2);
 
     JobExamples jobFactory = new JobExamples();
+    JCTState header = new JCTState("Project Title", employers, contractors);
 
     private ScheduleClauseState getScheduleEscrow(boolean empIsCon, List<JCTJob> jobs) {
         if (jobs == null) {
@@ -54,8 +55,13 @@ public class CreateScheduleEscrowContractTests {
         ScheduleClauseState outputState = getScheduleEscrow(false,null);
         System.out.println("jobs.isEmpty(): " + outputState.getJobs().isEmpty());
         ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
             l.transaction(tx -> {
                 tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("header");
                 tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
                 return tx.verifies();
             });
@@ -79,14 +85,49 @@ public class CreateScheduleEscrowContractTests {
     }
 
     @Test
-    public void shouldCreateSingleOutputState() {
+    public void shouldCreateSeveralSchedulesInOneTransaction() {
+        ScheduleClauseState outputState1 = getScheduleEscrow(false, null);
+        ScheduleClauseState outputState2 = getScheduleEscrow(false, null);
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("header");
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState1);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState2);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void shouldRejectTheSameScheduleTwice() {
         ScheduleClauseState outputState = getScheduleEscrow(false, null);
         ledger(ledgerServices, l -> {
             l.transaction(tx -> {
                 tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
                 tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
                 tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
-                return tx.failsWith("There should be one output state.");
+                return tx.failsWith("Each new schedule must have its own linear id.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void everyScheduleInABatchIsChecked() {
+        ScheduleClauseState outputState = getScheduleEscrow(false, null);
+        ScheduleClauseState sameParties = getScheduleEscrow(true, null);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, sameParties);
+                return tx.failsWith("The employers and the contractors should be different parties.");
             });
             return Unit.INSTANCE;
         });
@@ -171,4 +212,25 @@ public class CreateScheduleEscrowContractTests {
         });
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void aNewScheduleMustNotBeIssuedCommitted() {
+        ScheduleClauseState outputState = getScheduleEscrow(false, null);
+        ScheduleClauseState committed = outputState.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(outputState.getJobs()), outputState.getJobs().size())
+                .build();
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("header");
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, committed);
+                return tx.failsWith("A new schedule must carry its jobs, not a committed root.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -185,4 +185,23 @@ public class DeclareScheduleJobCompleteContractTests {
         });
 
     }
-}
\ No newline at end of file
+
+    private ScheduleClauseState withForgedRoot(ScheduleClauseState state) {
+        return state.copyBuilder().withJobsRoot(JobMerkleTree.root(state.getJobs()), state.getJobs().size()).build();
+    }
+
+    @Test
+    public void declaringAJobCompleteMustNotCommitTheJobs() {
+        ScheduleClauseState inputState = getScheduleEscrowState(null);
+        ScheduleClauseState outputState = withForgedRoot(getScheduleEscrowState(inputState));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.DeclareJobComplete(0));
+                tx.input(com.template.contracts.ScheduleClauseContract.ID, inputState);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,251 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobState;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+
+public class JCTJobStateContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0, Arrays.asList(job1, job2));
+
+    ScheduleClauseState splitSchedule = schedule.copyBuilder().withJobs(Arrays.asList(
+            job1.copyBuilder().withStatus(JCTJobStatus.SPLIT).build(),
+            job2.copyBuilder().withStatus(JCTJobStatus.SPLIT).build())).build();
+    List<String> jobReferences = Arrays.asList(job1.getReference(), job2.getReference());
+
+    @Test
+    public void issuingJobStatesShouldWork() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(jobReferences));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, splitSchedule);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job2));
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void issuedJobsMustComeFromTheConsumedSchedule() {
+        JCTJob unknownJob = job1.copyBuilder().withDescription("Not in the schedule").build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                return tx.failsWith("The schedule must be the only input.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.reference(ScheduleClauseContract.ID, schedule);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                return tx.failsWith("The schedule must be the only input.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(jobReferences));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, splitSchedule);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, unknownJob));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job2));
+                return tx.failsWith("Issued jobs must be part of the schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void issuedJobsMustBeFlaggedSplitOnTheSchedule() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(jobReferences));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, schedule);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job2));
+                return tx.failsWith("Issued jobs must be flagged SPLIT on the schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void aJobCanOnlyBeIssuedOnce() {
+        ledger(ledgerServices, l -> {
+            // Both contracts reject these, so only the failure is asserted.
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(Arrays.asList(job1.getReference())));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, splitSchedule.copyBuilder().withJobs(Arrays.asList(
+                        job1.copyBuilder().withStatus(JCTJobStatus.SPLIT).build(), job2)).build());
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                return tx.fails();
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(jobReferences));
+                tx.input(ScheduleClauseContract.ID, splitSchedule);
+                tx.output(ScheduleClauseContract.ID, splitSchedule);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job2));
+                return tx.fails();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void aSplitJobCantBeMovedOnTheSchedule() {
+        ScheduleClauseState started = splitSchedule.copyBuilder().withJobs(Arrays.asList(
+                job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build(), splitSchedule.getJobs().get(1))).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(0));
+                tx.input(ScheduleClauseContract.ID, splitSchedule);
+                tx.output(ScheduleClauseContract.ID, started);
+                return tx.failsWith("A job split into its own state can't be moved on the schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void jobCommandsMustBeUnique() {
+        JCTJobState input = new JCTJobState(schedule, job1);
+        JCTJobState output = input.withJob(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, splitSchedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.failsWith("Exactly one JCTJobContract command is required, found 2.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void startingAJobStateShouldWork() {
+        JCTJobState input = new JCTJobState(schedule, job1);
+        JCTJobState output = input.withJob(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, splitSchedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(contractor1.getPublicKey(), new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, splitSchedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.failsWith("The employers and contractors should be required signers.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void jobStateMustBelongToTheReferencedSchedule() {
+        ScheduleClauseState otherSchedule = new ScheduleClauseState("Other Project", employers, contractors, 1000.0, 1.0, splitSchedule.getJobs());
+        JCTJobState input = new JCTJobState(schedule, job1);
+        JCTJobState output = input.withJob(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, otherSchedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.failsWith("The job state must belong to the referenced schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void jobStateMustMakeTheRequestedTransition() {
+        JCTJobState input = new JCTJobState(schedule, job1);
+        JCTJobState output = input.withJob(job1.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, splitSchedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.failsWith("The Job should have an output status of IN_PROGRESS.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void jobStateMustHaveBeenSplitOutOfTheSchedule() {
+        JCTJobState input = new JCTJobState(schedule, job1);
+        JCTJobState output = input.withJob(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Transition(JobTransition.START));
+                tx.reference(ScheduleClauseContract.ID, schedule);
+                tx.input(JCTJobContract.ID, input);
+                tx.output(JCTJobContract.ID, output);
+                return tx.failsWith("The job must have been split out of the referenced schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void splittingJobsMustNotCommitTheJobs() {
+        ScheduleClauseState forged = splitSchedule.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(splitSchedule.getJobs()), splitSchedule.getJobs().size())
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new JCTJobContract.Commands.Issue());
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.SplitJobs(jobReferences));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, forged);
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job1));
+                tx.output(JCTJobContract.ID, new JCTJobState(schedule, job2));
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
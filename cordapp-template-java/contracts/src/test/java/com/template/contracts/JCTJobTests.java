@@ -0,0 +1,85 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JobField;
+import com.template.states.Money;
+import net.corda.core.crypto.SecureHash;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class JCTJobTests {
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+
+    @Test
+    public void equalJobsHaveEqualHashCodes() {
+        JCTJob copy = job1.copyBuilder().build();
+        assertEquals(job1, copy);
+        assertEquals(job1.hashCode(), copy.hashCode());
+
+        Set<JCTJob> jobs = new HashSet<>();
+        jobs.add(job1);
+        assertTrue(jobs.contains(copy));
+        assertFalse(jobs.contains(job2));
+    }
+
+    @Test
+    public void equalsExceptIgnoresOnlyTheGivenFields() {
+        JCTJob started = job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).withDescription("Changed").build();
+        assertEquals(EnumSet.of(JobField.STATUS, JobField.DESCRIPTION), job1.differingFields(started));
+        assertFalse(job1.equalsExcept(started, JobField.STATUS));
+        assertTrue(job1.equalsExcept(started, JobField.STATUS, JobField.DESCRIPTION));
+        assertTrue(job1.equalsExcept(started, EnumSet.of(JobField.STATUS, JobField.DESCRIPTION)));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedAmountCheckComparesEveryField() {
+        JCTJob repriced = job1.copyBuilder().withAmount(51.0).build();
+        assertFalse(job1.equalsExcept(repriced, "Amount"));
+        assertTrue(job1.equalsExcept(job1.copyBuilder().build(), "Amount"));
+        assertTrue(job1.equalsExcept(repriced, JobField.PRICE));
+        assertTrue(job1.equalsExcept(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build(), "Status"));
+    }
+
+    @Test
+    public void contentDigestFollowsContent() {
+        JCTJob copy = job1.copyBuilder().build();
+        assertEquals(job1.getContentDigest(), copy.getContentDigest());
+        assertNotEquals(job1.getContentDigest(), job1.copyBuilder().withAmount(51.0).build().getContentDigest());
+        assertTrue(job1.sameContentAs(copy));
+        assertFalse(job1.sameContentAs(job2));
+    }
+
+    @Test
+    public void contentDigestIsACanonicalEncoding() throws Exception {
+        JCTJob job = new JCTJob("JOB-1", "Foundations", new Money(5_000L, "GBP"), LocalDate.ofEpochDay(18_000),
+                2_500, JCTJobStatus.IN_PROGRESS);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(0);
+            out.writeInt(5); out.write("JOB-1".getBytes(StandardCharsets.UTF_8));
+            out.writeInt(11); out.write("Foundations".getBytes(StandardCharsets.UTF_8));
+            out.writeInt(8); out.writeLong(5_000L);
+            out.writeInt(3); out.write("GBP".getBytes(StandardCharsets.UTF_8));
+            out.writeInt(8); out.writeLong(18_000L);
+            out.writeInt(4); out.writeInt(2_500);
+            out.writeInt(11); out.write("IN_PROGRESS".getBytes(StandardCharsets.UTF_8));
+        }
+        assertEquals(SecureHash.sha256(bytes.toByteArray()), job.getContentDigest());
+
+        JCTJob undated = job.copyBuilder().withExpectedEndDate(null).build();
+        assertNotEquals(job.getContentDigest(), undated.getContentDigest());
+    }
+}
@@ -0,0 +1,42 @@
+package com.template.contracts;
+
+import com.template.schema.JCTParticipantRole;
+import com.template.schema.JCTSchemaV2;
+import com.template.schema.PersistentJCTParticipant;
+import com.template.schema.PersistentJCTProject;
+import com.template.states.JCTState;
+import net.corda.core.crypto.CryptoUtils;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JCTSchemaTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    List<Party> contractors = Collections.singletonList(contractor1.getParty());
+
+    @Test
+    public void everyPartyGetsOneParticipantRowPerRole() {
+        JCTState jct = new JCTState("Project Title", employers, contractors);
+        PersistentJCTProject persisted = (PersistentJCTProject) jct.generateMappedObject(new JCTSchemaV2());
+        assertEquals(jct.getLinearId().getId(), persisted.getLinearId());
+        assertEquals("Project Title", persisted.getProjectName());
+
+        List<PersistentJCTParticipant> participants = persisted.getParticipants();
+        assertEquals(3, participants.size());
+        assertEquals(JCTParticipantRole.EMPLOYER, participants.get(0).getRole());
+        assertEquals(employer1.getName().toString(), participants.get(0).getPartyName());
+        assertEquals(JCTParticipantRole.CONTRACTOR, participants.get(2).getRole());
+        assertEquals(CryptoUtils.toStringShort(contractor1.getPublicKey()), participants.get(2).getKeyHash());
+        assertSame(persisted, participants.get(2).getProject());
+    }
+}
@@ -0,0 +1,83 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JobDeadlines;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class JobDeadlinesTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    List<Party> employers = Collections.singletonList(employer1.getParty());
+    List<Party> contractors = Collections.singletonList(contractor1.getParty());
+
+    private JCTJob job(String reference, LocalDate expectedEndDate, JCTJobStatus status) {
+        return new JCTJob(reference, "Job " + reference, 50.0, expectedEndDate, 0.0, status);
+    }
+
+    private List<String> references(List<JCTJob> jobs) {
+        return jobs.stream().map(JCTJob::getReference).collect(Collectors.toList());
+    }
+
+    List<JCTJob> jobs = Arrays.asList(
+            job("J1", LocalDate.of(2021, 5, 1), JCTJobStatus.IN_PROGRESS),
+            job("J2", LocalDate.of(2021, 1, 1), JCTJobStatus.CONFIRMED),
+            job("J3", LocalDate.of(2021, 3, 1), JCTJobStatus.PENDING),
+            job("J4", LocalDate.of(2021, 2, 1), JCTJobStatus.DATE_AMENDMENT_REQUESTED));
+
+    @Test
+    public void earliestDeadlineSkipsFinishedJobs() {
+        assertEquals(LocalDate.of(2021, 2, 1), new JobDeadlines(jobs).earliest());
+    }
+
+    @Test
+    public void overdueJobsComeEarliestFirst() {
+        JobDeadlines deadlines = new JobDeadlines(jobs);
+        assertEquals(Collections.emptyList(), deadlines.overdueOn(LocalDate.of(2021, 2, 1)));
+        assertEquals(Arrays.asList("J4", "J3"), references(deadlines.overdueOn(LocalDate.of(2021, 4, 1))));
+        assertEquals(Arrays.asList("J4", "J3", "J1"), references(deadlines.overdueOn(LocalDate.of(2022, 1, 1))));
+        // Reading the overdue jobs leaves the deadlines as they were.
+        assertEquals(LocalDate.of(2021, 2, 1), deadlines.earliest());
+    }
+
+    @Test
+    public void theNextDeadlineIsTheFirstOnOrAfterADate() {
+        JobDeadlines deadlines = new JobDeadlines(jobs);
+        assertEquals(LocalDate.of(2021, 2, 1), deadlines.nextOnOrAfter(LocalDate.of(2020, 1, 1)));
+        assertEquals(LocalDate.of(2021, 3, 1), deadlines.nextOnOrAfter(LocalDate.of(2021, 2, 2)));
+        assertEquals(LocalDate.of(2021, 3, 1), deadlines.nextOnOrAfter(LocalDate.of(2021, 3, 1)));
+        assertNull(deadlines.nextOnOrAfter(LocalDate.of(2021, 5, 2)));
+    }
+
+    @Test
+    public void aJobIsOverdueFromTheEndOfItsExpectedEndDate() {
+        assertEquals(Instant.parse("2021-02-02T00:00:00Z"), JobDeadlines.overdueAt(LocalDate.of(2021, 2, 1)));
+    }
+
+    @Test
+    public void finishedAndCommittedSchedulesHaveNoDeadline() {
+        List<JCTJob> finished = Collections.singletonList(job("J1", LocalDate.of(2021, 1, 1), JCTJobStatus.COMPLETED));
+        assertNull(new JobDeadlines(finished).earliest());
+
+        ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 5.0, jobs);
+        ScheduleClauseState committed = schedule.copyBuilder()
+                .withJobs(Collections.emptyList())
+                .withJobsRoot(JobMerkleTree.root(jobs), jobs.size())
+                .build();
+        assertEquals(Arrays.asList("J4", "J3"), references(schedule.overdueJobs(LocalDate.of(2021, 4, 1))));
+        assertNull(committed.jobDeadlines().earliest());
+    }
+}
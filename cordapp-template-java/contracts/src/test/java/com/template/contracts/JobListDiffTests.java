@@ -0,0 +1,53 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JobListDiffTests {
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    JCTJob job1InProgress = job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+    JCTJob job2InProgress = job2.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+
+    @Test
+    public void identicalListsHaveNoChanges() {
+        List<JCTJob> jobs = Arrays.asList(job1, job2);
+        JobListDiff diff = JobListDiff.between(jobs, Arrays.asList(job1.copyBuilder().build(), job2));
+        assertEquals(0, diff.changedCount());
+        assertTrue(diff.unchangedExcept(0));
+        assertTrue(diff.unchangedExcept(Collections.emptyList()));
+    }
+
+    @Test
+    public void singleChangeIsOnlyAllowedAtItsIndex() {
+        JobListDiff diff = JobListDiff.between(Arrays.asList(job1, job2), Arrays.asList(job1InProgress, job2));
+        assertEquals(Collections.singleton(0), diff.getChangedIndices());
+        assertTrue(diff.isChanged(0));
+        assertTrue(diff.unchangedExcept(0));
+        assertFalse(diff.unchangedExcept(1));
+    }
+
+    @Test
+    public void multipleChangesAreReported() {
+        JobListDiff diff = JobListDiff.between(Arrays.asList(job1, job2), Arrays.asList(job1InProgress, job2InProgress));
+        assertEquals(2, diff.changedCount());
+        assertFalse(diff.unchangedExcept(0));
+        assertTrue(diff.unchangedExcept(Arrays.asList(0, 1)));
+    }
+
+    @Test
+    public void addingOrRemovingJobsIsAChange() {
+        JobListDiff diff = JobListDiff.between(Arrays.asList(job1, job2), Collections.singletonList(job1));
+        assertFalse(diff.sameSize());
+        assertFalse(diff.unchangedExcept(1));
+        assertFalse(diff.unchangedExcept(Arrays.asList(0, 1)));
+    }
+}
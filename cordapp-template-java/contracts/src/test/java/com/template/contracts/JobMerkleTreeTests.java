@@ -0,0 +1,65 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import net.corda.core.crypto.SecureHash;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JobMerkleTreeTests {
+
+    private List<JCTJob> jobs(int count) {
+        List<JCTJob> jobs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            jobs.add(new JCTJob("J" + i, "Job " + i, 50.0, LocalDate.of(2021, 1, 1), 0.0, JCTJobStatus.PENDING));
+        }
+        return jobs;
+    }
+
+    @Test
+    public void everyJobHasAValidProof() {
+        for (int count = 1; count <= 9; count++) {
+            List<JCTJob> jobs = jobs(count);
+            SecureHash root = JobMerkleTree.root(jobs);
+            for (int i = 0; i < count; i++) {
+                JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, i);
+                assertEquals(root, JobMerkleTree.rootFromProof(jobs.get(i), proof));
+            }
+        }
+    }
+
+    @Test
+    public void replacingALeafMatchesTheRebuiltTree() {
+        List<JCTJob> jobs = jobs(7);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 6);
+        JCTJob started = jobs.get(6).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        List<JCTJob> updated = new ArrayList<>(jobs);
+        updated.set(6, started);
+        assertEquals(JobMerkleTree.root(updated), JobMerkleTree.rootFromProof(started, proof));
+        assertNotEquals(JobMerkleTree.root(jobs), JobMerkleTree.rootFromProof(started, proof));
+    }
+
+    @Test
+    public void proofsForOtherPositionsOrSizesDoNotVerify() {
+        List<JCTJob> jobs = jobs(4);
+        SecureHash root = JobMerkleTree.root(jobs);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, 1);
+        assertNotEquals(root, JobMerkleTree.rootFromProof(jobs.get(2), proof));
+        assertNull(JobMerkleTree.rootFromProof(jobs.get(1), new JobMerkleTree.Proof(1, 4, Collections.emptyList())));
+        assertNull(JobMerkleTree.rootFromProof(jobs.get(1), new JobMerkleTree.Proof(1, 2, proof.getSiblings())));
+    }
+
+    @Test
+    public void duplicatedTrailingJobChangesTheRoot() {
+        List<JCTJob> three = jobs(3);
+        List<JCTJob> four = new ArrayList<>(three);
+        four.add(three.get(2));
+        assertNotEquals(JobMerkleTree.root(three), JobMerkleTree.root(four));
+    }
+}
@@ -0,0 +1,99 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+import static org.junit.Assert.*;
+
+public class JobReferenceContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    JCTJob job2InProgress = job2.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+    ScheduleClauseState inputState = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0, Arrays.asList(job1, job2));
+    ScheduleClauseState outputState = inputState.copyBuilder().withJobs(Arrays.asList(job1, job2InProgress)).build();
+
+    @Test
+    public void jobsCanBeLookedUpByReference() {
+        assertEquals(1, inputState.jobIndexOf(job2.getReference()));
+        assertEquals(job2, inputState.getJob(job2.getReference()));
+        assertEquals(-1, inputState.jobIndexOf("missing"));
+        assertNull(inputState.getJob("missing"));
+    }
+
+    @Test
+    public void commandsCanAddressJobsByReference() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(null, job2.getReference()));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(1, job2.getReference()));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void referenceMustMatchAJobAndItsIndex() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(null, "missing"));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("The modified Job must exist in the schedule.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(0, job2.getReference()));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("The modified Job must exist in the schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void scheduleJobReferencesMustBeUnique() {
+        JCTJob duplicate = job2.copyBuilder().withDescription("Same reference as the first job").build();
+        ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0,
+                Arrays.asList(job2, duplicate));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("Job references must be unique.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
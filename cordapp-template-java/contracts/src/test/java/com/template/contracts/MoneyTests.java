@@ -0,0 +1,52 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class MoneyTests {
+
+    @Test
+    public void majorAmountsAreRoundedToMinorUnits() {
+        assertEquals(1250L, Money.ofMajor(12.5).getMinorUnits());
+        assertEquals(1L, Money.ofMajor(0.005).getMinorUnits());
+        assertEquals(30L, Money.ofMajor(0.1).plus(Money.ofMajor(0.2)).getMinorUnits());
+        assertNull(Money.ofMajor((Double) null));
+    }
+
+    @Test
+    public void retentionIsExact() {
+        Money contractValue = Money.ofMajor(1000.0);
+        assertEquals(Money.ofMajor(25.0), contractValue.percentage(Money.toBasisPoints(2.5)));
+        assertEquals(Money.ofMinor(1), Money.ofMinor(33).percentage(Money.toBasisPoints(3.0)));
+    }
+
+    @Test
+    public void currenciesCannotBeMixed() {
+        try {
+            Money.ofMajor(1.0, "GBP").plus(Money.ofMajor(1.0, "EUR"));
+            fail("Expected mixing currencies to fail");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("EUR"));
+        }
+    }
+
+    @Test
+    public void doubleConstructorsConvertToFixedPoint() {
+        JCTJob job = new JCTJob("J1", "Job", 50.25, LocalDate.of(2021, 1, 1), 12.5, JCTJobStatus.PENDING);
+        assertEquals(Money.ofMinor(5025), job.getPrice());
+        assertEquals(1250, job.getCompletionBasisPoints());
+        assertEquals(50.25, job.getAmount(), 0.0);
+
+        ScheduleClauseState schedule = new ScheduleClauseState("Project", null, null, 1000.0, 5.0, Collections.singletonList(job));
+        assertEquals(Money.ofMinor(100000), schedule.getContractValue());
+        assertEquals(500, schedule.getRetentionBasisPoints());
+    }
+}
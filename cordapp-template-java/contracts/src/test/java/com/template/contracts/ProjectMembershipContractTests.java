@@ -0,0 +1,163 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JCTMasterState;
+import com.template.states.JCTState;
+import com.template.states.ReportState;
+import com.template.states.ReportStatus;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+
+public class ProjectMembershipContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0,
+            jobFactory.getJobExamples());
+    JCTState header = new JCTState("Project Title", employers, contractors);
+
+    @Test
+    public void schedulesMustCiteTheirProjectHeader() {
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The project header must be a reference input.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("header");
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void aMasterIsNotAProjectHeader() {
+        JCTMasterState master = new JCTMasterState("Project Title", employer1.getParty(), contractor1.getParty());
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTMasterContract.ID, "master", master);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("master");
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The project header must be a reference input.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void everyScheduleParticipantMustBeAMember() {
+        JCTState partialHeader = new JCTState("Project Title", Arrays.asList(employer1.getParty()),
+                Arrays.asList(contractor1.getParty()));
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "partial", partialHeader);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("partial");
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("Every party must be a member of the referenced project.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void referencedHeadersMustBeForTheSameProject() {
+        JCTState otherHeader = new JCTState("Another Project", employers, contractors);
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "other", otherHeader);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.reference("other");
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The referenced project header must be for this project.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void transitionsCarryTheirPartiesOverWithoutAHeader() {
+        JCTJob started = schedule.getJobs().get(0).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+        List<JCTJob> jobs = new ArrayList<>(schedule.getJobs());
+        jobs.set(0, started);
+        ScheduleClauseState output = schedule.copyBuilder().withJobs(jobs).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJobs(Arrays.asList(0)));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, output);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void reportersMustBeMembers() {
+        TestIdentity outsider = new TestIdentity(new CordaX500Name("Outsider", "London", "GB"));
+        ReportState memberReport = new ReportState(ReportStatus.ISSUED, "J1", Instant.now(), null, null,
+                "Lorem ipsum", Arrays.asList(employer1.getParty(), contractor1.getParty()));
+        ReportState outsiderReport = new ReportState(ReportStatus.ISSUED, "J1", Instant.now(), null, null,
+                "Lorem ipsum", Arrays.asList(employer1.getParty(), outsider.getParty()));
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ReportContract.Commands.AddReportDocument());
+                tx.reference("header");
+                tx.output(ReportContract.ID, memberReport);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ReportContract.Commands.AddReportDocument());
+                tx.reference("header");
+                tx.output(ReportContract.ID, outsiderReport);
+                return tx.failsWith("Every party must be a member of the referenced project.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
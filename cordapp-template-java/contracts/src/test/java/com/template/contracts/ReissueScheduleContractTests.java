@@ -0,0 +1,178 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JCTState;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReissueScheduleContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1Confirmed = jobFactory.getJobExamples().get(0).copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build();
+    JCTJob job2InProgress = jobFactory.getJobExamples().get(1).copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build();
+
+    ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0,
+            Arrays.asList(job1Confirmed, job2InProgress)).copyBuilder()
+            .withNetCumulativeValue(job1Confirmed.getPrice())
+            .build();
+    StateRef retiredRef = new StateRef(SecureHash.randomSHA256(), 0);
+    JCTState header = new JCTState("Project Title", employers, contractors);
+
+    @Test
+    public void reissueAndRetireShouldWork() {
+        ledger(ledgerServices, l -> {
+            l.unverifiedTransaction(tx -> {
+                tx.output(JCTContract.ID, "header", header);
+                return Unit.INSTANCE;
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, schedule));
+                tx.reference("header");
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, schedule));
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The project header must be a reference input.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Retire());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.reference(ScheduleClauseContract.ID, schedule);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void retiringMustProduceNothing() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Retire());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.reference(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("Retiring a schedule must produce no outputs.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void retiringNeedsTheReissuedCopy() {
+        ScheduleClauseState altered = schedule.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(1.0)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Retire());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The reissued schedule must be a reference input.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Retire());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.reference(ScheduleClauseContract.ID, altered);
+                return tx.failsWith("The reissued schedule must be a snapshot of the retired one.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void reissuedScheduleMustBeASnapshotOfTheRetiredOne() {
+        ScheduleClauseState altered = schedule.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(1.0)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, schedule));
+                tx.output(ScheduleClauseContract.ID, altered);
+                return tx.failsWith("The reissued schedule must be a snapshot of the retired one.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, null));
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("The retired schedule must be given.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void everyParticipantMustSign() {
+        List<PublicKey> employerKeys = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey());
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.Retire());
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.reference(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("All participants should be required signers.");
+            });
+            l.transaction(tx -> {
+                tx.command(employerKeys, new ScheduleClauseContract.Commands.Reissue(retiredRef, schedule));
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("All participants should be required signers.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void reissuingMustNotConsumeAnything() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, schedule));
+                tx.input(ScheduleClauseContract.ID, schedule);
+                tx.output(ScheduleClauseContract.ID, schedule);
+                return tx.failsWith("No inputs should be consumed when reissuing a Schedule.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void reissuedValuationMustMatchTheJobs() {
+        ScheduleClauseState inflated = schedule.copyBuilder().withNetCumulativeValue(Money.ofMajor(500.0)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.Reissue(retiredRef, inflated));
+                tx.output(ScheduleClauseContract.ID, inflated);
+                return tx.failsWith("The reissued confirmed value must match its jobs.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void snapshotsCompareEveryField() {
+        assertTrue(schedule.copyBuilder().build().isSnapshotOf(schedule));
+        assertFalse(schedule.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(1.0)).build().isSnapshotOf(schedule));
+        assertFalse(schedule.copyBuilder().withJobs(Arrays.asList(job1Confirmed)).build().isSnapshotOf(schedule));
+    }
+}
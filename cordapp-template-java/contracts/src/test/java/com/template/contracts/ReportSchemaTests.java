@@ -0,0 +1,45 @@
+package com.template.contracts;
+
+import com.template.schema.PersistentReport;
+import com.template.schema.ReportSchemaV1;
+import com.template.states.ReportState;
+import com.template.states.ReportStatus;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.testing.core.TestIdentity;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ReportSchemaTests {
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+
+    @Test
+    public void reportIsMappedWithItsIndexedColumns() {
+        Instant surveyed = Instant.parse("2021-01-01T10:00:00Z");
+        ReportState report = new ReportState(ReportStatus.ISSUED, "J1", surveyed, LocalDate.of(2021, 2, 1), 25.5,
+                "Foundations need another week", Collections.singletonList(contractor1.getParty()));
+
+        PersistentReport persisted = (PersistentReport) report.generateMappedObject(new ReportSchemaV1());
+        assertEquals(report.getLinearId().getId(), persisted.getLinearId());
+        assertEquals("J1", persisted.getJctJobReference());
+        assertEquals("ISSUED", persisted.getStatus());
+        assertEquals(surveyed, persisted.getDateOfSurvey());
+        assertEquals(LocalDate.of(2021, 2, 1), persisted.getRequestedCompletionDate());
+        assertEquals(Long.valueOf(2550), persisted.getRequestedValue());
+        assertEquals("GBP", persisted.getCurrency());
+    }
+
+    @Test
+    public void reportsWithoutAnAmountHaveNoValue() {
+        ReportState report = new ReportState(ReportStatus.ISSUED, "J1", Instant.now(), null, null,
+                "Body", Collections.singletonList(contractor1.getParty()));
+
+        PersistentReport persisted = (PersistentReport) report.generateMappedObject(new ReportSchemaV1());
+        assertNull(persisted.getRequestedValue());
+        assertNull(persisted.getCurrency());
+    }
+}
@@ -322,4 +322,27 @@ public class RequestAmendJobAmountContractTests {
             return Unit.INSTANCE;
         });
     }
-}
\ No newline at end of file
+
+    private ScheduleClauseState withForgedRoot(ScheduleClauseState state) {
+        return state.copyBuilder().withJobsRoot(JobMerkleTree.root(state.getJobs()), state.getJobs().size()).build();
+    }
+
+    @Test
+    public void requestingAnAmountMustNotCommitTheJobs() {
+        ReportState inputReportState = getReportState(ReportStatus.ISSUED);
+        ReportState outputReportState = getReportState(ReportStatus.PROCESSED);
+        ScheduleClauseState inputState = getScheduleEscrowState(null);
+        ScheduleClauseState outputState = withForgedRoot(getScheduleEscrowState(inputState));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.input(ReportContract.ID, inputReportState);
+                tx.input(com.template.contracts.ScheduleClauseContract.ID, inputState);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
+                tx.output(ReportContract.ID, outputReportState);
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.RequestAmountModification(0, amountRequest));
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
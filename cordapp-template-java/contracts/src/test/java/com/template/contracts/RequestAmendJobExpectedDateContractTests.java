@@ -338,4 +338,27 @@ public class RequestAmendJobExpectedDateContractTests {
         });
 
     }
-}
\ No newline at end of file
+
+    private ScheduleClauseState withForgedRoot(ScheduleClauseState state) {
+        return state.copyBuilder().withJobsRoot(JobMerkleTree.root(state.getJobs()), state.getJobs().size()).build();
+    }
+
+    @Test
+    public void requestingADateMustNotCommitTheJobs() {
+        ReportState inputReportState = getReportState(ReportStatus.ISSUED);
+        ReportState outputReportState = getReportState(ReportStatus.PROCESSED);
+        ScheduleClauseState inputState = getScheduleEscrowState(null);
+        ScheduleClauseState outputState = withForgedRoot(getScheduleEscrowState(inputState));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.input(ReportContract.ID, inputReportState);
+                tx.input(com.template.contracts.ScheduleClauseContract.ID, inputState);
+                tx.output(com.template.contracts.ScheduleClauseContract.ID, outputState);
+                tx.output(ReportContract.ID, outputReportState);
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.RequestExpectedDateModification(0, requestCompletionDate));
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.contracts.TypeOnlyCommandData;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+
+public class ScheduleCommandDispatchTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    ScheduleClauseState inputState = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 1.0, Arrays.asList(job1, job2));
+    ScheduleClauseState outputState = inputState.copyBuilder()
+            .withJobs(Arrays.asList(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build(), job2))
+            .build();
+
+    public static class UnknownCommand extends TypeOnlyCommandData implements ScheduleClauseContract.Commands {}
+
+    @Test
+    public void unknownCommandsFailFast() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new UnknownCommand());
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("Unsupported ScheduleClauseContract command: UnknownCommand");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void exactlyOneScheduleCommandIsAllowed() {
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(0));
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.ContinueJob(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("Exactly one ScheduleClauseContract command is required, found 2.");
+            });
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.template.contracts;
+
+import com.template.schema.PersistentSchedule;
+import com.template.schema.PersistentScheduleJob;
+import com.template.schema.ScheduleSchemaV1;
+import com.template.states.JCTJob;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ScheduleSchemaTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    List<Party> employers = Collections.singletonList(employer1.getParty());
+    List<Party> contractors = Collections.singletonList(contractor1.getParty());
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    ScheduleClauseState schedule = new ScheduleClauseState("Project Title", employers, contractors, 1000.0, 5.0, Arrays.asList(job1, job2));
+
+    @Test
+    public void scheduleIsMappedWithOneRowPerJob() {
+        PersistentSchedule persisted = (PersistentSchedule) schedule.generateMappedObject(new ScheduleSchemaV1());
+        assertEquals(schedule.getLinearId().getId(), persisted.getLinearId());
+        assertEquals("Project Title", persisted.getProjectName());
+        assertEquals(Long.valueOf(100000), persisted.getContractValue());
+        assertEquals(Integer.valueOf(500), persisted.getRetentionBasisPoints());
+        assertEquals(Integer.valueOf(2), persisted.getJobCount());
+        assertNull(persisted.getJobsRoot());
+
+        List<PersistentScheduleJob> jobs = persisted.getJobs();
+        assertEquals(2, jobs.size());
+        assertEquals("J1", jobs.get(0).getReference());
+        assertEquals("PENDING", jobs.get(0).getStatus());
+        assertEquals(LocalDate.of(2021, 1, 1), jobs.get(0).getExpectedEndDate());
+        assertEquals(Long.valueOf(5000), jobs.get(0).getPrice());
+        assertSame(persisted, jobs.get(1).getSchedule());
+    }
+
+    @Test
+    public void committedSchedulesHaveNoJobRows() {
+        ScheduleClauseState committed = schedule.copyBuilder()
+                .withJobs(Collections.emptyList())
+                .withJobsRoot(JobMerkleTree.root(schedule.getJobs()), 2)
+                .build();
+        PersistentSchedule persisted = (PersistentSchedule) committed.generateMappedObject(new ScheduleSchemaV1());
+        assertTrue(persisted.getJobs().isEmpty());
+        assertEquals(Integer.valueOf(2), persisted.getJobCount());
+        assertEquals(JobMerkleTree.root(schedule.getJobs()).toString(), persisted.getJobsRoot());
+    }
+}
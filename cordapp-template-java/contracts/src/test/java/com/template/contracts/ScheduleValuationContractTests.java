@@ -0,0 +1,225 @@
+package com.template.contracts;
+
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import net.corda.testing.node.MockServices;
+import org.junit.Test;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.corda.testing.node.NodeTestUtils.ledger;
+import static org.junit.Assert.assertEquals;
+
+public class ScheduleValuationContractTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+    List<PublicKey> requiredSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey(), contractor2.getPublicKey());
+    List<PublicKey> employerSigners = Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey());
+    private final MockServices ledgerServices =
+            new MockServices(Arrays.asList("com.template.contracts"),
+                    employer1, employer2, contractor1, contractor2);
+
+    JobExamples jobFactory = new JobExamples();
+    JCTJob job1 = jobFactory.getJobExamples().get(0);
+    JCTJob job2 = jobFactory.getJobExamples().get(1);
+    JCTJob job1Completed = job1.copyBuilder().withStatus(JCTJobStatus.COMPLETED).build();
+    JCTJob job1Confirmed = job1.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build();
+    JCTJob job2Confirmed = job2.copyBuilder().withStatus(JCTJobStatus.CONFIRMED).build();
+
+    // Both jobs are priced at 50.00 and 5% is retained.
+    private ScheduleClauseState getScheduleEscrowState(Boolean allowAccountPayments, List<JCTJob> jobs) {
+        return new ScheduleClauseState(
+                "Project Title",
+                employers,
+                contractors,
+                Money.ofMajor(1000.0),
+                500,
+                allowAccountPayments,
+                jobs);
+    }
+
+    private ScheduleClauseState confirmed(ScheduleClauseState state, List<JCTJob> jobs) {
+        Money confirmedValue = Money.zero(Money.DEFAULT_CURRENCY);
+        for (JCTJob job : jobs) {
+            confirmedValue = confirmedValue.plus(ScheduleValuation.confirmedValue(job, Money.DEFAULT_CURRENCY));
+        }
+        return state.copyBuilder().withJobs(jobs).withNetCumulativeValue(confirmedValue).build();
+    }
+
+    @Test
+    public void amountDueIsTheConfirmedValueLessRetentionAndPayments() {
+        ScheduleClauseState schedule = confirmed(getScheduleEscrowState(true, Arrays.asList(job1, job2)),
+                Arrays.asList(job1Confirmed, job2Confirmed));
+        assertEquals(Money.ofMajor(100.0), schedule.getNetCumulativeValue());
+        assertEquals(Money.ofMajor(5.0), schedule.getRetentionHeld());
+        assertEquals(Money.ofMajor(95.0), schedule.getAmountDue());
+
+        ScheduleClauseState paid = schedule.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(95.0)).build();
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), paid.getAmountDue());
+    }
+
+    @Test
+    public void schedulesRecordedBeforeTheValuationDeriveItFromTheirJobs() {
+        ScheduleClauseState legacy = new ScheduleClauseState(new UniqueIdentifier(), "Project Title", employers,
+                contractors, Money.ofMajor(1000.0), 500, Arrays.asList(job1Confirmed, job2), null, null);
+        assertEquals(Money.ofMajor(50.0), legacy.getNetCumulativeValue());
+        assertEquals(Money.zero(Money.DEFAULT_CURRENCY), legacy.getPreviousCumulativeValue());
+        assertEquals(Money.ofMajor(47.5), legacy.getAmountDue());
+    }
+
+    @Test
+    public void newSchedulesMustHaveNothingConfirmedOrPaid() {
+        ScheduleClauseState outputState = getScheduleEscrowState(true, Arrays.asList(job1, job2)).copyBuilder()
+                .withPreviousCumulativeValue(Money.ofMajor(10.0))
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.CreateSchedule());
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("A new schedule must have nothing confirmed or paid.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void confirmingAJobMustAddItsPriceToTheConfirmedValue() {
+        ScheduleClauseState inputState = getScheduleEscrowState(true, Arrays.asList(job1Completed, job2));
+        ScheduleClauseState unvalued = inputState.copyBuilder().withJobs(Arrays.asList(job1Confirmed, job2)).build();
+        ScheduleClauseState valued = confirmed(inputState, Arrays.asList(job1Confirmed, job2));
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.ConfirmJobComplete(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, unvalued);
+                return tx.failsWith("The confirmed value must only change by the value of the jobs confirmed.");
+            });
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.ConfirmJobComplete(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, valued);
+                return tx.verifies();
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void otherCommandsMustNotChangePayments() {
+        ScheduleClauseState inputState = getScheduleEscrowState(true, Arrays.asList(job1, job2));
+        ScheduleClauseState outputState = inputState.copyBuilder()
+                .withJobs(Arrays.asList(job1.copyBuilder().withStatus(JCTJobStatus.IN_PROGRESS).build(), job2))
+                .withPreviousCumulativeValue(Money.ofMajor(10.0))
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(requiredSigners, new ScheduleClauseContract.Commands.StartJob(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("Payments already made must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void paymentShouldPayTheAmountDue() {
+        ScheduleClauseState inputState = confirmed(getScheduleEscrowState(false, Arrays.asList(job1, job2)),
+                Arrays.asList(job1Confirmed, job2Confirmed));
+        ScheduleClauseState outputState = inputState.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(95.0)).build();
+        ScheduleClauseState underpaid = inputState.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(50.0)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, underpaid);
+                return tx.failsWith("The amount due must be added to the payments made.");
+            });
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, outputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("There must be an amount due.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void paymentsOnAccountNeedTheScheduleToAllowThem() {
+        List<JCTJob> partlyConfirmed = Arrays.asList(job1Confirmed, job2);
+        ScheduleClauseState onAccount = confirmed(getScheduleEscrowState(true, Arrays.asList(job1, job2)), partlyConfirmed);
+        ScheduleClauseState noAccount = confirmed(getScheduleEscrowState(false, Arrays.asList(job1, job2)), partlyConfirmed);
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, onAccount);
+                tx.output(ScheduleClauseContract.ID,
+                        onAccount.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(47.5)).build());
+                return tx.verifies();
+            });
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, noAccount);
+                tx.output(ScheduleClauseContract.ID,
+                        noAccount.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(47.5)).build());
+                return tx.failsWith("Payments on account are not allowed before every job is confirmed.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void paymentsMustBeSignedByAllEmployers() {
+        ScheduleClauseState inputState = confirmed(getScheduleEscrowState(false, Arrays.asList(job1, job2)),
+                Arrays.asList(job1Confirmed, job2Confirmed));
+        ScheduleClauseState outputState = inputState.copyBuilder().withPreviousCumulativeValue(Money.ofMajor(95.0)).build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(Arrays.asList(employer1.getPublicKey()), new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, outputState);
+                return tx.failsWith("All authorised employers should be required signers.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void paymentsMustNotCommitTheJobs() {
+        ScheduleClauseState inputState = confirmed(getScheduleEscrowState(false, Arrays.asList(job1, job2)),
+                Arrays.asList(job1Confirmed, job2Confirmed));
+        ScheduleClauseState forged = inputState.copyBuilder()
+                .withPreviousCumulativeValue(Money.ofMajor(95.0))
+                .withJobsRoot(JobMerkleTree.root(inputState.getJobs()), inputState.getJobs().size())
+                .build();
+        ledger(ledgerServices, l -> {
+            l.transaction(tx -> {
+                tx.command(employerSigners, new ScheduleClauseContract.Commands.SendPayment(0));
+                tx.input(ScheduleClauseContract.ID, inputState);
+                tx.output(ScheduleClauseContract.ID, forged);
+                return tx.failsWith("The jobs root must not change.");
+            });
+            return Unit.INSTANCE;
+        });
+    }
+}
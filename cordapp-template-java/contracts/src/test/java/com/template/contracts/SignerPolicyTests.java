@@ -0,0 +1,51 @@
+package com.template.contracts;
+
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.testing.core.TestIdentity;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SignerPolicyTests {
+    private TestIdentity employer1 = new TestIdentity(new CordaX500Name("Employer1", "London", "GB"));
+    private TestIdentity employer2 = new TestIdentity(new CordaX500Name("Employer2", "London", "GB"));
+    List<Party> employers = Arrays.asList(employer1.getParty(), employer2.getParty());
+    private TestIdentity contractor1 = new TestIdentity(new CordaX500Name("Contractor1", "London", "GB"));
+    private TestIdentity contractor2 = new TestIdentity(new CordaX500Name("Contractor2", "London", "GB"));
+    List<Party> contractors = Arrays.asList(contractor1.getParty(), contractor2.getParty());
+
+    @Test
+    public void allOfNeedsEveryParty() {
+        SignerPolicy signers = SignerPolicy.of(Arrays.asList(employer2.getPublicKey(), employer1.getPublicKey(), contractor1.getPublicKey()));
+        assertTrue(signers.allOf(employers));
+        assertFalse(signers.allOf(employers, contractors));
+        assertTrue(signers.allOf(employers, null));
+        assertTrue(signers.allKeys(Arrays.asList(employer1.getPublicKey(), contractor1.getPublicKey())));
+        assertFalse(signers.allKeys(Collections.singletonList(contractor2.getPublicKey())));
+    }
+
+    @Test
+    public void anyOfAndThresholdsCountDistinctParties() {
+        SignerPolicy signers = SignerPolicy.of(Arrays.asList(contractor1.getPublicKey(), employer1.getPublicKey()));
+        assertTrue(signers.anyOf(contractors));
+        assertFalse(SignerPolicy.of(Collections.singletonList(employer1.getPublicKey())).anyOf(contractors));
+        assertFalse(signers.anyOf(null));
+
+        List<Party> everyone = Arrays.asList(employer1.getParty(), employer1.getParty(), employer2.getParty(), contractor1.getParty());
+        assertTrue(signers.atLeast(2, everyone));
+        assertFalse(signers.atLeast(3, everyone));
+        assertTrue(signers.atLeast(0, Collections.emptyList()));
+    }
+
+    @Test
+    public void exactlyRejectsExtraSignersButNotOrder() {
+        assertTrue(SignerPolicy.of(Arrays.asList(employer2.getPublicKey(), employer1.getPublicKey())).exactly(employers));
+        assertFalse(SignerPolicy.of(Arrays.asList(employer1.getPublicKey(), employer2.getPublicKey(), contractor1.getPublicKey())).exactly(employers));
+        assertFalse(SignerPolicy.of(Collections.singletonList(employer1.getPublicKey())).exactly(employers));
+    }
+}
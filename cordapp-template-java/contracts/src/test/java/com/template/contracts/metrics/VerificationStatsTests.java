@@ -0,0 +1,61 @@
+package com.template.contracts.metrics;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class VerificationStatsTests {
+
+    @Test
+    public void latenciesAreBucketedByPowersOfTwo() {
+        assertEquals(0, VerificationStats.bucketOf(0));
+        assertEquals(1, VerificationStats.bucketOf(1));
+        assertEquals(2, VerificationStats.bucketOf(3));
+        assertEquals(11, VerificationStats.bucketOf(1024));
+        assertEquals(VerificationStats.BUCKETS - 1, VerificationStats.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void commandsAreSummarised() {
+        VerificationStats stats = new VerificationStats();
+        for (int i = 0; i < 99; i++) {
+            stats.record("StartJob", true, null, 10, 100_000);
+        }
+        stats.record("StartJob", false, "Failed requirement: All other jobs mustn't be changed", 0, 5_000_000);
+
+        List<CommandVerificationStats> commands = stats.getCommands();
+        assertEquals(1, commands.size());
+        CommandVerificationStats startJob = commands.get(0);
+        assertEquals("StartJob", startJob.getCommand());
+        assertEquals(100, startJob.getVerifications());
+        assertEquals(1, startJob.getFailures());
+        assertEquals(990, startJob.getJobsVerified());
+        assertEquals(149, startJob.getMeanMicros());
+        assertEquals(128, startJob.getP50Micros());
+        assertEquals(128, startJob.getP99Micros());
+        assertEquals(5000, startJob.getMaxMicros());
+    }
+
+    @Test
+    public void failureReasonsAreCountedAndBounded() {
+        VerificationStats stats = new VerificationStats();
+        stats.record("StartJob", false, "Failed requirement: A", 0, 1);
+        stats.record("StartJob", false, "Failed requirement: A", 0, 1);
+        Map<String, Long> reasons = stats.getFailureReasons();
+        assertEquals(Long.valueOf(2), reasons.get("StartJob: Failed requirement: A"));
+
+        for (int i = 0; i < VerificationStats.MAX_FAILURE_REASONS + 10; i++) {
+            stats.record("StartJob", false, "reason " + i, 0, 1);
+        }
+        reasons = stats.getFailureReasons();
+        assertTrue(reasons.size() <= VerificationStats.MAX_FAILURE_REASONS + 1);
+        assertTrue(reasons.get(VerificationStats.OTHER_REASON) > 0);
+
+        stats.reset();
+        assertTrue(stats.getCommands().isEmpty());
+        assertTrue(stats.getFailureReasons().isEmpty());
+    }
+}
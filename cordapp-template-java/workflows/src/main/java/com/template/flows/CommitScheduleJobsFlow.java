@@ -0,0 +1,77 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JobMerkleTree;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the jobs of a [ScheduleClauseState] with a Merkle root over them. Afterwards each party keeps the job
+ * list off-ledger and moves jobs with [UpdateCommittedJobFlow], whose transactions carry a single job and its
+ * inclusion proof however large the schedule is.
+ *
+ *  linearId the schedule whose jobs are committed.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class CommitScheduleJobsFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier linearId;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public CommitScheduleJobsFlow(UniqueIdentifier linearId) {
+        this.linearId = linearId;
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        StateAndRef<ScheduleClauseState> inputStateAndRef = getScheduleByLinearId(linearId);
+        ScheduleClauseState inputState = inputStateAndRef.getState().getData();
+        if (inputState.isJobsCommitted()) {
+            throw new FlowException(String.format("The jobs of schedule %s are already committed.", linearId));
+        }
+
+        ScheduleClauseState outputState = inputState.copyBuilder()
+                .withJobs(new ArrayList<>())
+                .withJobsRoot(JobMerkleTree.root(inputState.getJobs()), inputState.getJobs().size())
+                .build();
+
+        List<PublicKey> requiredSigners = inputState.getParticipantKeys();
+        TransactionBuilder txBuilder = new TransactionBuilder(inputStateAndRef.getState().getNotary())
+                .addInputState(inputStateAndRef)
+                .addOutputState(outputState, ScheduleClauseContract.ID)
+                .addCommand(new Command<>(new ScheduleClauseContract.Commands.CommitJobs(), requiredSigners));
+
+        withProjectReference(txBuilder, inputStateAndRef.getState().getData());
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+        return collectSignaturesAndFinalise(partiallySignedTransaction, inputState, requiredSigners);
+    }
+}
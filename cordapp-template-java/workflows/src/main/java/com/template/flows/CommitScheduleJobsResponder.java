@@ -0,0 +1,22 @@
+package com.template.flows;
+
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(CommitScheduleJobsFlow.class)
+public class CommitScheduleJobsResponder extends ScheduleResponderFlow {
+
+    public CommitScheduleJobsResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return ScheduleClauseState.class;
+    }
+}
@@ -3,6 +3,7 @@ package com.template.flows;
 import co.paralleluniverse.fibers.Suspendable;
 import com.template.contracts.ScheduleClauseContract;
 import com.template.states.JCTJob;
+import com.template.states.Money;
 import com.template.states.ScheduleClauseState;
 import net.corda.core.contracts.Command;
 import net.corda.core.contracts.UniqueIdentifier;
@@ -26,7 +27,7 @@ import java.util.stream.Collectors;
  *
  *  milestones the milestones involved in the job.
  *  contractors the contractor carrying out the job.
- *  notaryToUse the notary to assign the output state to.
+ *  notaryToUse the notary to assign the output state to, or null to let the node's [NotarySelector] choose.
  */
 
 // ******************
@@ -81,29 +82,23 @@ public class CreateJCTScheduleFlow extends FlowLogic<UniqueIdentifier> {
         return progressTracker;
     }
 
-    private Integer findJob(List<JCTJob> jobs, String reference) {
-        List<JCTJob> result =  jobs.stream().filter(jctJob -> jctJob.getReference() == reference).collect(Collectors.toList());;
-
-        if(result.isEmpty()){
-            throw new IllegalStateException("Cannot find any JCTJob with reference [" + reference + "]");
-        }
-
-        return jobs.indexOf(result.get(0));
-    }
-
     @Suspendable
     @Override
     public UniqueIdentifier call() throws FlowException {
-    ScheduleClauseState outputScheduleState = new ScheduleClauseState(projectName, employers, contractors, contractAmount, retentionPercentage, jobs);
+    ScheduleClauseState outputScheduleState = new ScheduleClauseState(projectName, employers, contractors,
+            Money.ofMajor(contractAmount), Money.toBasisPoints(retentionPercentage), allowPaymentOnAccount, jobs);
         List<PublicKey> requiredSigners = outputScheduleState.getParticipantKeys();
         Command createCommand = new Command<>(new ScheduleClauseContract.Commands.CreateSchedule(), requiredSigners);
 
         // Create a transaction builder and add the components
         // Transaction builders take in 'notary' party as the parameter to
         // instantiate the txBuilder
-        TransactionBuilder txBuilder = new TransactionBuilder(notaryToUse)
+        NotarySelector notarySelector = getServiceHub().cordaService(NotarySelector.class);
+        Party notary = notaryToUse != null ? notaryToUse : notarySelector.select(projectName);
+        TransactionBuilder txBuilder = new TransactionBuilder(notary)
                 .addOutputState(outputScheduleState)
                 .addCommand(createCommand);
+        ProjectReferences.withLatestHeader(getServiceHub(), txBuilder, projectName);
 
         // Verifying the transaction.
         txBuilder.verify(getServiceHub());
@@ -115,14 +110,19 @@ public class CreateJCTScheduleFlow extends FlowLogic<UniqueIdentifier> {
         participants.addAll(outputScheduleState.getContractors());
         participants.addAll(outputScheduleState.getEmployers());
 
-        Set<FlowSession> sessions = participants.stream().map(it -> initiateFlow(it)).collect(Collectors.toSet());
+        Set<FlowSession> sessions = participants.stream()
+                .filter(it -> !it.equals(getOurIdentity()))
+                .map(it -> initiateFlow(it))
+                .collect(Collectors.toSet());
 
-        // CHECK IF THIS BLOCKS
-        final SignedTransaction fullySignedTx = subFlow(new CollectSignaturesFlow(partiallySignedTransaction,
-                sessions)); //, CollectSignaturesFlow.Companion.tracker()));
+        // Every counterparty is sent the transaction before any signature is awaited.
+        final SignedTransaction fullySignedTx = subFlow(new ParallelCollectSignaturesFlow(partiallySignedTransaction,
+                sessions));
 
         // We finalise the transaction and then send it to the counterparties.
+        long finalityStarted = System.nanoTime();
         subFlow(new FinalityFlow(fullySignedTx, sessions));
+        notarySelector.recordLatency(notary, System.nanoTime() - finalityStarted);
 
 
         return outputScheduleState.getLinearId();
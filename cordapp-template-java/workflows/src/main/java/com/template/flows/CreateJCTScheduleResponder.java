@@ -24,7 +24,7 @@ public class CreateJCTScheduleResponder extends FlowLogic<Unit> {
     @Suspendable
     @Override
     public Unit call() throws FlowException {
-        class SignTxFlow extends SignTransactionFlow {
+        class SignTxFlow extends ParallelSignTransactionFlow {
             private SignTxFlow(FlowSession otherPartySession) {
                 super(otherPartySession);
             }
@@ -37,7 +37,7 @@ public class CreateJCTScheduleResponder extends FlowLogic<Unit> {
                             output instanceof ScheduleClauseState);
                     ScheduleClauseState scheduleEscrowState = (ScheduleClauseState) output;
                     require.using("JCT Project name must be given", !scheduleEscrowState.getProjectName().isEmpty());
-                    require.using("ScheduleEscrow must have a Contract Sum", !scheduleEscrowState.getContractSum().isNaN());
+                    require.using("ScheduleEscrow must have a Contract Sum", scheduleEscrowState.getContractValue() != null);
                     return null;
                 });
             }
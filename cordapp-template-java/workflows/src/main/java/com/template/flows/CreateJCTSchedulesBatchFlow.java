@@ -0,0 +1,160 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.JCTJob;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.identity.Party;
+import net.corda.core.serialization.CordaSerializable;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Issues several [ScheduleClauseState]s between the same [employers] and [contractors] in one transaction, so that a
+ * programme of works is signed once and notarised once rather than once per schedule.
+ *
+ * Should be run by one of the employers or contractors.
+ *
+ *  employers the employers of every schedule.
+ *  contractors the contractors of every schedule.
+ *  schedules the terms of each schedule to issue.
+ *  notaryToUse the notary to assign the output states to, or null to let the node's [NotarySelector] choose.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class CreateJCTSchedulesBatchFlow extends FlowLogic<List<UniqueIdentifier>> {
+    private final List<Party> employers;
+    private final List<Party> contractors;
+    private final List<ScheduleTerms> schedules;
+    private final Party notaryToUse;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public CreateJCTSchedulesBatchFlow(List<Party> employers,
+                                       List<Party> contractors,
+                                       List<ScheduleTerms> schedules,
+                                       Party notaryToUse) {
+        this.employers = employers;
+        this.contractors = contractors;
+        this.schedules = schedules;
+        this.notaryToUse = notaryToUse;
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public List<UniqueIdentifier> call() throws FlowException {
+        if (schedules == null || schedules.isEmpty()) {
+            throw new FlowException("At least one schedule is required.");
+        }
+        // The transaction cites a single project header, which every schedule must belong to.
+        String projectName = schedules.get(0).getProjectName();
+        for (ScheduleTerms terms : schedules) {
+            if (!projectName.equals(terms.getProjectName())) {
+                throw new FlowException("Every schedule of a batch must be for the same project.");
+            }
+        }
+
+        NotarySelector notarySelector = getServiceHub().cordaService(NotarySelector.class);
+        Party notary = notaryToUse != null ? notaryToUse : notarySelector.select(projectName);
+        TransactionBuilder txBuilder = new TransactionBuilder(notary);
+        List<UniqueIdentifier> linearIds = new ArrayList<>();
+        List<PublicKey> requiredSigners = null;
+        for (ScheduleTerms terms : schedules) {
+            ScheduleClauseState outputScheduleState = new ScheduleClauseState(terms.getProjectName(), employers,
+                    contractors, Money.ofMajor(terms.getContractAmount()), Money.toBasisPoints(terms.getRetentionPercentage()),
+                    terms.getAllowPaymentOnAccount(), terms.getJobs());
+            txBuilder.addOutputState(outputScheduleState, ScheduleClauseContract.ID);
+            linearIds.add(outputScheduleState.getLinearId());
+            requiredSigners = outputScheduleState.getParticipantKeys();
+        }
+        // One command covers the whole batch, since every schedule has the same participants.
+        txBuilder.addCommand(new Command<>(new ScheduleClauseContract.Commands.CreateSchedule(), requiredSigners));
+        ProjectReferences.withLatestHeader(getServiceHub(), txBuilder, projectName);
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+
+        Set<Party> counterparties = new LinkedHashSet<>();
+        counterparties.addAll(employers);
+        counterparties.addAll(contractors);
+        counterparties.remove(getOurIdentity());
+        List<FlowSession> sessions = new ArrayList<>();
+        for (Party counterparty : counterparties) {
+            sessions.add(initiateFlow(counterparty));
+        }
+
+        final SignedTransaction fullySignedTx = subFlow(new ParallelCollectSignaturesFlow(partiallySignedTransaction,
+                sessions));
+
+        // We finalise the transaction and then send it to the counterparties.
+        long finalityStarted = System.nanoTime();
+        subFlow(new FinalityFlow(fullySignedTx, sessions));
+        notarySelector.recordLatency(notary, System.nanoTime() - finalityStarted);
+
+        return linearIds;
+    }
+
+    // The terms of one schedule in the batch; the parties are shared by the whole batch.
+    @CordaSerializable
+    public static class ScheduleTerms {
+        private final String projectName;
+        private final Double contractAmount;
+        private final Double retentionPercentage;
+        private final Boolean allowPaymentOnAccount;
+        private final List<JCTJob> jobs;
+
+        public ScheduleTerms(String projectName, Double contractAmount, Double retentionPercentage,
+                             Boolean allowPaymentOnAccount, List<JCTJob> jobs) {
+            this.projectName = projectName;
+            this.contractAmount = contractAmount;
+            this.retentionPercentage = retentionPercentage;
+            this.allowPaymentOnAccount = allowPaymentOnAccount;
+            this.jobs = jobs;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public Double getContractAmount() {
+            return contractAmount;
+        }
+
+        public Double getRetentionPercentage() {
+            return retentionPercentage;
+        }
+
+        public Boolean getAllowPaymentOnAccount() {
+            return allowPaymentOnAccount;
+        }
+
+        public List<JCTJob> getJobs() {
+            return jobs;
+        }
+    }
+}
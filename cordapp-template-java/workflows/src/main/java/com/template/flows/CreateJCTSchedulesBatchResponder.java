@@ -0,0 +1,52 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.states.ScheduleClauseState;
+import kotlin.Unit;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+
+import static net.corda.core.contracts.ContractsDSL.requireThat;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(CreateJCTSchedulesBatchFlow.class)
+public class CreateJCTSchedulesBatchResponder extends FlowLogic<Unit> {
+    private final FlowSession otherPartySession;
+
+    public CreateJCTSchedulesBatchResponder(FlowSession otherPartySession) {
+        this.otherPartySession = otherPartySession;
+    }
+
+    @Suspendable
+    @Override
+    public Unit call() throws FlowException {
+        class SignTxFlow extends ParallelSignTransactionFlow {
+            private SignTxFlow(FlowSession otherPartySession) {
+                super(otherPartySession);
+            }
+
+            @Override
+            protected void checkTransaction(SignedTransaction stx) {
+                requireThat(require -> {
+                    for (ContractState output : stx.getTx().getOutputStates()) {
+                        require.using("This must be a batch of ScheduleEscrowStates", output instanceof ScheduleClauseState);
+                        ScheduleClauseState scheduleEscrowState = (ScheduleClauseState) output;
+                        require.using("JCT Project name must be given", !scheduleEscrowState.getProjectName().isEmpty());
+                        require.using("ScheduleEscrow must have a Contract Sum", scheduleEscrowState.getContractValue() != null);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        SecureHash expectedTxId = subFlow(new SignTxFlow(otherPartySession)).getId();
+
+        subFlow(new ReceiveFinalityFlow(otherPartySession, expectedTxId));
+
+        return null;
+    }
+}
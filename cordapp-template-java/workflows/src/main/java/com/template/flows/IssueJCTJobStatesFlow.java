@@ -0,0 +1,96 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JCTJobContract;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.JCTJob;
+import com.template.states.JCTJobState;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the pending jobs of an existing [ScheduleClauseState] into one [JCTJobState] each. The schedule is consumed
+ * and reissued with those jobs flagged SPLIT, so each job is issued once and can no longer be moved on the schedule.
+ * From then on they are moved with [TransitionJCTJobStateFlow], which only references the schedule, so updates to
+ * different jobs no longer contend for the schedule's StateRef.
+ *
+ *  scheduleId the linearId of the schedule whose jobs are issued.
+ *
+ * Returns the linearIds of the issued job states, in the order of the schedule's jobs.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class IssueJCTJobStatesFlow extends ScheduleBaseFlow<List<UniqueIdentifier>> {
+    private final UniqueIdentifier scheduleId;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public IssueJCTJobStatesFlow(UniqueIdentifier scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public List<UniqueIdentifier> call() throws FlowException {
+        StateAndRef<ScheduleClauseState> scheduleStateAndRef = getScheduleByLinearId(scheduleId);
+        ScheduleClauseState schedule = scheduleStateAndRef.getState().getData();
+
+        List<PublicKey> requiredSigners = schedule.getParticipantKeys();
+        TransactionBuilder txBuilder = new TransactionBuilder(scheduleStateAndRef.getState().getNotary())
+                .addInputState(scheduleStateAndRef)
+                .addCommand(new Command<>(new JCTJobContract.Commands.Issue(), requiredSigners));
+
+        List<UniqueIdentifier> jobStateIds = new ArrayList<>();
+        List<String> splitReferences = new ArrayList<>();
+        List<JCTJob> scheduledJobs = new ArrayList<>();
+        for (JCTJob job : schedule.getJobs()) {
+            if (job.getStatus() != JCTJobStatus.PENDING) {
+                scheduledJobs.add(job);
+                continue;
+            }
+            JCTJobState jobState = new JCTJobState(schedule, job);
+            txBuilder.addOutputState(jobState, JCTJobContract.ID);
+            jobStateIds.add(jobState.getLinearId());
+            splitReferences.add(job.getReference());
+            scheduledJobs.add(job.copyBuilder().withStatus(JCTJobStatus.SPLIT).build());
+        }
+        if (splitReferences.isEmpty()) {
+            throw new FlowException("The schedule " + scheduleId + " has no pending jobs to split out.");
+        }
+
+        txBuilder.addOutputState(schedule.copyBuilder().withJobs(scheduledJobs).build(), ScheduleClauseContract.ID)
+                .addCommand(new Command<>(new ScheduleClauseContract.Commands.SplitJobs(splitReferences), requiredSigners));
+        withProjectReference(txBuilder, schedule);
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+        collectSignaturesAndFinalise(partiallySignedTransaction, schedule, requiredSigners);
+
+        return jobStateIds;
+    }
+}
@@ -0,0 +1,29 @@
+package com.template.flows;
+
+import com.template.states.JCTJobState;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(IssueJCTJobStatesFlow.class)
+public class IssueJCTJobStatesResponder extends ScheduleResponderFlow {
+
+    public IssueJCTJobStatesResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return JCTJobState.class;
+    }
+
+    // The schedule is reissued alongside the job states, with the issued jobs flagged SPLIT.
+    @Override
+    boolean isExpectedOutput(ContractState output) {
+        return super.isExpectedOutput(output) || output instanceof ScheduleClauseState;
+    }
+}
@@ -69,7 +69,8 @@ public class JCTCreationFlow extends FlowLogic<Void> {
     @Suspendable
     @Override
     public Void call() throws FlowException {
-        Party notary = getServiceHub().getNetworkMapCache().getNotaryIdentities().get(0);
+        NotarySelector notarySelector = getServiceHub().cordaService(NotarySelector.class);
+        Party notary = notarySelector.select(projectName);
 
         // Stage 1.
         progressTracker.setCurrentStep(GENERATING_TRANSACTION);
@@ -114,7 +115,9 @@ public class JCTCreationFlow extends FlowLogic<Void> {
         // Stage 5.
         progressTracker.setCurrentStep(FINALISING_TRANSACTION);
         // We finalise the transaction and then send it to the counterparty.
+        long finalityStarted = System.nanoTime();
         subFlow(new FinalityFlow(partSignedTx, session));
+        notarySelector.recordLatency(notary, System.nanoTime() - finalityStarted);
 
         return null;
     }
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // ******************
 // * Initiator flow *
@@ -51,12 +52,9 @@ public class JCTFlow extends FlowLogic<SignedTransaction> {
     @Suspendable
     @Override
     public SignedTransaction call() throws FlowException {
-        // We retrieve the notary identity from the network map.
-        // The first thing we do in our flow is retrieve the a notary from the
-        // node’s ServiceHub.
-        // ServiceHub.networkMapCache provides information about the
-        // other nodes on the network and the services that they offer.
-        Party notary = getServiceHub().getNetworkMapCache().getNotaryIdentities().get(0);
+        // We pick the notary with the node's [NotarySelector], which spreads new
+        // projects across the notaries on the network map.
+        Party notary = getServiceHub().cordaService(NotarySelector.class).select(projectName);
 
         // Create the transaction components
         // (I think getOurIdentity() get's the Flow-caller's Party object
@@ -67,7 +65,7 @@ public class JCTFlow extends FlowLogic<SignedTransaction> {
         requiredSigners.addAll(getOwningKeys(employer));
         requiredSigners.addAll(getOwningKeys(contractor));
 
-        Command command = new Command<>(new JCTContract.Commands.Create(), getOurIdentity().getOwningKey());
+        Command command = new Command<>(new JCTContract.Commands.Create(), requiredSigners);
 
         // Create a transaction builder and add the components
         // Transaction builders take in 'notary' party as the parameter to
@@ -84,7 +82,12 @@ public class JCTFlow extends FlowLogic<SignedTransaction> {
 
         // Creating a session with the other party.
 //        FlowSession otherPartySession = initiateFlow(contractor);
-        Set<FlowSession> sessions = contractor.stream().map(it -> initiateFlow(it)).collect(Collectors.toSet());
+        // Every employer and contractor must sign the JCT, so every one other than us needs a session.
+        Set<FlowSession> sessions = Stream.concat(employer.stream(), contractor.stream())
+                .filter(it -> !it.equals(getOurIdentity()))
+                .distinct()
+                .map(it -> initiateFlow(it))
+                .collect(Collectors.toSet());
 
         // Obtaining the counterparty's signature.
 //        SignedTransaction fullySignedTx = subFlow(new CollectSignaturesFlow(
@@ -92,10 +95,9 @@ public class JCTFlow extends FlowLogic<SignedTransaction> {
         final SignedTransaction fullySignedTx = subFlow(new CollectSignaturesFlow(signedTx,
                 sessions, CollectSignaturesFlow.Companion.tracker()));
 
-        // We finalise the transaction and then send it to the counterparties.
-//        subFlow(new FinalityFlow(fullySignedTx, sessions));
-
-        return fullySignedTx;
+        // We finalise the transaction and then send it to the counterparties. The JCT is the project's header,
+        // which its schedule transactions cite, so every party must record it.
+        return subFlow(new FinalityFlow(fullySignedTx, sessions));
     }
 
 }
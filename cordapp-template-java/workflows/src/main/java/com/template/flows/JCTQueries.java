@@ -0,0 +1,67 @@
+package com.template.flows;
+
+import com.template.schema.JCTParticipantRole;
+import com.template.schema.PersistentJCTProject;
+import com.template.states.JCTState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.crypto.CryptoUtils;
+import net.corda.core.identity.Party;
+import net.corda.core.node.ServiceHub;
+import net.corda.core.node.services.vault.Builder;
+import net.corda.core.node.services.vault.CriteriaExpression;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.node.services.vault.QueryCriteriaUtils;
+import net.corda.core.node.services.vault.Sort;
+import net.corda.core.node.services.vault.SortAttribute;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Party-centric vault queries over the [JCTSchemaV2] tables.
+ */
+public class JCTQueries {
+
+    private JCTQueries() {}
+
+    // The page [paging] of the unconsumed JCTs on which [party] is an employer or a contractor, as given by [role].
+    public static List<StateAndRef<JCTState>> byParticipant(ServiceHub serviceHub, Party party, JCTParticipantRole role,
+                                                            PageSpecification paging) {
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("keyHash", CryptoUtils.toStringShort(party.getOwningKey()));
+        parameters.put("role", role);
+        return PersistentStateRefs.unconsumed(serviceHub, JCTState.class,
+                PARTICIPANT_OF + "and p.keyHash = :keyHash and p.role = :role)", parameters, paging);
+    }
+
+    // The page [paging] of the unconsumed JCTs on which [party] is either an employer or a contractor.
+    public static List<StateAndRef<JCTState>> byParticipant(ServiceHub serviceHub, Party party, PageSpecification paging) {
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("keyHash", CryptoUtils.toStringShort(party.getOwningKey()));
+        return PersistentStateRefs.unconsumed(serviceHub, JCTState.class,
+                PARTICIPANT_OF + "and p.keyHash = :keyHash)", parameters, paging);
+    }
+
+    // The page [paging] of the unconsumed JCTs of [projectName], most recently recorded first.
+    public static List<StateAndRef<JCTState>> byProjectName(ServiceHub serviceHub, String projectName,
+                                                            PageSpecification paging) {
+        final CriteriaExpression projectNameIs;
+        try {
+            projectNameIs = Builder.equal(QueryCriteriaUtils.getField("projectName", PersistentJCTProject.class), projectName);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        final Sort latestFirst = new Sort(Collections.singleton(new Sort.SortColumn(
+                new SortAttribute.Standard(Sort.VaultStateAttribute.RECORDED_TIME), Sort.Direction.DESC)));
+        return serviceHub.getVaultService()
+                .queryBy(JCTState.class, new QueryCriteria.VaultCustomQueryCriteria(projectNameIs), paging, latestFirst)
+                .getStates();
+    }
+
+    // The party rows of the vault state `v`, to be completed with the conditions on the party.
+    private static final String PARTICIPANT_OF = "exists (select p from PersistentJCTParticipant p " +
+            "where p.project.stateRef.txId = v.stateRef.txId and p.project.stateRef.index = v.stateRef.index ";
+}
@@ -0,0 +1,165 @@
+package com.template.flows;
+
+import com.template.states.JCTState;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.identity.Party;
+import net.corda.core.node.AppServiceHub;
+import net.corda.core.node.services.CordaService;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.serialization.SingletonSerializeAsToken;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.corda.core.node.services.vault.QueryCriteriaUtils.DEFAULT_PAGE_NUM;
+
+/**
+ * Picks the notary for new states from those on the network map, so that issuance spreads across notaries instead
+ * of always landing on the first one. Every state of a project must share a notary, since schedules and reports
+ * cite the project's header as a reference input, so a project whose header or schedules the node already holds
+ * keeps their notary whatever the strategy; the strategy only places new projects, and states of no project. It is
+ * read from the CorDapp config key `notarySelection.strategy`:
+ *
+ *  CONSISTENT_HASH (the default) maps each project name to a notary on a hash ring, so every node picks the same
+ *  notary for a new project and adding a notary only moves the projects that land on it.
+ *  ROUND_ROBIN cycles through the notaries, one new project or state after another.
+ *  LEAST_LATENCY picks the notary that has recently finalised fastest for us, trying each notary at least once.
+ *
+ * Only CONSISTENT_HASH has two nodes that start the same project at once agree on its notary; under the other two
+ * a project is placed by the node that issues its header, and kept there from then on. Existing states keep their
+ * notary; this only applies to issuance.
+ */
+@CordaService
+public class NotarySelector extends SingletonSerializeAsToken {
+    private static final String STRATEGY_KEY = "notarySelection.strategy";
+    // Points per notary on the hash ring, which evens out how many projects each notary gets.
+    static final int VIRTUAL_NODES = 64;
+    // Weight of the newest sample in the moving average of each notary's latency.
+    static final double LATENCY_WEIGHT = 0.2;
+
+    public enum Strategy { ROUND_ROBIN, CONSISTENT_HASH, LEAST_LATENCY }
+
+    private final AppServiceHub serviceHub;
+    private final Strategy strategy;
+    private final AtomicLong next = new AtomicLong();
+    private final Map<Party, Double> latencyNanos = new ConcurrentHashMap<>();
+    private List<Party> ringNotaries = null;
+    private NavigableMap<Long, Party> ring = null;
+
+    public NotarySelector(AppServiceHub serviceHub) {
+        this.serviceHub = serviceHub;
+        this.strategy = serviceHub.getAppContext().getConfig().exists(STRATEGY_KEY)
+                ? Strategy.valueOf(serviceHub.getAppContext().getConfig().getString(STRATEGY_KEY).trim().toUpperCase())
+                : Strategy.CONSISTENT_HASH;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    // The notary to issue a state of the project named [projectName] with, or of no project if it is null.
+    public Party select(String projectName) {
+        final List<Party> notaries = notaries();
+        if (notaries.isEmpty()) {
+            throw new IllegalStateException("There are no notaries on the network map.");
+        }
+        if (projectName != null) {
+            final Party projectNotary = projectNotary(projectName);
+            if (projectNotary != null) {
+                return projectNotary;
+            }
+        }
+        switch (strategy) {
+            case LEAST_LATENCY:
+                return leastLatency(notaries);
+            case CONSISTENT_HASH:
+                if (projectName != null) {
+                    return onRing(notaries, projectName);
+                }
+                // States of no project have nothing to hash, so they are spread as under ROUND_ROBIN.
+            case ROUND_ROBIN:
+            default:
+                return notaries.get((int) Math.floorMod(next.getAndIncrement(), (long) notaries.size()));
+        }
+    }
+
+    // The notary of the project's header or of one of its schedules, if the node holds either.
+    private Party projectNotary(String projectName) {
+        final StateAndRef<JCTState> header = ProjectReferences.latestHeader(serviceHub, projectName);
+        if (header != null) {
+            return header.getState().getNotary();
+        }
+        final List<StateAndRef<ScheduleClauseState>> schedules = ScheduleQueries.byProjectName(serviceHub, projectName,
+                new PageSpecification(DEFAULT_PAGE_NUM, 1));
+        return schedules.isEmpty() ? null : schedules.get(0).getState().getNotary();
+    }
+
+    // Called once [notary] has finalised a transaction for us, taking [nanos]. A flow restored from a checkpoint on
+    // another JVM can measure a negative time, which is ignored.
+    public void recordLatency(Party notary, long nanos) {
+        if (nanos <= 0) return;
+        latencyNanos.merge(notary, (double) nanos,
+                (average, sample) -> average + LATENCY_WEIGHT * (sample - average));
+    }
+
+    // Sorted by name, so that every node sees the notaries in the same order.
+    private List<Party> notaries() {
+        final List<Party> notaries = new ArrayList<>(serviceHub.getNetworkMapCache().getNotaryIdentities());
+        notaries.sort(Comparator.comparing(notary -> notary.getName().toString()));
+        return notaries;
+    }
+
+    private Party onRing(List<Party> notaries, String key) {
+        final NavigableMap<Long, Party> current;
+        synchronized (this) {
+            if (!notaries.equals(ringNotaries)) {
+                ring = ringOf(notaries);
+                ringNotaries = notaries;
+            }
+            current = ring;
+        }
+        final Map.Entry<Long, Party> owner = current.ceilingEntry(hashOf(key));
+        return owner != null ? owner.getValue() : current.firstEntry().getValue();
+    }
+
+    static NavigableMap<Long, Party> ringOf(List<Party> notaries) {
+        final NavigableMap<Long, Party> ring = new TreeMap<>();
+        for (Party notary : notaries) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hashOf(notary.getName() + "#" + i), notary);
+            }
+        }
+        return ring;
+    }
+
+    static long hashOf(String key) {
+        return ByteBuffer.wrap(SecureHash.sha256(key.getBytes(StandardCharsets.UTF_8)).getBytes()).getLong();
+    }
+
+    private Party leastLatency(List<Party> notaries) {
+        Party fastest = null;
+        double fastestNanos = Double.MAX_VALUE;
+        for (Party notary : notaries) {
+            final Double average = latencyNanos.get(notary);
+            if (average == null) {
+                // Never used, so we have nothing to compare it on yet.
+                return notary;
+            }
+            if (average < fastestNanos) {
+                fastest = notary;
+                fastestNanos = average;
+            }
+        }
+        return fastest;
+    }
+}
@@ -0,0 +1,100 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.states.JCTJob;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.flows.*;
+import net.corda.core.identity.AbstractParty;
+import net.corda.core.identity.Party;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tells a schedule's participants which of its jobs have overrun. Started by the node's scheduler when the earliest
+ * outstanding job of a [ScheduleClauseState] passes its expected end date, on every participant's node; only the
+ * first employer's sends the notice, so each participant hears of an overrun once. That node's [OverdueJobsService]
+ * starts it again at the state's later deadlines, and skips the jobs it has already reported.
+ *
+ *  stateRef the schedule state whose deadline was reached.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@SchedulableFlow
+@StartableByService
+public class NotifyOverdueJobsFlow extends FlowLogic<List<String>> {
+    private final StateRef stateRef;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public NotifyOverdueJobsFlow(StateRef stateRef) {
+        this.stateRef = stateRef;
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public List<String> call() throws FlowException {
+        // The schedule may have moved on since the deadline was set; its successor has its own.
+        final List<StateAndRef<ScheduleClauseState>> states = getServiceHub().getVaultService().queryBy(
+                ScheduleClauseState.class,
+                new QueryCriteria.VaultQueryCriteria(Vault.StateStatus.UNCONSUMED, null, Collections.singletonList(stateRef))
+        ).getStates();
+        if (states.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final ScheduleClauseState schedule = states.get(0).getState().getData();
+        if (schedule.getEmployers().isEmpty() || !schedule.getEmployers().get(0).equals(getOurIdentity())) {
+            return Collections.emptyList();
+        }
+
+        final OverdueJobsService overdueJobs = getServiceHub().cordaService(OverdueJobsService.class);
+        final LocalDate today = LocalDate.now(getServiceHub().getClock().withZone(ZoneOffset.UTC));
+        final List<JCTJob> overdueNow = schedule.overdueJobs(today);
+        final List<String> overdue = overdueNow.stream()
+                .filter(job -> !overdueJobs.isReported(schedule.getLinearId(), job))
+                .map(JCTJob::getReference)
+                .collect(Collectors.toList());
+        if (!overdue.isEmpty()) {
+            report(schedule, overdue);
+        }
+        overdueJobs.markReported(schedule.getLinearId(), overdueNow);
+        overdueJobs.armNext(states.get(0), today);
+        return overdue;
+    }
+
+    @Suspendable
+    private void report(ScheduleClauseState schedule, List<String> overdue) throws FlowException {
+        getLogger().warn("Jobs " + overdue + " of schedule " + schedule.getLinearId() + " are overdue.");
+
+        final List<FlowSession> sessions = new ArrayList<>();
+        for (AbstractParty participant : schedule.getParticipants()) {
+            if (!participant.equals(getOurIdentity()) && participant instanceof Party) {
+                sessions.add(initiateFlow((Party) participant));
+            }
+        }
+        for (FlowSession session : sessions) {
+            session.send(schedule.getLinearId());
+            session.send(overdue);
+        }
+    }
+}
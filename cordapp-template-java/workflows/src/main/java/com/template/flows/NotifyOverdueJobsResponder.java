@@ -0,0 +1,33 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.FlowException;
+import net.corda.core.flows.FlowLogic;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+import java.util.List;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(NotifyOverdueJobsFlow.class)
+public class NotifyOverdueJobsResponder extends FlowLogic<List<String>> {
+    private final FlowSession otherPartySession;
+
+    public NotifyOverdueJobsResponder(FlowSession otherPartySession) {
+        this.otherPartySession = otherPartySession;
+    }
+
+    @Suspendable
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> call() throws FlowException {
+        final UniqueIdentifier linearId = otherPartySession.receive(UniqueIdentifier.class).unwrap(it -> it);
+        final List<String> overdue = otherPartySession.receive(List.class).unwrap(it -> (List<String>) it);
+        getLogger().warn(otherPartySession.getCounterparty().getName() + " reports jobs " + overdue +
+                " of schedule " + linearId + " are overdue.");
+        return overdue;
+    }
+}
@@ -0,0 +1,110 @@
+package com.template.flows;
+
+import com.template.states.JCTJob;
+import com.template.states.JobDeadlines;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.node.AppServiceHub;
+import net.corda.core.node.services.CordaService;
+import net.corda.core.serialization.SingletonSerializeAsToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wakes the node at every deadline of a schedule's jobs, so each overrun is reported once. The node's scheduler
+ * only asks a [ScheduleClauseState] for its next activity once, and starts a [NotifyOverdueJobsFlow] at its earliest
+ * deadline; the flow reports the jobs not reported yet and hands the state here, and the service arms a timer for
+ * the state's next deadline, found in its sorted [JobDeadlines], which starts the flow again. A new state of the
+ * schedule replaces the timer of the one it consumes.
+ *
+ * A job is remembered by its reference and expected end date, so it is reported again only if its end date is
+ * amended and that one passes too. The timers and the jobs reported are held in memory: after a restart, a
+ * schedule's later deadlines are picked up at its next transaction, and a job may be reported once more.
+ */
+@CordaService
+public class OverdueJobsService extends SingletonSerializeAsToken {
+    private static final Logger logger = LoggerFactory.getLogger(OverdueJobsService.class);
+
+    private final AppServiceHub serviceHub;
+    // Linear id -> the overdue jobs last reported, as reference and expected end date.
+    private final Map<UniqueIdentifier, Set<String>> reported = new HashMap<>();
+    // Linear id -> the timer armed for the schedule's next deadline.
+    private final Map<UniqueIdentifier, ScheduledFuture<?>> timers = new HashMap<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "overdue-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OverdueJobsService(AppServiceHub serviceHub) {
+        this.serviceHub = serviceHub;
+    }
+
+    public boolean isReported(UniqueIdentifier linearId, JCTJob job) {
+        synchronized (reported) {
+            return reported.getOrDefault(linearId, Collections.emptySet()).contains(keyOf(job));
+        }
+    }
+
+    // Records [overdue], every job of the schedule overdue as of now, as reported. Jobs that are no longer overdue,
+    // because they have completed or been given a later date, are forgotten.
+    public void markReported(UniqueIdentifier linearId, List<JCTJob> overdue) {
+        final Set<String> keys = new HashSet<>();
+        overdue.forEach(job -> keys.add(keyOf(job)));
+        synchronized (reported) {
+            if (keys.isEmpty()) {
+                reported.remove(linearId);
+            } else {
+                reported.put(linearId, keys);
+            }
+        }
+    }
+
+    // Arms a timer for the first deadline of [schedule] on or after [today], replacing the schedule's earlier timer.
+    public void armNext(StateAndRef<ScheduleClauseState> schedule, LocalDate today) {
+        final UniqueIdentifier linearId = schedule.getState().getData().getLinearId();
+        final LocalDate next = schedule.getState().getData().jobDeadlines().nextOnOrAfter(today);
+        synchronized (timers) {
+            final ScheduledFuture<?> previous = timers.remove(linearId);
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            if (next == null) {
+                return;
+            }
+            final long delay = Math.max(0, Duration.between(serviceHub.getClock().instant(),
+                    JobDeadlines.overdueAt(next)).toMillis());
+            timers.put(linearId, timer.schedule(() -> notify(schedule.getRef()), delay, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void notify(StateRef stateRef) {
+        serviceHub.startFlow(new NotifyOverdueJobsFlow(stateRef)).getReturnValue().then(result -> {
+            try {
+                result.get();
+            } catch (Exception e) {
+                logger.warn("Could not report the overdue jobs of schedule state " + stateRef, e);
+            }
+            return null;
+        });
+    }
+
+    private static String keyOf(JCTJob job) {
+        return job.getReference() + "@" + job.getExpectedEndDate();
+    }
+}
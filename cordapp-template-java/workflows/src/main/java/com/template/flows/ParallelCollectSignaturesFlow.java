@@ -0,0 +1,95 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import net.corda.core.crypto.TransactionSignature;
+import net.corda.core.flows.FlowException;
+import net.corda.core.flows.FlowLogic;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.SendTransactionFlow;
+import net.corda.core.transactions.SignedTransaction;
+
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the signatures of [sessions] on a transaction we have already signed. Unlike [CollectSignaturesFlow],
+ * which sends the transaction to one counterparty and waits for its signature before moving on to the next, the
+ * transaction is sent to every counterparty first and the signatures are received afterwards, so the wait is that
+ * of the slowest counterparty rather than the sum of them all. Pairs with [ParallelSignTransactionFlow].
+ *
+ * The transaction is sent without the dependency-resolution handshake of [SendTransactionFlow], since schedule
+ * counterparties usually hold every dependency already. Each counterparty first answers whether it is missing any
+ * (a project master it isn't party to, say), and only those that are get the transaction's history through
+ * [SendTransactionFlow] before signing.
+ *
+ *  partiallySignedTransaction the transaction, signed by us.
+ *  sessions a session with each counterparty whose signature is required.
+ */
+public class ParallelCollectSignaturesFlow extends FlowLogic<SignedTransaction> {
+    private final SignedTransaction partiallySignedTransaction;
+    private final Collection<FlowSession> sessions;
+
+    public ParallelCollectSignaturesFlow(SignedTransaction partiallySignedTransaction, Collection<FlowSession> sessions) {
+        this.partiallySignedTransaction = partiallySignedTransaction;
+        this.sessions = sessions;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        final PublicKey ourKey = getOurIdentity().getOwningKey();
+        if (!partiallySignedTransaction.getSigs().stream().anyMatch(sig -> sig.getBy().equals(ourKey))) {
+            throw new FlowException("The transaction must be signed by the initiator before collecting signatures.");
+        }
+
+        for (FlowSession session : sessions) {
+            session.send(partiallySignedTransaction);
+        }
+        for (FlowSession session : sessions) {
+            boolean needsHistory = session.receive(Boolean.class).unwrap(it -> it);
+            if (needsHistory) {
+                subFlow(new SendTransactionFlow(session, partiallySignedTransaction));
+            }
+        }
+
+        // Every counterparty is already working on its signature, so receiving them in order waits no longer than
+        // the slowest one. Each signature is checked as it is received.
+        List<TransactionSignature> signatures = new ArrayList<>();
+        for (FlowSession session : sessions) {
+            final PublicKey counterpartyKey = session.getCounterparty().getOwningKey();
+            signatures.add(session.receive(TransactionSignature.class).unwrap(sig -> {
+                if (!sig.getBy().equals(counterpartyKey)) {
+                    throw new FlowException("Signature from " + session.getCounterparty() + " is not by its key.");
+                }
+                if (!isValid(sig)) {
+                    throw new FlowException("Signature from " + session.getCounterparty() + " is invalid.");
+                }
+                return sig;
+            }));
+        }
+
+        SignedTransaction signedTransaction = partiallySignedTransaction.withAdditionalSignatures(signatures);
+        final PublicKey notaryKey = signedTransaction.getNotary() == null ? null : signedTransaction.getNotary().getOwningKey();
+        try {
+            signedTransaction.verifySignaturesExcept(notaryKey == null
+                    ? Collections.emptyList()
+                    : Collections.singletonList(notaryKey));
+        } catch (SignatureException e) {
+            throw new FlowException("The collected signatures are not sufficient: " + e.getMessage(), e);
+        }
+        return signedTransaction;
+    }
+
+    private boolean isValid(TransactionSignature sig) {
+        try {
+            return sig.isValid(partiallySignedTransaction.getId());
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.crypto.TransactionSignature;
+import net.corda.core.flows.FlowException;
+import net.corda.core.flows.FlowLogic;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.ReceiveTransactionFlow;
+import net.corda.core.node.StatesToRecord;
+import net.corda.core.transactions.SignedTransaction;
+
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Responder side of [ParallelCollectSignaturesFlow]: receives the transaction, checks the initiator's signature,
+ * fetches any dependencies we don't hold, verifies it and [checkTransaction], then sends back our signature.
+ */
+public abstract class ParallelSignTransactionFlow extends FlowLogic<SignedTransaction> {
+    private final FlowSession otherSideSession;
+
+    protected ParallelSignTransactionFlow(FlowSession otherSideSession) {
+        this.otherSideSession = otherSideSession;
+    }
+
+    // Our own checks on [stx], beyond contract verification. Throwing rejects the transaction.
+    protected abstract void checkTransaction(SignedTransaction stx) throws FlowException;
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        final PublicKey initiatorKey = otherSideSession.getCounterparty().getOwningKey();
+        final PublicKey ourKey = getOurIdentity().getOwningKey();
+        final SignedTransaction stx = otherSideSession.receive(SignedTransaction.class).unwrap(it -> {
+            if (!it.getTx().getRequiredSigningKeys().contains(ourKey)) {
+                throw new FlowException("Our signature is not required on transaction " + it.getId() + ".");
+            }
+            if (!it.getSigs().stream().anyMatch(sig -> sig.getBy().equals(initiatorKey))) {
+                throw new FlowException("Transaction " + it.getId() + " is not signed by the initiator.");
+            }
+            try {
+                it.checkSignaturesAreValid();
+            } catch (SignatureException e) {
+                throw new FlowException("Transaction " + it.getId() + " has an invalid signature.", e);
+            }
+            return it;
+        });
+
+        final boolean needsHistory = isMissingDependencies(stx);
+        otherSideSession.send(needsHistory);
+        if (needsHistory) {
+            // Resolves and verifies the transaction and its history.
+            SignedTransaction resolved = subFlow(new ReceiveTransactionFlow(otherSideSession, false, StatesToRecord.NONE));
+            if (!resolved.getId().equals(stx.getId())) {
+                throw new FlowException("The initiator sent the history of a different transaction.");
+            }
+        }
+
+        try {
+            if (!needsHistory) {
+                stx.verify(getServiceHub(), false);
+            }
+            checkTransaction(stx);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // Contract and [checkTransaction] failures are passed back to the initiator.
+            throw new FlowException(e.getMessage(), e);
+        } catch (SignatureException e) {
+            throw new FlowException(e);
+        }
+
+        TransactionSignature signature = getServiceHub().createSignature(stx, ourKey);
+        otherSideSession.send(signature);
+        return stx.withAdditionalSignature(signature);
+    }
+
+    private boolean isMissingDependencies(SignedTransaction stx) {
+        final Set<SecureHash> dependencies = new HashSet<>();
+        stx.getTx().getInputs().forEach(ref -> dependencies.add(ref.getTxhash()));
+        stx.getTx().getReferences().forEach(ref -> dependencies.add(ref.getTxhash()));
+        for (SecureHash dependency : dependencies) {
+            if (getServiceHub().getValidatedTransactions().getTransaction(dependency) == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.template.flows;
+
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.node.ServiceHub;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.schemas.PersistentStateRef;
+import net.corda.node.services.vault.VaultSchemaV1;
+
+import javax.persistence.TypedQuery;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static net.corda.core.node.services.vault.QueryCriteriaUtils.DEFAULT_PAGE_NUM;
+
+/**
+ * Loads the states behind rows found by querying a schema's child tables, which vault custom query criteria can't
+ * reach, with the entity manager.
+ */
+class PersistentStateRefs {
+
+    private PersistentStateRefs() {}
+
+    /**
+     * The page [paging] of the unconsumed [type]s that [filter] selects, oldest first. [filter] is a JPQL condition
+     * on the vault state `v`, usually an `exists` over a schema's child table, and [parameters] are its named
+     * parameters. Consumption and paging are both applied in the database, so only one page of refs is ever read.
+     * An unspecified page number, as in the default [PageSpecification], reads the first page, as the vault does.
+     */
+    static <T extends ContractState> List<StateAndRef<T>> unconsumed(ServiceHub serviceHub, Class<T> type,
+                                                                    String filter, Map<String, Object> parameters,
+                                                                    PageSpecification paging) {
+        final int pageNumber = paging.getPageNumber() == -1 ? DEFAULT_PAGE_NUM : paging.getPageNumber();
+        if (pageNumber < 1) throw new IllegalArgumentException("Page numbers start at 1.");
+        if (paging.getPageSize() < 1) throw new IllegalArgumentException("The page size must be at least 1.");
+        final List<PersistentStateRef> refs = serviceHub.withEntityManager(entityManager -> {
+            final TypedQuery<PersistentStateRef> query = entityManager.createQuery(
+                    "select v.stateRef from " + VaultSchemaV1.VaultStates.class.getName() + " v " +
+                            "where v.stateStatus = :stateStatus and v.contractStateClassName = :contractStateClassName " +
+                            "and (" + filter + ") " +
+                            "order by v.recordedTime, v.stateRef.txId, v.stateRef.index", PersistentStateRef.class)
+                    .setParameter("stateStatus", Vault.StateStatus.UNCONSUMED)
+                    .setParameter("contractStateClassName", type.getName())
+                    .setFirstResult((pageNumber - 1) * paging.getPageSize())
+                    .setMaxResults(paging.getPageSize());
+            parameters.forEach(query::setParameter);
+            return query.getResultList();
+        });
+        return load(serviceHub, type, refs);
+    }
+
+    // The states at [refs], a single page of them, in the order of [refs].
+    private static <T extends ContractState> List<StateAndRef<T>> load(ServiceHub serviceHub, Class<T> type,
+                                                                      List<PersistentStateRef> refs) {
+        if (refs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<StateRef> stateRefs = refs.stream()
+                .map(ref -> new StateRef(SecureHash.parse(ref.getTxId()), ref.getIndex()))
+                .collect(Collectors.toList());
+        final QueryCriteria unconsumed = new QueryCriteria.VaultQueryCriteria(
+                Vault.StateStatus.UNCONSUMED,
+                Collections.singleton(type),
+                stateRefs);
+        final Map<StateRef, StateAndRef<T>> byRef = new HashMap<>();
+        serviceHub.getVaultService()
+                .queryBy(type, unconsumed, new PageSpecification(DEFAULT_PAGE_NUM, stateRefs.size()))
+                .getStates()
+                .forEach(state -> byRef.put(state.getRef(), state));
+        // A state consumed since the refs were read is left out.
+        return stateRefs.stream().map(byRef::get).filter(state -> state != null).collect(Collectors.toList());
+    }
+}
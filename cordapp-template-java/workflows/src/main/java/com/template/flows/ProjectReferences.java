@@ -0,0 +1,45 @@
+package com.template.flows;
+
+import com.template.states.JCTState;
+import net.corda.core.contracts.ReferencedStateAndRef;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.flows.FlowException;
+import net.corda.core.node.ServiceHub;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.transactions.TransactionBuilder;
+
+import java.util.List;
+
+import static net.corda.core.node.services.vault.QueryCriteriaUtils.DEFAULT_PAGE_NUM;
+
+/**
+ * Attaches a project's header, its [JCTState], to transactions as a reference input, so that [ScheduleClauseContract]
+ * checks the schedule's parties are members of the project. A referenced state isn't consumed, so every schedule
+ * and job transaction of a project can cite the same header concurrently.
+ */
+class ProjectReferences {
+
+    private ProjectReferences() {}
+
+    // The most recently recorded unconsumed header of [projectName], or null if the node holds none.
+    static StateAndRef<JCTState> latestHeader(ServiceHub serviceHub, String projectName) {
+        final List<StateAndRef<JCTState>> headers = JCTQueries.byProjectName(serviceHub, projectName,
+                new PageSpecification(DEFAULT_PAGE_NUM, 1));
+        return headers.isEmpty() ? null : headers.get(0);
+    }
+
+    // Adds the latest header of [projectName] to [txBuilder] as a reference input. A reference must have the
+    // transaction's notary, so a header with another notary fails the flow rather than being left out.
+    static TransactionBuilder withLatestHeader(ServiceHub serviceHub, TransactionBuilder txBuilder, String projectName)
+            throws FlowException {
+        final StateAndRef<JCTState> header = latestHeader(serviceHub, projectName);
+        if (header == null) {
+            throw new FlowException("No header found for project " + projectName + ".");
+        }
+        if (!header.getState().getNotary().equals(txBuilder.getNotary())) {
+            throw new FlowException("The header of project " + projectName + " is with notary " +
+                    header.getState().getNotary() + ", not " + txBuilder.getNotary() + ".");
+        }
+        return txBuilder.addReferenceState(new ReferencedStateAndRef<>(header));
+    }
+}
@@ -0,0 +1,125 @@
+package com.template.flows;
+
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.node.AppServiceHub;
+import net.corda.core.node.services.CordaService;
+import net.corda.core.node.services.Vault;
+import net.corda.core.serialization.SingletonSerializeAsToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts a [ReissueScheduleFlow] for any schedule whose back-chain has grown past the CorDapp config key
+ * `reissuance.chainDepthThreshold` (default 1000; zero or less turns the policy off).
+ *
+ * The depth is counted from the vault's updates: a schedule recorded without consuming an earlier state of the same
+ * schedule (an issuance or a reissuance) starts at zero, and every transaction that consumes one adds one. Schedules
+ * already in the vault when the node starts are counted from zero, so after a restart a reissuance can come late but
+ * never early. Only the first employer of a schedule starts the flow, so the participants don't all reissue at once.
+ *
+ * A reissued copy is recorded before the original is retired, so only the consumption of a schedule's latest state
+ * counts; retiring the original afterwards leaves the copy's depth alone.
+ */
+@CordaService
+public class ReissuancePolicyService extends SingletonSerializeAsToken {
+    private static final Logger logger = LoggerFactory.getLogger(ReissuancePolicyService.class);
+    private static final String THRESHOLD_KEY = "reissuance.chainDepthThreshold";
+    static final int DEFAULT_THRESHOLD = 1000;
+
+    private final AppServiceHub serviceHub;
+    private final int threshold;
+    // Linear id -> transactions observed since the schedule's last issuance or reissuance.
+    private final Map<UniqueIdentifier, Integer> depths = new HashMap<>();
+    // Linear id -> the state [depths] was counted for.
+    private final Map<UniqueIdentifier, StateRef> heads = new HashMap<>();
+    // Schedules with a reissuance in flight.
+    private final Set<UniqueIdentifier> reissuing = new HashSet<>();
+    // Flows are started off the vault's update thread.
+    private final ExecutorService starter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schedule-reissuance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReissuancePolicyService(AppServiceHub serviceHub) {
+        this.serviceHub = serviceHub;
+        this.threshold = serviceHub.getAppContext().getConfig().exists(THRESHOLD_KEY)
+                ? serviceHub.getAppContext().getConfig().getInt(THRESHOLD_KEY)
+                : DEFAULT_THRESHOLD;
+        if (threshold > 0) {
+            serviceHub.getVaultService().getUpdates()
+                    .subscribe(this::onUpdate, error -> logger.error("Schedule reissuance stopped tracking the vault", error));
+        }
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    // The number of transactions observed on [linearId] since it was last issued or reissued, or -1 if unknown.
+    public int getChainDepth(UniqueIdentifier linearId) {
+        synchronized (depths) {
+            return depths.getOrDefault(linearId, -1);
+        }
+    }
+
+    private void onUpdate(Vault.Update<ContractState> update) {
+        synchronized (depths) {
+            final Map<UniqueIdentifier, Integer> consumed = new HashMap<>();
+            for (StateAndRef<ContractState> state : update.getConsumed()) {
+                if (!(state.getState().getData() instanceof ScheduleClauseState)) continue;
+                final UniqueIdentifier linearId = ((ScheduleClauseState) state.getState().getData()).getLinearId();
+                final StateRef head = heads.get(linearId);
+                if (head != null && !head.equals(state.getRef())) continue;
+                heads.remove(linearId);
+                final Integer depth = depths.remove(linearId);
+                consumed.put(linearId, depth == null ? 0 : depth);
+            }
+            for (StateAndRef<ContractState> state : update.getProduced()) {
+                if (!(state.getState().getData() instanceof ScheduleClauseState)) continue;
+                final ScheduleClauseState schedule = (ScheduleClauseState) state.getState().getData();
+                final Integer previous = consumed.get(schedule.getLinearId());
+                final int depth = previous == null ? 0 : previous + 1;
+                depths.put(schedule.getLinearId(), depth);
+                heads.put(schedule.getLinearId(), state.getRef());
+                if (depth == 0) {
+                    reissuing.remove(schedule.getLinearId());
+                } else if (depth >= threshold && isLeader(schedule) && reissuing.add(schedule.getLinearId())) {
+                    reissue(schedule.getLinearId(), depth);
+                }
+            }
+        }
+    }
+
+    private boolean isLeader(ScheduleClauseState schedule) {
+        return schedule.getEmployers() != null && !schedule.getEmployers().isEmpty() &&
+                serviceHub.getMyInfo().getLegalIdentities().contains(schedule.getEmployers().get(0));
+    }
+
+    private void reissue(UniqueIdentifier linearId, int depth) {
+        logger.info("Reissuing schedule {} after {} transactions", linearId, depth);
+        starter.execute(() -> serviceHub.startFlow(new ReissueScheduleFlow(linearId)).getReturnValue().then(result -> {
+            try {
+                result.get();
+            } catch (Exception e) {
+                logger.warn("Could not reissue schedule " + linearId, e);
+                synchronized (depths) {
+                    // Try again after the schedule's next transaction.
+                    reissuing.remove(linearId);
+                }
+            }
+            return null;
+        }));
+    }
+}
@@ -0,0 +1,126 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.ReferencedStateAndRef;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Truncates the back-chain of a [ScheduleClauseState]. Every participant signs a transaction issuing an exact copy
+ * of the schedule with no inputs, so a party resolving the copy only has to fetch that one transaction, and then a
+ * transaction retiring the original, which cites the copy as a reference input. Started by hand or by the
+ * [ReissuancePolicyService] once a schedule's chain gets long.
+ *
+ * The copy is issued first, so the schedule is never lost: if the retirement fails, both states stay in the vault
+ * and no schedule flow will move either, since a schedule must resolve to a single state. Running the flow again
+ * finds the copy and only retires the original.
+ *
+ *  linearId the schedule to reissue.
+ *
+ * Returns the transaction that issued the copy.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+@StartableByService
+public class ReissueScheduleFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier linearId;
+
+    private final ProgressTracker.Step REISSUING = new ProgressTracker.Step("Reissuing the schedule with no history.");
+    private final ProgressTracker.Step RETIRING = new ProgressTracker.Step("Retiring the original schedule.");
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker(REISSUING, RETIRING);
+
+    public ReissueScheduleFlow(UniqueIdentifier linearId) {
+        this.linearId = linearId;
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        List<StateAndRef<ScheduleClauseState>> states = getServiceHub().getVaultService().queryBy(ScheduleClauseState.class,
+                new QueryCriteria.LinearStateQueryCriteria(null, Collections.singletonList(linearId),
+                        Vault.StateStatus.UNCONSUMED, null)).getStates();
+        StateAndRef<ScheduleClauseState> retiredStateAndRef;
+        StateAndRef<ScheduleClauseState> reissuedStateAndRef = null;
+        if (states.size() == 1) {
+            retiredStateAndRef = states.get(0);
+        } else if (states.size() == 2 && isCopyOf(states.get(1), states.get(0))) {
+            retiredStateAndRef = states.get(0);
+            reissuedStateAndRef = states.get(1);
+        } else if (states.size() == 2 && isCopyOf(states.get(0), states.get(1))) {
+            retiredStateAndRef = states.get(1);
+            reissuedStateAndRef = states.get(0);
+        } else {
+            throw new FlowException(String.format("Schedule with id %s not found.", linearId));
+        }
+        ScheduleClauseState schedule = retiredStateAndRef.getState().getData();
+        if (!schedule.getParticipants().contains(getOurIdentity())) {
+            throw new FlowException("Only a participant can reissue schedule " + linearId + ".");
+        }
+        List<PublicKey> requiredSigners = schedule.getParticipantKeys();
+
+        progressTracker.setCurrentStep(REISSUING);
+        SignedTransaction reissue;
+        if (reissuedStateAndRef == null) {
+            TransactionBuilder reissueBuilder = new TransactionBuilder(retiredStateAndRef.getState().getNotary())
+                    .addOutputState(schedule, ScheduleClauseContract.ID)
+                    .addCommand(new Command<>(
+                            new ScheduleClauseContract.Commands.Reissue(retiredStateAndRef.getRef(), schedule),
+                            requiredSigners));
+            // The copy's parties are set anew, so it cites the project header; only the header's own short chain
+            // comes with it.
+            withProjectReference(reissueBuilder, schedule);
+            reissueBuilder.verify(getServiceHub());
+            reissue = collectSignaturesAndFinalise(getServiceHub().signInitialTransaction(reissueBuilder), schedule,
+                    requiredSigners);
+            reissuedStateAndRef = reissue.getTx().outRef(0);
+        } else {
+            // An earlier run issued the copy but didn't retire the original.
+            reissue = getServiceHub().getValidatedTransactions().getTransaction(reissuedStateAndRef.getRef().getTxhash());
+        }
+
+        progressTracker.setCurrentStep(RETIRING);
+        TransactionBuilder retireBuilder = new TransactionBuilder(retiredStateAndRef.getState().getNotary())
+                .addInputState(retiredStateAndRef)
+                .addReferenceState(new ReferencedStateAndRef<>(reissuedStateAndRef))
+                .addCommand(new Command<>(new ScheduleClauseContract.Commands.Retire(), requiredSigners));
+        retireBuilder.verify(getServiceHub());
+        collectSignaturesAndFinalise(getServiceHub().signInitialTransaction(retireBuilder), schedule, requiredSigners);
+
+        return reissue;
+    }
+
+    // Whether [copy] was issued by a Reissue of [original].
+    private boolean isCopyOf(StateAndRef<ScheduleClauseState> copy, StateAndRef<ScheduleClauseState> original) {
+        SignedTransaction issuance = getServiceHub().getValidatedTransactions().getTransaction(copy.getRef().getTxhash());
+        return issuance != null && issuance.getTx().getCommands().stream()
+                .map(Command::getValue)
+                .anyMatch(command -> command instanceof ScheduleClauseContract.Commands.Reissue &&
+                        original.getRef().equals(((ScheduleClauseContract.Commands.Reissue) command).getRetiredRef()));
+    }
+}
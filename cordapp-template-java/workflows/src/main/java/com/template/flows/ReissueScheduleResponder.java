@@ -0,0 +1,76 @@
+package com.template.flows;
+
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.StateRef;
+import net.corda.core.flows.FlowException;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+
+import java.util.Collections;
+import java.util.List;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(ReissueScheduleFlow.class)
+public class ReissueScheduleResponder extends ScheduleResponderFlow {
+
+    public ReissueScheduleResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return ScheduleClauseState.class;
+    }
+
+    // The contract checks the copy against the schedule named in the Reissue command, so we check that it is our own
+    // copy of a schedule that is still live and not already being reissued. For a Retire, the contract checks the
+    // cited copy; we check it is one we recorded and that it is still live.
+    @Override
+    void checkSignedTransaction(SignedTransaction stx) throws FlowException {
+        for (Command<?> command : stx.getTx().getCommands()) {
+            if (command.getValue() instanceof ScheduleClauseContract.Commands.Reissue) {
+                checkReissue(stx, (ScheduleClauseContract.Commands.Reissue) command.getValue());
+            } else if (command.getValue() instanceof ScheduleClauseContract.Commands.Retire) {
+                checkRetire(stx);
+            }
+        }
+    }
+
+    private void checkReissue(SignedTransaction stx, ScheduleClauseContract.Commands.Reissue reissue) throws FlowException {
+        StateRef retiredRef = reissue.getRetiredRef();
+        List<StateAndRef<ScheduleClauseState>> ours = unconsumed(Collections.singletonList(retiredRef));
+        if (ours.isEmpty() || !ours.get(0).getState().getData().isSnapshotOf(reissue.getRetired())) {
+            throw new FlowException("Schedule " + retiredRef + " must be one of our live schedules to be reissued.");
+        }
+
+        ScheduleClauseState reissued = stx.getTx().outputsOfType(ScheduleClauseState.class).get(0);
+        boolean alreadyReissued = getServiceHub().getVaultService().queryBy(ScheduleClauseState.class,
+                new QueryCriteria.LinearStateQueryCriteria(null,
+                        Collections.singletonList(reissued.getLinearId()),
+                        Vault.StateStatus.UNCONSUMED,
+                        null)).getStates().size() > 1;
+        if (alreadyReissued) {
+            throw new FlowException("Schedule " + reissued.getLinearId() + " is already being reissued.");
+        }
+    }
+
+    private void checkRetire(SignedTransaction stx) throws FlowException {
+        if (unconsumed(stx.getTx().getReferences()).isEmpty()) {
+            throw new FlowException("A schedule can only be retired once we hold its reissued copy.");
+        }
+    }
+
+    private List<StateAndRef<ScheduleClauseState>> unconsumed(List<StateRef> refs) {
+        return getServiceHub().getVaultService().queryBy(ScheduleClauseState.class,
+                new QueryCriteria.VaultQueryCriteria(Vault.StateStatus.UNCONSUMED, null, refs)).getStates();
+    }
+}
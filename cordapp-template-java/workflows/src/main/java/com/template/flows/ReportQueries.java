@@ -0,0 +1,53 @@
+package com.template.flows;
+
+import com.template.schema.PersistentReport;
+import com.template.states.ReportState;
+import com.template.states.ReportStatus;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.node.ServiceHub;
+import net.corda.core.node.services.vault.Builder;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.node.services.vault.QueryCriteriaUtils;
+import net.corda.core.node.services.vault.Sort;
+import net.corda.core.node.services.vault.SortAttribute;
+
+import java.util.Collections;
+import java.util.List;
+
+import static net.corda.core.node.services.vault.QueryCriteriaUtils.DEFAULT_PAGE_NUM;
+
+/**
+ * Vault queries over the [ReportSchemaV1] table.
+ */
+public class ReportQueries {
+
+    private ReportQueries() {}
+
+    // The unconsumed ISSUED report with the most recent survey for the job with [jctJobReference], or null if the
+    // job has none. Served by the (jct_job_reference, status, date_of_survey) index with a page of one.
+    public static StateAndRef<ReportState> latestIssuedReportFor(ServiceHub serviceHub, String jctJobReference) {
+        final List<StateAndRef<ReportState>> reports = reportsFor(serviceHub, jctJobReference, ReportStatus.ISSUED, 1);
+        return reports.isEmpty() ? null : reports.get(0);
+    }
+
+    // Up to [limit] unconsumed reports for the job with [jctJobReference] in [status], most recent survey first.
+    public static List<StateAndRef<ReportState>> reportsFor(ServiceHub serviceHub, String jctJobReference,
+                                                            ReportStatus status, int limit) {
+        final QueryCriteria criteria;
+        final Sort latestFirst;
+        try {
+            criteria = new QueryCriteria.VaultCustomQueryCriteria(
+                    Builder.equal(QueryCriteriaUtils.getField("jctJobReference", PersistentReport.class), jctJobReference))
+                    .and(new QueryCriteria.VaultCustomQueryCriteria(
+                            Builder.equal(QueryCriteriaUtils.getField("status", PersistentReport.class), status.name())));
+            latestFirst = new Sort(Collections.singleton(new Sort.SortColumn(
+                    new SortAttribute.Custom(PersistentReport.class, "dateOfSurvey"), Sort.Direction.DESC)));
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        return serviceHub.getVaultService()
+                .queryBy(ReportState.class, criteria, new PageSpecification(DEFAULT_PAGE_NUM, limit), latestFirst)
+                .getStates();
+    }
+}
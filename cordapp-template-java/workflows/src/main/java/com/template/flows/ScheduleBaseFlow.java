@@ -0,0 +1,133 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JobTransition;
+import com.template.states.JCTJob;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.identity.Party;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An abstract FlowLogic class that is subclassed by the flows acting on an existing [ScheduleClauseState] to
+ * provide helper methods.
+ */
+abstract class ScheduleBaseFlow<T> extends FlowLogic<T> {
+
+    // Served from the node's [ScheduleCacheService], which only queries the vault on a miss.
+    StateAndRef<ScheduleClauseState> getScheduleByLinearId(UniqueIdentifier linearId) throws FlowException {
+        StateAndRef<ScheduleClauseState> schedule = getServiceHub().cordaService(ScheduleCacheService.class)
+                .getSchedule(linearId);
+        if (schedule == null) {
+            throw new FlowException(String.format("Schedule with id %s not found.", linearId));
+        }
+        return schedule;
+    }
+
+    // Cites the project's header as a reference input, so the contract checks the schedule's parties against it.
+    TransactionBuilder withProjectReference(TransactionBuilder txBuilder, ScheduleClauseState schedule) throws FlowException {
+        return ProjectReferences.withLatestHeader(getServiceHub(), txBuilder, schedule.getProjectName());
+    }
+
+    Integer findJob(ScheduleClauseState schedule, String reference) throws FlowException {
+        int index = schedule.jobIndexOf(reference);
+        if (index < 0) {
+            throw new FlowException("Cannot find any JCTJob with reference [" + reference + "]");
+        }
+        return index;
+    }
+
+    // For job lists held off-ledger, which have no index.
+    Integer findJob(List<JCTJob> jobs, String reference) throws FlowException {
+        for (int i = 0; i < jobs.size(); i++) {
+            if (jobs.get(i).getReference().equals(reference)) {
+                return i;
+            }
+        }
+        throw new FlowException("Cannot find any JCTJob with reference [" + reference + "]");
+    }
+
+    List<PublicKey> getOwningKeys(List<Party> parties) {
+        List<PublicKey> keys = new ArrayList<PublicKey>();
+        parties.forEach((party) -> keys.add(party.getOwningKey()));
+        return keys;
+    }
+
+    // Opens a session with every participant of the schedule other than ourselves.
+    @Suspendable
+    List<FlowSession> counterpartySessions(ScheduleClauseState schedule) {
+        Set<Party> parties = new LinkedHashSet<>();
+        parties.addAll(schedule.getEmployers());
+        parties.addAll(schedule.getContractors());
+        parties.remove(getOurIdentity());
+
+        List<FlowSession> sessions = new ArrayList<>();
+        for (Party party : parties) {
+            sessions.add(initiateFlow(party));
+        }
+        return sessions;
+    }
+
+    // The keys [ScheduleClauseContract] and [JCTJobContract] expect on a [transition] started by us.
+    List<PublicKey> requiredSigners(ScheduleClauseState schedule, JobTransition transition) throws FlowException {
+        switch (transition) {
+            case START:
+                return schedule.getParticipantKeys();
+            case DECLARE_COMPLETE:
+                if (!schedule.getContractors().contains(getOurIdentity())) {
+                    throw new FlowException("Only a contractor can declare jobs complete.");
+                }
+                return Collections.singletonList(getOurIdentity().getOwningKey());
+            default:
+                if (!schedule.getEmployers().contains(getOurIdentity())) {
+                    throw new FlowException("Only an employer can " + transition + " jobs.");
+                }
+                return getOwningKeys(schedule.getEmployers());
+        }
+    }
+
+    // The job after [transition]; declaring a job complete records the quality surveyor's link in its description.
+    JCTJob transitionJob(JCTJob job, JobTransition transition, String qualitySurveyorLink) throws FlowException {
+        JCTJob.JCTJobBuilder builder = job.copyBuilder().withStatus(transition.getTo());
+        if (transition == JobTransition.DECLARE_COMPLETE) {
+            if (qualitySurveyorLink == null) {
+                throw new FlowException("A Quality Surveyor Link is required to declare jobs complete.");
+            }
+            builder.withDescription(job.getDescription() + " - Quality Surveyor Link: " + qualitySurveyorLink);
+        }
+        return builder.build();
+    }
+
+    // Every counterparty of [schedule] is told whether its signature is needed, only the signers are asked for one
+    // (all at once), and the transaction is then finalised with everybody. Pairs with [ScheduleResponderFlow].
+    @Suspendable
+    SignedTransaction collectSignaturesAndFinalise(SignedTransaction partiallySignedTransaction,
+                                                   ScheduleClauseState schedule,
+                                                   List<PublicKey> requiredSigners) throws FlowException {
+        List<FlowSession> sessions = counterpartySessions(schedule);
+        List<FlowSession> signerSessions = new ArrayList<>();
+        for (FlowSession session : sessions) {
+            boolean mustSign = requiredSigners.contains(session.getCounterparty().getOwningKey());
+            session.send(mustSign);
+            if (mustSign) {
+                signerSessions.add(session);
+            }
+        }
+
+        final SignedTransaction fullySignedTx = subFlow(new ParallelCollectSignaturesFlow(partiallySignedTransaction,
+                signerSessions));
+
+        // We finalise the transaction and then send it to all the counterparties.
+        return subFlow(new FinalityFlow(fullySignedTx, sessions));
+    }
+}
@@ -0,0 +1,19 @@
+package com.template.flows;
+
+/**
+ * The JMX view of a node's [ScheduleCacheService].
+ */
+public interface ScheduleCacheMXBean {
+    long getHits();
+
+    long getMisses();
+
+    long getEvictions();
+
+    // Entries dropped or replaced because the vault recorded a newer or consuming transaction.
+    long getInvalidations();
+
+    int getSize();
+
+    int getCapacity();
+}
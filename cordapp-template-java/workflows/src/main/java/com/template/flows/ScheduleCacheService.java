@@ -0,0 +1,224 @@
+package com.template.flows;
+
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.node.AppServiceHub;
+import net.corda.core.node.services.CordaService;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.serialization.SingletonSerializeAsToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.corda.core.node.services.vault.QueryCriteriaUtils.DEFAULT_PAGE_NUM;
+
+/**
+ * Keeps the latest unconsumed [ScheduleClauseState] of each schedule the node has recently worked on, so flows can
+ * resolve a schedule by linear id without a vault query.
+ *
+ * Entries are held in a bounded LRU. Once the first schedule is looked up, the service follows the vault: a
+ * recorded schedule replaces the entry for its linear id and a consumed one drops it. A cached state also keeps its
+ * reference -> index map, so job lookups on a hit cost nothing either. The capacity is read from the CorDapp config
+ * key `scheduleCache.capacity`.
+ *
+ * A miss queries the vault outside the lock, so the state it finds may be consumed before it is cached. Each
+ * linear id being loaded is tracked while its query runs, and a vault update touching that id marks the load
+ * stale; a stale load is returned to its caller but never cached, so the cache can't keep a consumed state.
+ */
+@CordaService
+public class ScheduleCacheService extends SingletonSerializeAsToken implements ScheduleCacheMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleCacheService.class);
+    private static final String CAPACITY_KEY = "scheduleCache.capacity";
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final AppServiceHub serviceHub;
+    private final int capacity;
+    private final Map<UniqueIdentifier, StateAndRef<ScheduleClauseState>> entries;
+    // The vault queries in flight for each linear id. Guarded by [entries], like everything else mutable here.
+    private final Map<UniqueIdentifier, Load> loading = new HashMap<>();
+    private boolean tracking = false;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ScheduleCacheService(AppServiceHub serviceHub) {
+        this.serviceHub = serviceHub;
+        this.capacity = serviceHub.getAppContext().getConfig().exists(CAPACITY_KEY)
+                ? serviceHub.getAppContext().getConfig().getInt(CAPACITY_KEY)
+                : DEFAULT_CAPACITY;
+        this.entries = new LinkedHashMap<UniqueIdentifier, StateAndRef<ScheduleClauseState>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UniqueIdentifier, StateAndRef<ScheduleClauseState>> eldest) {
+                if (size() > capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+        registerMBean();
+    }
+
+    private void registerMBean() {
+        try {
+            final String node = serviceHub.getMyInfo().getLegalIdentities().get(0).getName().toString();
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("com.template:type=ScheduleCache,node=" + ObjectName.quote(node)));
+        } catch (JMException e) {
+            logger.warn("Could not register the schedule cache MBean", e);
+        }
+    }
+
+    // The unconsumed schedule with [linearId], or null if the vault has none.
+    public StateAndRef<ScheduleClauseState> getSchedule(UniqueIdentifier linearId) {
+        startTracking();
+        final Load load;
+        synchronized (entries) {
+            final StateAndRef<ScheduleClauseState> cached = entries.get(linearId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            load = loading.computeIfAbsent(linearId, id -> new Load());
+            load.queries++;
+        }
+        misses.incrementAndGet();
+        try {
+            final StateAndRef<ScheduleClauseState> schedule = query(linearId);
+            if (schedule != null) {
+                warm(schedule);
+                synchronized (entries) {
+                    // The schedule was updated while we were querying, so what we found may be consumed already.
+                    if (!load.stale) {
+                        entries.putIfAbsent(linearId, schedule);
+                    }
+                }
+            }
+            return schedule;
+        } finally {
+            synchronized (entries) {
+                if (--load.queries == 0) {
+                    loading.remove(linearId);
+                }
+            }
+        }
+    }
+
+    private StateAndRef<ScheduleClauseState> query(UniqueIdentifier linearId) {
+        final QueryCriteria queryCriteria = new QueryCriteria.LinearStateQueryCriteria(
+                null,
+                Collections.singletonList(linearId),
+                Vault.StateStatus.UNCONSUMED,
+                null);
+        final List<StateAndRef<ScheduleClauseState>> schedules = serviceHub.getVaultService()
+                .queryBy(ScheduleClauseState.class, queryCriteria).getStates();
+        return schedules.size() == 1 ? schedules.get(0) : null;
+    }
+
+    // Builds the schedule's reference -> index map before it's cached, so that no flow pays for it on a hit.
+    private static void warm(StateAndRef<ScheduleClauseState> schedule) {
+        schedule.getState().getData().hasUniqueJobReferences();
+    }
+
+    // Subscribed on first use rather than in the constructor, which runs before the node has finished starting.
+    // The subscription is made under the lock, so no caller queries the vault before updates are being followed.
+    private void startTracking() {
+        synchronized (entries) {
+            if (tracking) return;
+            serviceHub.getVaultService()
+                    .trackBy(ScheduleClauseState.class,
+                            new QueryCriteria.VaultQueryCriteria(Vault.StateStatus.UNCONSUMED),
+                            new PageSpecification(DEFAULT_PAGE_NUM, 1))
+                    .getUpdates()
+                    .subscribe(this::onUpdate, error -> logger.error("Schedule cache stopped tracking the vault", error));
+            tracking = true;
+        }
+    }
+
+    private void onUpdate(Vault.Update<ScheduleClauseState> update) {
+        synchronized (entries) {
+            final Set<UniqueIdentifier> dropped = new HashSet<>();
+            for (StateAndRef<ScheduleClauseState> consumed : update.getConsumed()) {
+                final UniqueIdentifier linearId = consumed.getState().getData().getLinearId();
+                markStale(linearId);
+                final StateAndRef<ScheduleClauseState> cached = entries.get(linearId);
+                if (cached != null && cached.getRef().equals(consumed.getRef())) {
+                    entries.remove(linearId);
+                    dropped.add(linearId);
+                    invalidations.incrementAndGet();
+                }
+            }
+            for (StateAndRef<ScheduleClauseState> produced : update.getProduced()) {
+                final UniqueIdentifier linearId = produced.getState().getData().getLinearId();
+                markStale(linearId);
+                // Only schedules already in use are refreshed; recording one doesn't make it hot.
+                if (dropped.contains(linearId) || entries.containsKey(linearId)) {
+                    warm(produced);
+                    entries.put(linearId, produced);
+                }
+            }
+        }
+    }
+
+    // Called with [entries] held.
+    private void markStale(UniqueIdentifier linearId) {
+        final Load load = loading.get(linearId);
+        if (load != null) {
+            load.stale = true;
+        }
+    }
+
+    // The vault queries running for one linear id, and whether the schedule changed while they ran.
+    private static class Load {
+        private int queries;
+        private boolean stale;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+}
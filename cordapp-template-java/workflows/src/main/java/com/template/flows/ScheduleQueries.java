@@ -0,0 +1,57 @@
+package com.template.flows;
+
+import com.template.schema.PersistentSchedule;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.node.ServiceHub;
+import net.corda.core.node.services.vault.Builder;
+import net.corda.core.node.services.vault.CriteriaExpression;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.node.services.vault.QueryCriteriaUtils;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vault queries over the [ScheduleSchemaV1] tables, so that flows can filter schedules by their header or by their
+ * jobs in SQL rather than loading and deserialising every unconsumed schedule.
+ */
+public class ScheduleQueries {
+
+    private ScheduleQueries() {}
+
+    // The page [paging] of the unconsumed schedules of the project named [projectName].
+    public static List<StateAndRef<ScheduleClauseState>> byProjectName(ServiceHub serviceHub, String projectName,
+                                                                       PageSpecification paging) {
+        final CriteriaExpression projectNameIs;
+        try {
+            projectNameIs = Builder.equal(QueryCriteriaUtils.getField("projectName", PersistentSchedule.class), projectName);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+        return serviceHub.getVaultService()
+                .queryBy(ScheduleClauseState.class, new QueryCriteria.VaultCustomQueryCriteria(projectNameIs), paging)
+                .getStates();
+    }
+
+    // The page [paging] of the unconsumed schedules with at least one job in [status] that is expected to end
+    // between [from] and [to], both inclusive. Committed schedules carry no job rows and are never returned.
+    public static List<StateAndRef<ScheduleClauseState>> withJobsDue(ServiceHub serviceHub, JCTJobStatus status,
+                                                                     LocalDate from, LocalDate to,
+                                                                     PageSpecification paging) {
+        // The job table is a child of the schedule table, so the matching schedules are found with JPA.
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("status", status.name());
+        parameters.put("from", from);
+        parameters.put("to", to);
+        return PersistentStateRefs.unconsumed(serviceHub, ScheduleClauseState.class,
+                "exists (select j from PersistentScheduleJob j " +
+                        "where j.schedule.stateRef.txId = v.stateRef.txId and j.schedule.stateRef.index = v.stateRef.index " +
+                        "and j.status = :status and j.expectedEndDate between :from and :to)",
+                parameters, paging);
+    }
+}
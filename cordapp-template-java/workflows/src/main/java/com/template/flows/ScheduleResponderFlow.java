@@ -0,0 +1,62 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.crypto.SecureHash;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+
+import static net.corda.core.contracts.ContractsDSL.requireThat;
+
+/**
+ * Responder side of [ScheduleBaseFlow.collectSignaturesAndFinalise]: signs only when the initiator says our
+ * signature is required, then records the finalised transaction.
+ */
+abstract class ScheduleResponderFlow extends FlowLogic<SignedTransaction> {
+    private final FlowSession otherPartySession;
+
+    ScheduleResponderFlow(FlowSession otherPartySession) {
+        this.otherPartySession = otherPartySession;
+    }
+
+    // The type every output of the transaction must have.
+    abstract Class<? extends ContractState> expectedOutputType();
+
+    // Whether [output] may be produced by the transaction. Defaults to being an [expectedOutputType].
+    boolean isExpectedOutput(ContractState output) {
+        return expectedOutputType().isInstance(output);
+    }
+
+    // Further checks a responder needs before signing [stx]. Throwing rejects the transaction.
+    void checkSignedTransaction(SignedTransaction stx) throws FlowException {}
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        final Class<? extends ContractState> outputType = expectedOutputType();
+
+        class SignTxFlow extends ParallelSignTransactionFlow {
+            private SignTxFlow(FlowSession otherPartySession) {
+                super(otherPartySession);
+            }
+
+            @Override
+            protected void checkTransaction(SignedTransaction stx) throws FlowException {
+                requireThat(require -> {
+                    require.using("This transaction must only output " + outputType.getSimpleName() + "s",
+                            stx.getTx().getOutputStates().stream().allMatch(ScheduleResponderFlow.this::isExpectedOutput));
+                    return null;
+                });
+                checkSignedTransaction(stx);
+            }
+        }
+
+        SecureHash expectedTxId = null;
+        boolean mustSign = otherPartySession.receive(Boolean.class).unwrap(it -> it);
+        if (mustSign) {
+            expectedTxId = subFlow(new SignTxFlow(otherPartySession)).getId();
+        }
+
+        return subFlow(new ReceiveFinalityFlow(otherPartySession, expectedTxId));
+    }
+}
@@ -0,0 +1,108 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JobMerkleTree;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.states.JCTJob;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.CommandData;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Records that the employers have paid the amount due on a [ScheduleClauseState]: the confirmed value net of
+ * retention, less what has already been paid.
+ *
+ *  linearId the schedule being paid.
+ *  jobReference a CONFIRMED job the payment is made against.
+ *  jobs the caller's copy of the committed jobs, in order, when the schedule's jobs were committed with
+ *  [CommitScheduleJobsFlow]; null otherwise. The paid job is proven against the schedule's root, and every job is
+ *  revealed unless the schedule allows payments on account.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class SendSchedulePaymentFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier linearId;
+    private final String jobReference;
+    private final List<JCTJob> jobs;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public SendSchedulePaymentFlow(UniqueIdentifier linearId, String jobReference, List<JCTJob> jobs) {
+        this.linearId = linearId;
+        this.jobReference = jobReference;
+        this.jobs = jobs;
+    }
+
+    public SendSchedulePaymentFlow(UniqueIdentifier linearId, String jobReference) {
+        this(linearId, jobReference, null);
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        StateAndRef<ScheduleClauseState> inputStateAndRef = getScheduleByLinearId(linearId);
+        ScheduleClauseState inputState = inputStateAndRef.getState().getData();
+        if (!inputState.getEmployers().contains(getOurIdentity())) {
+            throw new FlowException("Only an employer can send payments.");
+        }
+        CommandData command = inputState.isJobsCommitted()
+                ? committedPayment(inputState)
+                : new ScheduleClauseContract.Commands.SendPayment(findJob(inputState, jobReference), jobReference);
+
+        Money amountDue = inputState.getAmountDue();
+        if (!amountDue.isPositive()) {
+            throw new FlowException(String.format("Nothing is due on schedule %s.", linearId));
+        }
+        ScheduleClauseState outputState = inputState.copyBuilder()
+                .withPreviousCumulativeValue(inputState.getPreviousCumulativeValue().plus(amountDue))
+                .build();
+
+        List<PublicKey> requiredSigners = getOwningKeys(inputState.getEmployers());
+        TransactionBuilder txBuilder = new TransactionBuilder(inputStateAndRef.getState().getNotary())
+                .addInputState(inputStateAndRef)
+                .addOutputState(outputState, ScheduleClauseContract.ID)
+                .addCommand(new Command<>(command, requiredSigners));
+
+        withProjectReference(txBuilder, inputStateAndRef.getState().getData());
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+        return collectSignaturesAndFinalise(partiallySignedTransaction, inputState, requiredSigners);
+    }
+
+    // Proves the paid job against the committed root, revealing every job when that's needed to show they're all
+    // confirmed.
+    private ScheduleClauseContract.Commands.SendCommittedPayment committedPayment(ScheduleClauseState schedule) throws FlowException {
+        if (jobs == null || !schedule.getJobsRoot().equals(JobMerkleTree.root(jobs))) {
+            throw new FlowException("The given jobs do not match the schedule's committed root.");
+        }
+        Integer jobIndex = findJob(jobs, jobReference);
+        return new ScheduleClauseContract.Commands.SendCommittedPayment(jobs.get(jobIndex),
+                JobMerkleTree.proof(jobs, jobIndex),
+                Boolean.TRUE.equals(schedule.getAllowAccountPayments()) ? null : jobs);
+    }
+}
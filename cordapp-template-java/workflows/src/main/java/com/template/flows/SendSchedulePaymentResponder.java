@@ -0,0 +1,22 @@
+package com.template.flows;
+
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(SendSchedulePaymentFlow.class)
+public class SendSchedulePaymentResponder extends ScheduleResponderFlow {
+
+    public SendSchedulePaymentResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return ScheduleClauseState.class;
+    }
+}
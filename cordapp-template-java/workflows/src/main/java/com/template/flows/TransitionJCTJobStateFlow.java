@@ -0,0 +1,96 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JCTJobContract;
+import com.template.contracts.JobTransition;
+import com.template.states.JCTJobState;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.ReferencedStateAndRef;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves a single [JCTJobState] through a [JobTransition]. Only the job state is consumed; the schedule is
+ * attached as a reference input, so jobs of the same schedule can be moved concurrently.
+ *
+ *  jobStateId the linearId of the job state.
+ *  transition the status change applied to the job.
+ *  qualitySurveyorLink the survey link appended to the job's description when declaring it complete.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class TransitionJCTJobStateFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier jobStateId;
+    private final JobTransition transition;
+    private final String qualitySurveyorLink;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public TransitionJCTJobStateFlow(UniqueIdentifier jobStateId, JobTransition transition, String qualitySurveyorLink) {
+        this.jobStateId = jobStateId;
+        this.transition = transition;
+        this.qualitySurveyorLink = qualitySurveyorLink;
+    }
+
+    public TransitionJCTJobStateFlow(UniqueIdentifier jobStateId, JobTransition transition) {
+        this(jobStateId, transition, null);
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        QueryCriteria queryCriteria = new QueryCriteria.LinearStateQueryCriteria(
+                null,
+                Collections.singletonList(jobStateId),
+                Vault.StateStatus.UNCONSUMED,
+                null);
+        List<StateAndRef<JCTJobState>> jobStates = getServiceHub().getVaultService()
+                .queryBy(JCTJobState.class, queryCriteria).getStates();
+        if (jobStates.size() != 1) {
+            throw new FlowException(String.format("Job state with id %s not found.", jobStateId));
+        }
+        StateAndRef<JCTJobState> inputStateAndRef = jobStates.get(0);
+        JCTJobState inputState = inputStateAndRef.getState().getData();
+
+        StateAndRef<ScheduleClauseState> scheduleStateAndRef = getScheduleByLinearId(inputState.getScheduleId());
+        ScheduleClauseState schedule = scheduleStateAndRef.getState().getData();
+
+        JCTJobState outputState = inputState.withJob(transitionJob(inputState.getJob(), transition, qualitySurveyorLink));
+        List<PublicKey> requiredSigners = requiredSigners(schedule, transition);
+
+        TransactionBuilder txBuilder = new TransactionBuilder(inputStateAndRef.getState().getNotary())
+                .addInputState(inputStateAndRef)
+                .addReferenceState(new ReferencedStateAndRef<>(scheduleStateAndRef))
+                .addOutputState(outputState, JCTJobContract.ID)
+                .addCommand(new Command<>(new JCTJobContract.Commands.Transition(transition), requiredSigners));
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+        return collectSignaturesAndFinalise(partiallySignedTransaction, schedule, requiredSigners);
+    }
+}
@@ -0,0 +1,22 @@
+package com.template.flows;
+
+import com.template.states.JCTJobState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(TransitionJCTJobStateFlow.class)
+public class TransitionJCTJobStateResponder extends ScheduleResponderFlow {
+
+    public TransitionJCTJobStateResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return JCTJobState.class;
+    }
+}
@@ -0,0 +1,121 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JobTransition;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.contracts.ScheduleValuation;
+import com.template.states.JCTJob;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.CommandData;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves several jobs of one [ScheduleClauseState] through the same [JobTransition] in a single transaction, so
+ * that they share one signature round and one notarisation.
+ *
+ * Should be run by a contractor for [JobTransition.DECLARE_COMPLETE] and by an employer for
+ * [JobTransition.CONFIRM_COMPLETE] and [JobTransition.CONTINUE].
+ *
+ *  linearId the schedule holding the jobs.
+ *  jobReferences the references of the jobs to move.
+ *  transition the status change applied to every job.
+ *  qualitySurveyorLink the survey link appended to each job's description when declaring jobs complete.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class TransitionJCTJobsFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier linearId;
+    private final List<String> jobReferences;
+    private final JobTransition transition;
+    private final String qualitySurveyorLink;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public TransitionJCTJobsFlow(UniqueIdentifier linearId,
+                                 List<String> jobReferences,
+                                 JobTransition transition,
+                                 String qualitySurveyorLink) {
+        this.linearId = linearId;
+        this.jobReferences = jobReferences;
+        this.transition = transition;
+        this.qualitySurveyorLink = qualitySurveyorLink;
+    }
+
+    public TransitionJCTJobsFlow(UniqueIdentifier linearId, List<String> jobReferences, JobTransition transition) {
+        this(linearId, jobReferences, transition, null);
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        StateAndRef<ScheduleClauseState> inputStateAndRef = getScheduleByLinearId(linearId);
+        ScheduleClauseState inputState = inputStateAndRef.getState().getData();
+
+        List<Integer> jobIndices = new ArrayList<>();
+        List<JCTJob> outputJobs = new ArrayList<>(inputState.getJobs());
+        for (String reference : jobReferences) {
+            Integer jobIndex = findJob(inputState, reference);
+            outputJobs.set(jobIndex, transitionJob(outputJobs.get(jobIndex), transition, qualitySurveyorLink));
+            jobIndices.add(jobIndex);
+        }
+        Money confirmedDelta = ScheduleValuation.delta(inputState.getJobs(), outputJobs, jobIndices,
+                ScheduleValuation.currencyOf(inputState));
+        ScheduleClauseState outputState = inputState.copyBuilder()
+                .withJobs(outputJobs)
+                .withNetCumulativeValue(inputState.getNetCumulativeValue().plus(confirmedDelta))
+                .build();
+
+        List<PublicKey> requiredSigners = requiredSigners(inputState, transition);
+        Command<CommandData> command = new Command<>(batchCommand(jobIndices), requiredSigners);
+
+        TransactionBuilder txBuilder = new TransactionBuilder(inputStateAndRef.getState().getNotary())
+                .addInputState(inputStateAndRef)
+                .addOutputState(outputState, ScheduleClauseContract.ID)
+                .addCommand(command);
+
+        withProjectReference(txBuilder, inputStateAndRef.getState().getData());
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+
+        return collectSignaturesAndFinalise(partiallySignedTransaction, inputState, requiredSigners);
+    }
+
+    private CommandData batchCommand(List<Integer> jobIndices) {
+        switch (transition) {
+            case START:
+                return new ScheduleClauseContract.Commands.StartJobs(jobIndices);
+            case DECLARE_COMPLETE:
+                return new ScheduleClauseContract.Commands.DeclareJobsComplete(jobIndices);
+            case CONFIRM_COMPLETE:
+                return new ScheduleClauseContract.Commands.ConfirmJobsComplete(jobIndices);
+            default:
+                return new ScheduleClauseContract.Commands.ContinueJobs(jobIndices);
+        }
+    }
+}
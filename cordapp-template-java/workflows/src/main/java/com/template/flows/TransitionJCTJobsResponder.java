@@ -0,0 +1,22 @@
+package com.template.flows;
+
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.flows.FlowSession;
+import net.corda.core.flows.InitiatedBy;
+
+// ******************
+// * Responder flow *
+// ******************
+@InitiatedBy(TransitionJCTJobsFlow.class)
+public class TransitionJCTJobsResponder extends ScheduleResponderFlow {
+
+    public TransitionJCTJobsResponder(FlowSession otherPartySession) {
+        super(otherPartySession);
+    }
+
+    @Override
+    Class<? extends ContractState> expectedOutputType() {
+        return ScheduleClauseState.class;
+    }
+}
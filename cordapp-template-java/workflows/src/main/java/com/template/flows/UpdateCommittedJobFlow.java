@@ -0,0 +1,115 @@
+package com.template.flows;
+
+import co.paralleluniverse.fibers.Suspendable;
+import com.template.contracts.JobMerkleTree;
+import com.template.contracts.JobTransition;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.contracts.ScheduleValuation;
+import com.template.states.JCTJob;
+import com.template.states.Money;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.contracts.Command;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.*;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.core.utilities.ProgressTracker;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves one job of a schedule whose jobs were committed with [CommitScheduleJobsFlow]. The caller supplies its
+ * off-ledger copy of the jobs, which must match the schedule's root; the transaction only carries the old job,
+ * the new job and the inclusion proof. The new job is in the command, so every party can update its own copy.
+ *
+ *  linearId the schedule holding the job.
+ *  jobs the caller's copy of the committed jobs, in order.
+ *  jobReference the reference of the job to move.
+ *  transition the status change applied to the job.
+ *  qualitySurveyorLink the survey link appended to the job's description when declaring it complete.
+ */
+
+// ******************
+// * Initiator flow *
+// ******************
+@InitiatingFlow
+@StartableByRPC
+public class UpdateCommittedJobFlow extends ScheduleBaseFlow<SignedTransaction> {
+    private final UniqueIdentifier linearId;
+    private final List<JCTJob> jobs;
+    private final String jobReference;
+    private final JobTransition transition;
+    private final String qualitySurveyorLink;
+
+    /**
+     * The progress tracker provides checkpoints indicating the progress of the flow to observers.
+     */
+    private final ProgressTracker progressTracker = new ProgressTracker();
+
+    public UpdateCommittedJobFlow(UniqueIdentifier linearId,
+                                  List<JCTJob> jobs,
+                                  String jobReference,
+                                  JobTransition transition,
+                                  String qualitySurveyorLink) {
+        this.linearId = linearId;
+        this.jobs = jobs;
+        this.jobReference = jobReference;
+        this.transition = transition;
+        this.qualitySurveyorLink = qualitySurveyorLink;
+    }
+
+    public UpdateCommittedJobFlow(UniqueIdentifier linearId, List<JCTJob> jobs, String jobReference, JobTransition transition) {
+        this(linearId, jobs, jobReference, transition, null);
+    }
+
+    @Override
+    public ProgressTracker getProgressTracker() {
+        return progressTracker;
+    }
+
+    @Suspendable
+    @Override
+    public SignedTransaction call() throws FlowException {
+        StateAndRef<ScheduleClauseState> inputStateAndRef = getScheduleByLinearId(linearId);
+        ScheduleClauseState inputState = inputStateAndRef.getState().getData();
+        if (!inputState.isJobsCommitted()) {
+            throw new FlowException(String.format("The jobs of schedule %s are not committed.", linearId));
+        }
+        if (!inputState.getJobsRoot().equals(JobMerkleTree.root(jobs))) {
+            throw new FlowException("The given jobs do not match the schedule's committed root.");
+        }
+
+        Integer jobIndex = findJob(jobs, jobReference);
+        JCTJob oldJob = jobs.get(jobIndex);
+        JCTJob newJob = transitionJob(oldJob, transition, qualitySurveyorLink);
+        JobMerkleTree.Proof proof = JobMerkleTree.proof(jobs, jobIndex);
+
+        List<JCTJob> updatedJobs = new ArrayList<>(jobs);
+        updatedJobs.set(jobIndex, newJob);
+        Money confirmedDelta = ScheduleValuation.delta(oldJob, newJob, ScheduleValuation.currencyOf(inputState));
+        ScheduleClauseState outputState = inputState.copyBuilder()
+                .withJobsRoot(JobMerkleTree.root(updatedJobs), inputState.getCommittedJobCount())
+                .withNetCumulativeValue(inputState.getNetCumulativeValue().plus(confirmedDelta))
+                .build();
+
+        List<PublicKey> requiredSigners = requiredSigners(inputState, transition);
+        Command<ScheduleClauseContract.Commands.UpdateCommittedJob> command = new Command<>(
+                new ScheduleClauseContract.Commands.UpdateCommittedJob(oldJob, newJob, proof, transition), requiredSigners);
+
+        TransactionBuilder txBuilder = new TransactionBuilder(inputStateAndRef.getState().getNotary())
+                .addInputState(inputStateAndRef)
+                .addOutputState(outputState, ScheduleClauseContract.ID)
+                .addCommand(command);
+
+        withProjectReference(txBuilder, inputStateAndRef.getState().getData());
+
+        // Verifying the transaction.
+        txBuilder.verify(getServiceHub());
+
+        SignedTransaction partiallySignedTransaction = getServiceHub().signInitialTransaction(txBuilder);
+        return collectSignaturesAndFinalise(partiallySignedTransaction, inputState, requiredSigners);
+    }
+}
@@ -3,13 +3,19 @@ package com.template;
 import com.google.common.collect.ImmutableList;
 import com.template.flows.CreateJCTScheduleFlow;
 import com.template.flows.CreateJCTScheduleResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
 import com.template.states.JCTJob;
 import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
 import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.StateAndRef;
 import net.corda.core.contracts.TransactionVerificationException;
 import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.FlowException;
 import net.corda.core.identity.CordaX500Name;
 import net.corda.core.identity.Party;
+import net.corda.core.transactions.SignedTransaction;
 import net.corda.testing.node.MockNetwork;
 import net.corda.testing.node.MockNetworkParameters;
 import net.corda.testing.node.StartedMockNode;
@@ -24,6 +30,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 public class CreateScheduleFlowTest {
     private MockNetwork mockNet;
@@ -43,7 +51,7 @@ public class CreateScheduleFlowTest {
     public CreateScheduleFlowTest() { }
 
     @Before
-    public void setup() {
+    public void setup() throws Exception {
         MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
                 TestCordapp.findCordapp("com.template.contracts"),
                 TestCordapp.findCordapp("com.template.flows")
@@ -61,9 +69,22 @@ public class CreateScheduleFlowTest {
         contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
         contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
 
+        employerNode2.registerInitiatedFlow(CreateJCTScheduleResponder.class);
         contractorNode1.registerInitiatedFlow(CreateJCTScheduleResponder.class);
         contractorNode2.registerInitiatedFlow(CreateJCTScheduleResponder.class);
+        for (StartedMockNode node : Arrays.asList(employerNode2, contractorNode1, contractorNode2)) {
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+        }
         mockNet.runNetwork();
+        issueHeader("Project 1");
+    }
+
+    // Issues the project's header, which every schedule transaction of the project cites.
+    private void issueHeader(String projectName) throws Exception {
+        CordaFuture<SignedTransaction> future = employerNode1.startFlow(new JCTFlow(projectName,
+                Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+        mockNet.runNetwork();
+        future.get();
     }
 
     JobExamples jobFactory = new JobExamples();
@@ -144,4 +165,55 @@ public class CreateScheduleFlowTest {
         exception.expectCause(instanceOf(TransactionVerificationException.class));
         future.get();
     }
+
+    @Test
+    public void flowRequiresTheProjectHeader() throws Exception {
+        CreateJCTScheduleFlow flow =
+                new CreateJCTScheduleFlow(
+                        "Project 2",
+                        Arrays.asList(employer1, employer2),
+                        Arrays.asList(contractor1, contractor2),
+                        1000.0,
+                        5.0,
+                        true,
+                        jobs,
+                        notary,
+                        "Job Reference");
+        CordaFuture<UniqueIdentifier> future = employerNode1.startFlow(flow);
+        mockNet.runNetwork();
+
+        exception.expectCause(instanceOf(FlowException.class));
+        future.get();
+    }
+
+    @Test
+    public void everyCounterpartySignsAndRecordsTheSchedule() throws Exception {
+        CreateJCTScheduleFlow flow =
+                new CreateJCTScheduleFlow(
+                        "Project 1",
+                        Arrays.asList(employer1, employer2),
+                        Arrays.asList(contractor1, contractor2),
+                        1000.0,
+                        5.0,
+                        true,
+                        jobs,
+                        notary,
+                        "Job Reference");
+        CordaFuture<UniqueIdentifier> future = employerNode1.startFlow(flow);
+        mockNet.runNetwork();
+        UniqueIdentifier linearId = future.get();
+
+        for (StartedMockNode node : Arrays.asList(employerNode1, employerNode2, contractorNode1, contractorNode2)) {
+            List<StateAndRef<ScheduleClauseState>> schedules = node.transaction(() ->
+                    node.getServices().getVaultService().queryBy(ScheduleClauseState.class).getStates());
+            assertEquals(1, schedules.size());
+            assertEquals(linearId, schedules.get(0).getState().getData().getLinearId());
+
+            SignedTransaction stx = node.getServices().getValidatedTransactions()
+                    .getTransaction(schedules.get(0).getRef().getTxhash());
+            assertNotNull(stx);
+            // The four participants and the notary.
+            assertEquals(5, stx.getSigs().size());
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.template.flows.CreateJCTSchedulesBatchFlow;
+import com.template.flows.CreateJCTSchedulesBatchResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class CreateSchedulesBatchFlowTest {
+    private MockNetwork mockNet;
+    private StartedMockNode employerNode1;
+    private List<StartedMockNode> counterpartyNodes;
+    private Party employer1;
+    private Party employer2;
+    private Party contractor1;
+    private Party contractor2;
+    private Party notary;
+
+    @Before
+    public void setup() throws Exception {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+        ));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        notary = mockNet.getNotaryNodes().get(0).getInfo().getLegalIdentities().get(0);
+        employerNode1 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp1", "London", "GB"));
+        StartedMockNode employerNode2 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp2", "London", "GB"));
+        StartedMockNode contractorNode1 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp1", "London", "GB"));
+        StartedMockNode contractorNode2 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp2", "London", "GB"));
+        employer1 = employerNode1.getInfo().getLegalIdentities().get(0);
+        employer2 = employerNode2.getInfo().getLegalIdentities().get(0);
+        contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
+        contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
+
+        counterpartyNodes = Arrays.asList(employerNode2, contractorNode1, contractorNode2);
+        for (StartedMockNode node : counterpartyNodes) {
+            node.registerInitiatedFlow(CreateJCTSchedulesBatchResponder.class);
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+        }
+        mockNet.runNetwork();
+        issueHeader("Project 1");
+    }
+
+    // Issues the project's header, which every schedule transaction of the project cites.
+    private void issueHeader(String projectName) throws Exception {
+        CordaFuture<SignedTransaction> future = employerNode1.startFlow(new JCTFlow(projectName,
+                Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+        mockNet.runNetwork();
+        future.get();
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    private CreateJCTSchedulesBatchFlow batchOf(int count) {
+        List<CreateJCTSchedulesBatchFlow.ScheduleTerms> terms = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            terms.add(new CreateJCTSchedulesBatchFlow.ScheduleTerms(
+                    "Project 1", 1000.0, 5.0, true, new JobExamples().getJobExamples()));
+        }
+        return new CreateJCTSchedulesBatchFlow(
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                terms,
+                notary);
+    }
+
+    @Test
+    public void everyScheduleIsIssuedInOneTransaction() throws Exception {
+        CordaFuture<List<UniqueIdentifier>> future = employerNode1.startFlow(batchOf(5));
+        mockNet.runNetwork();
+        List<UniqueIdentifier> linearIds = future.get();
+        assertEquals(5, linearIds.size());
+
+        List<StartedMockNode> nodes = new ArrayList<>(counterpartyNodes);
+        nodes.add(employerNode1);
+        for (StartedMockNode node : nodes) {
+            List<StateAndRef<ScheduleClauseState>> schedules = node.transaction(() ->
+                    node.getServices().getVaultService().queryBy(ScheduleClauseState.class).getStates());
+            assertEquals(5, schedules.size());
+            Set<UniqueIdentifier> recorded = schedules.stream()
+                    .map(it -> it.getState().getData().getLinearId()).collect(Collectors.toSet());
+            assertEquals(linearIds.stream().collect(Collectors.toSet()), recorded);
+            assertEquals(1, schedules.stream().map(it -> it.getRef().getTxhash()).distinct().count());
+        }
+    }
+
+    @Test(expected = java.util.concurrent.ExecutionException.class)
+    public void aBatchSpanningProjectsIsRejected() throws Exception {
+        CordaFuture<List<UniqueIdentifier>> future = employerNode1.startFlow(new CreateJCTSchedulesBatchFlow(
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                Arrays.asList(
+                        new CreateJCTSchedulesBatchFlow.ScheduleTerms(
+                                "Project 1", 1000.0, 5.0, true, new JobExamples().getJobExamples()),
+                        new CreateJCTSchedulesBatchFlow.ScheduleTerms(
+                                "Project 2", 1000.0, 5.0, true, new JobExamples().getJobExamples())),
+                notary));
+        mockNet.runNetwork();
+        future.get();
+    }
+
+    @Test(expected = java.util.concurrent.ExecutionException.class)
+    public void anEmptyBatchIsRejected() throws Exception {
+        CordaFuture<List<UniqueIdentifier>> future = employerNode1.startFlow(new CreateJCTSchedulesBatchFlow(
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                Collections.emptyList(),
+                notary));
+        mockNet.runNetwork();
+        future.get();
+    }
+}
@@ -0,0 +1,129 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.flows.NotarySelector;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkNotarySpec;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class NotarySelectorTest {
+    private MockNetwork mockNet;
+    private List<Party> notaries;
+
+    private StartedMockNode[] networkWith(String strategy, int nodes) {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+                        .withConfig(strategy == null ? ImmutableMap.<String, Object>of() : ImmutableMap.<String, Object>of("notarySelection.strategy", strategy))
+        )).withNotarySpecs(Arrays.asList(
+                new MockNetworkNotarySpec(new CordaX500Name("Notary1", "London", "GB")),
+                new MockNetworkNotarySpec(new CordaX500Name("Notary2", "London", "GB"))));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        StartedMockNode[] partyNodes = new StartedMockNode[nodes];
+        for (int i = 0; i < nodes; i++) {
+            partyNodes[i] = mockNet.createPartyNode(new CordaX500Name("EmployerCorp" + i, "London", "GB"));
+        }
+        mockNet.runNetwork();
+        notaries = partyNodes[0].getServices().getNetworkMapCache().getNotaryIdentities();
+        return partyNodes;
+    }
+
+    private NotarySelector selectorOf(StartedMockNode node) {
+        return node.getServices().cordaService(NotarySelector.class);
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    @Test
+    public void consistentHashingIsTheDefault() {
+        NotarySelector selector = selectorOf(networkWith(null, 1)[0]);
+        assertEquals(NotarySelector.Strategy.CONSISTENT_HASH, selector.getStrategy());
+        assertEquals(selector.select("Project 1"), selector.select("Project 1"));
+    }
+
+    @Test
+    public void roundRobinCyclesThroughTheNotariesForStatesOutsideAProject() {
+        NotarySelector selector = selectorOf(networkWith("ROUND_ROBIN", 1)[0]);
+        assertEquals(NotarySelector.Strategy.ROUND_ROBIN, selector.getStrategy());
+        Party first = selector.select(null);
+        Party second = selector.select(null);
+        assertNotEquals(first, second);
+        assertEquals(first, selector.select(null));
+    }
+
+    @Test
+    public void roundRobinCyclesThroughTheNotariesForNewProjects() {
+        NotarySelector selector = selectorOf(networkWith("ROUND_ROBIN", 1)[0]);
+        Party first = selector.select("Project 1");
+        Party second = selector.select("Project 2");
+        assertNotEquals(first, second);
+        assertEquals(first, selector.select("Project 3"));
+    }
+
+    @Test
+    public void roundRobinKeepsAProjectOnItsHeadersNotary() throws Exception {
+        StartedMockNode[] nodes = networkWith("ROUND_ROBIN", 2);
+        nodes[1].registerInitiatedFlow(JCTFlowResponder.class);
+        Party employer = nodes[0].getInfo().getLegalIdentities().get(0);
+        Party contractor = nodes[1].getInfo().getLegalIdentities().get(0);
+        CordaFuture<SignedTransaction> future = nodes[0].startFlow(new JCTFlow("Project 1",
+                Collections.singletonList(contractor), Collections.singletonList(employer)));
+        mockNet.runNetwork();
+        Party headerNotary = future.get().getNotary();
+
+        NotarySelector selector = selectorOf(nodes[0]);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(headerNotary, selector.select("Project 1"));
+            selector.select("Project " + (i + 2));
+        }
+    }
+
+    @Test
+    public void consistentHashingPicksTheSameNotaryOnEveryNode() {
+        StartedMockNode[] nodes = networkWith("CONSISTENT_HASH", 2);
+        Set<Party> used = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            Party notary = selectorOf(nodes[0]).select("Project " + i);
+            assertEquals(notary, selectorOf(nodes[1]).select("Project " + i));
+            assertEquals(notary, selectorOf(nodes[0]).select("Project " + i));
+            used.add(notary);
+        }
+        assertEquals(new HashSet<>(notaries), used);
+    }
+
+    @Test
+    public void leastLatencyTriesEveryNotaryThenPrefersTheFastest() {
+        NotarySelector selector = selectorOf(networkWith("LEAST_LATENCY", 1)[0]);
+        Party untried = selector.select("Project 1");
+        selector.recordLatency(untried, 5_000_000L);
+        Party other = selector.select("Project 1");
+        assertNotEquals(untried, other);
+
+        selector.recordLatency(other, 1_000_000L);
+        assertEquals(other, selector.select("Project 1"));
+        selector.recordLatency(other, 100_000_000L);
+        assertEquals(untried, selector.select("Project 1"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.template.contracts.JobTransition;
+import com.template.flows.CreateJCTScheduleFlow;
+import com.template.flows.CreateJCTScheduleResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.flows.NotifyOverdueJobsFlow;
+import com.template.flows.OverdueJobsService;
+import com.template.flows.TransitionJCTJobsFlow;
+import com.template.flows.TransitionJCTJobsResponder;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.FlowLogic;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OverdueJobsServiceTest {
+    private MockNetwork mockNet;
+    private StartedMockNode employerNode1;
+    private Party employer1;
+    private Party employer2;
+    private Party contractor1;
+    private Party contractor2;
+    private Party notary;
+
+    @Before
+    public void setup() throws Exception {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+        ));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        notary = mockNet.getNotaryNodes().get(0).getInfo().getLegalIdentities().get(0);
+        employerNode1 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp1", "London", "GB"));
+        StartedMockNode employerNode2 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp2", "London", "GB"));
+        StartedMockNode contractorNode1 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp1", "London", "GB"));
+        StartedMockNode contractorNode2 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp2", "London", "GB"));
+        employer1 = employerNode1.getInfo().getLegalIdentities().get(0);
+        employer2 = employerNode2.getInfo().getLegalIdentities().get(0);
+        contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
+        contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
+
+        for (StartedMockNode node : Arrays.asList(employerNode2, contractorNode1, contractorNode2)) {
+            node.registerInitiatedFlow(CreateJCTScheduleResponder.class);
+            node.registerInitiatedFlow(TransitionJCTJobsResponder.class);
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+        }
+        mockNet.runNetwork();
+        run(new JCTFlow("Project 1", Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    private <T> T run(FlowLogic<T> flow) throws Exception {
+        CordaFuture<T> future = employerNode1.startFlow(flow);
+        mockNet.runNetwork();
+        return future.get();
+    }
+
+    private StateAndRef<ScheduleClauseState> unconsumed(UniqueIdentifier linearId) {
+        return employerNode1.transaction(() -> employerNode1.getServices().getVaultService().queryBy(
+                ScheduleClauseState.class,
+                new QueryCriteria.LinearStateQueryCriteria(null, Collections.singletonList(linearId),
+                        Vault.StateStatus.UNCONSUMED, null)).getStates().get(0));
+    }
+
+    @Test
+    public void anOverrunIsReportedOnceAcrossStates() throws Exception {
+        // Both example jobs ended in 2021, so they are overdue as soon as the schedule is recorded.
+        UniqueIdentifier linearId = run(new CreateJCTScheduleFlow(
+                "Project 1",
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                1000.0,
+                5.0,
+                true,
+                new JobExamples().getJobExamples(),
+                notary,
+                "Job Reference"));
+        // The node's scheduler may already have reported them; if not, this run does.
+        run(new NotifyOverdueJobsFlow(unconsumed(linearId).getRef()));
+
+        OverdueJobsService overdueJobs = employerNode1.getServices().cordaService(OverdueJobsService.class);
+        ScheduleClauseState created = unconsumed(linearId).getState().getData();
+        assertTrue(overdueJobs.isReported(linearId, created.getJob("J1")));
+        assertTrue(overdueJobs.isReported(linearId, created.getJob("J2")));
+        assertEquals(Collections.emptyList(), run(new NotifyOverdueJobsFlow(unconsumed(linearId).getRef())));
+
+        // Starting a job records a new state with the same overdue jobs, which aren't reported again.
+        run(new TransitionJCTJobsFlow(linearId, Collections.singletonList("J1"), JobTransition.START));
+        List<String> reportedAgain = run(new NotifyOverdueJobsFlow(unconsumed(linearId).getRef()));
+        assertEquals(Collections.emptyList(), reportedAgain);
+    }
+}
@@ -0,0 +1,162 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.template.contracts.JobTransition;
+import com.template.flows.CreateJCTScheduleFlow;
+import com.template.flows.CreateJCTScheduleResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.flows.ReissuancePolicyService;
+import com.template.flows.ReissueScheduleFlow;
+import com.template.flows.ReissueScheduleResponder;
+import com.template.flows.TransitionJCTJobsFlow;
+import com.template.flows.TransitionJCTJobsResponder;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReissueScheduleFlowTest {
+    private MockNetwork mockNet;
+    private StartedMockNode employerNode1;
+    private List<StartedMockNode> counterpartyNodes;
+    private Party employer1;
+    private Party employer2;
+    private Party contractor1;
+    private Party contractor2;
+    private Party notary;
+
+    @Before
+    public void setup() throws Exception {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+                        .withConfig(ImmutableMap.of("reissuance.chainDepthThreshold", 2))
+        ));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        notary = mockNet.getNotaryNodes().get(0).getInfo().getLegalIdentities().get(0);
+        employerNode1 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp1", "London", "GB"));
+        StartedMockNode employerNode2 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp2", "London", "GB"));
+        StartedMockNode contractorNode1 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp1", "London", "GB"));
+        StartedMockNode contractorNode2 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp2", "London", "GB"));
+        employer1 = employerNode1.getInfo().getLegalIdentities().get(0);
+        employer2 = employerNode2.getInfo().getLegalIdentities().get(0);
+        contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
+        contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
+
+        counterpartyNodes = Arrays.asList(employerNode2, contractorNode1, contractorNode2);
+        for (StartedMockNode node : counterpartyNodes) {
+            node.registerInitiatedFlow(CreateJCTScheduleResponder.class);
+            node.registerInitiatedFlow(TransitionJCTJobsResponder.class);
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+            node.registerInitiatedFlow(ReissueScheduleResponder.class);
+        }
+        mockNet.runNetwork();
+        issueHeader("Project 1");
+    }
+
+    // Issues the project's header, which every schedule transaction of the project cites.
+    private void issueHeader(String projectName) throws Exception {
+        CordaFuture<SignedTransaction> future = employerNode1.startFlow(new JCTFlow(projectName,
+                Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+        mockNet.runNetwork();
+        future.get();
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    private <T> T run(StartedMockNode node, net.corda.core.flows.FlowLogic<T> flow) throws Exception {
+        CordaFuture<T> future = node.startFlow(flow);
+        mockNet.runNetwork();
+        return future.get();
+    }
+
+    private UniqueIdentifier createSchedule() throws Exception {
+        return run(employerNode1, new CreateJCTScheduleFlow(
+                "Project 1",
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                1000.0,
+                5.0,
+                true,
+                new JobExamples().getJobExamples(),
+                notary,
+                "Job Reference"));
+    }
+
+    private List<StateAndRef<ScheduleClauseState>> unconsumed(StartedMockNode node, UniqueIdentifier linearId) {
+        return node.transaction(() -> node.getServices().getVaultService().queryBy(ScheduleClauseState.class,
+                new QueryCriteria.LinearStateQueryCriteria(null, Collections.singletonList(linearId),
+                        Vault.StateStatus.UNCONSUMED, null)).getStates());
+    }
+
+    @Test
+    public void reissuedScheduleIsAnExactCopyWithNoHistory() throws Exception {
+        UniqueIdentifier linearId = createSchedule();
+        run(employerNode1, new TransitionJCTJobsFlow(linearId, Collections.singletonList("J1"), JobTransition.START));
+        StateAndRef<ScheduleClauseState> before = unconsumed(employerNode1, linearId).get(0);
+
+        SignedTransaction reissue = run(employerNode1, new ReissueScheduleFlow(linearId));
+        assertTrue(reissue.getTx().getInputs().isEmpty());
+
+        for (StartedMockNode node : Arrays.asList(employerNode1, counterpartyNodes.get(0), counterpartyNodes.get(1))) {
+            List<StateAndRef<ScheduleClauseState>> after = unconsumed(node, linearId);
+            assertEquals(1, after.size());
+            assertEquals(reissue.getId(), after.get(0).getRef().getTxhash());
+            assertTrue(after.get(0).getState().getData().isSnapshotOf(before.getState().getData()));
+        }
+
+        // The reissued schedule carries on where the old one left off.
+        run(employerNode1, new TransitionJCTJobsFlow(linearId, Collections.singletonList("J2"), JobTransition.START));
+        ScheduleClauseState carriedOn = unconsumed(employerNode1, linearId).get(0).getState().getData();
+        assertEquals(JCTJobStatus.IN_PROGRESS, carriedOn.getJob("J1").getStatus());
+        assertEquals(JCTJobStatus.IN_PROGRESS, carriedOn.getJob("J2").getStatus());
+    }
+
+    @Test
+    public void longChainsAreReissuedAutomatically() throws Exception {
+        UniqueIdentifier linearId = createSchedule();
+        ReissuancePolicyService policy = employerNode1.getServices().cordaService(ReissuancePolicyService.class);
+        assertEquals(2, policy.getThreshold());
+        assertEquals(0, policy.getChainDepth(linearId));
+
+        run(employerNode1, new TransitionJCTJobsFlow(linearId, Collections.singletonList("J1"), JobTransition.START));
+        assertEquals(1, policy.getChainDepth(linearId));
+        run(employerNode1, new TransitionJCTJobsFlow(linearId, Collections.singletonList("J2"), JobTransition.START));
+
+        // The policy starts the reissuance from its own thread.
+        for (int attempt = 0; attempt < 50 && policy.getChainDepth(linearId) != 0; attempt++) {
+            Thread.sleep(100);
+            mockNet.runNetwork();
+        }
+        assertEquals(0, policy.getChainDepth(linearId));
+        StateAndRef<ScheduleClauseState> reissued = unconsumed(employerNode1, linearId).get(0);
+        SignedTransaction reissue = employerNode1.getServices().getValidatedTransactions()
+                .getTransaction(reissued.getRef().getTxhash());
+        assertTrue(reissue.getTx().getInputs().isEmpty());
+        assertEquals(JCTJobStatus.IN_PROGRESS, reissued.getState().getData().getJob("J2").getStatus());
+    }
+}
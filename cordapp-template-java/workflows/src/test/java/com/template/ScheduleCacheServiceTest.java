@@ -0,0 +1,124 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.template.contracts.JobTransition;
+import com.template.flows.CreateJCTScheduleFlow;
+import com.template.flows.CreateJCTScheduleResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.flows.ScheduleCacheService;
+import com.template.flows.TransitionJCTJobsFlow;
+import com.template.flows.TransitionJCTJobsResponder;
+import com.template.states.JCTJobStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ScheduleCacheServiceTest {
+    private MockNetwork mockNet;
+    private StartedMockNode employerNode1;
+    private Party employer1;
+    private Party employer2;
+    private Party contractor1;
+    private Party contractor2;
+    private Party notary;
+
+    @Before
+    public void setup() throws Exception {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+        ));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        notary = mockNet.getNotaryNodes().get(0).getInfo().getLegalIdentities().get(0);
+        employerNode1 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp1", "London", "GB"));
+        StartedMockNode employerNode2 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp2", "London", "GB"));
+        StartedMockNode contractorNode1 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp1", "London", "GB"));
+        StartedMockNode contractorNode2 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp2", "London", "GB"));
+        employer1 = employerNode1.getInfo().getLegalIdentities().get(0);
+        employer2 = employerNode2.getInfo().getLegalIdentities().get(0);
+        contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
+        contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
+
+        for (StartedMockNode node : Arrays.asList(employerNode2, contractorNode1, contractorNode2)) {
+            node.registerInitiatedFlow(CreateJCTScheduleResponder.class);
+            node.registerInitiatedFlow(TransitionJCTJobsResponder.class);
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+        }
+        mockNet.runNetwork();
+        issueHeader("Project 1");
+    }
+
+    // Issues the project's header, which every schedule transaction of the project cites.
+    private void issueHeader(String projectName) throws Exception {
+        CordaFuture<SignedTransaction> future = employerNode1.startFlow(new JCTFlow(projectName,
+                Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+        mockNet.runNetwork();
+        future.get();
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    private StateAndRef<ScheduleClauseState> lookUp(UniqueIdentifier linearId) {
+        ScheduleCacheService cache = employerNode1.getServices().cordaService(ScheduleCacheService.class);
+        return employerNode1.transaction(() -> cache.getSchedule(linearId));
+    }
+
+    @Test
+    public void schedulesAreServedFromTheCacheAndRefreshedByTheVault() throws Exception {
+        CreateJCTScheduleFlow create = new CreateJCTScheduleFlow(
+                "Project 1",
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                1000.0,
+                5.0,
+                true,
+                new JobExamples().getJobExamples(),
+                notary,
+                "Job Reference");
+        CordaFuture<UniqueIdentifier> future = employerNode1.startFlow(create);
+        mockNet.runNetwork();
+        UniqueIdentifier linearId = future.get();
+
+        ScheduleCacheService cache = employerNode1.getServices().cordaService(ScheduleCacheService.class);
+        StateAndRef<ScheduleClauseState> created = lookUp(linearId);
+        assertSame(created, lookUp(linearId));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+
+        CordaFuture<?> transition = employerNode1.startFlow(
+                new TransitionJCTJobsFlow(linearId, Collections.singletonList("J1"), JobTransition.START));
+        mockNet.runNetwork();
+        transition.get();
+
+        StateAndRef<ScheduleClauseState> started = lookUp(linearId);
+        assertNotEquals(created.getRef(), started.getRef());
+        assertEquals(JCTJobStatus.IN_PROGRESS, started.getState().getData().getJob("J1").getStatus());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void unknownSchedulesAreNotFound() {
+        assertNull(lookUp(new UniqueIdentifier()));
+    }
+}
@@ -0,0 +1,284 @@
+package com.template;
+
+import com.google.common.collect.ImmutableList;
+import com.template.contracts.JCTContract;
+import com.template.contracts.JobTransition;
+import com.template.contracts.ReportContract;
+import com.template.contracts.ScheduleClauseContract;
+import com.template.flows.CreateJCTScheduleFlow;
+import com.template.flows.CreateJCTScheduleResponder;
+import com.template.flows.JCTFlow;
+import com.template.flows.JCTFlowResponder;
+import com.template.flows.JCTQueries;
+import com.template.flows.ReportQueries;
+import com.template.flows.ScheduleQueries;
+import com.template.flows.TransitionJCTJobsFlow;
+import com.template.flows.TransitionJCTJobsResponder;
+import com.template.schema.JCTParticipantRole;
+import com.template.states.JCTJob;
+import com.template.states.JCTJobStatus;
+import com.template.states.JCTState;
+import com.template.states.ReportState;
+import com.template.states.ReportStatus;
+import com.template.states.ScheduleClauseState;
+import net.corda.core.concurrent.CordaFuture;
+import net.corda.core.contracts.ContractState;
+import net.corda.core.contracts.LinearState;
+import net.corda.core.contracts.StateAndRef;
+import net.corda.core.contracts.UniqueIdentifier;
+import net.corda.core.flows.FlowLogic;
+import net.corda.core.identity.CordaX500Name;
+import net.corda.core.identity.Party;
+import net.corda.core.node.services.Vault;
+import net.corda.core.node.services.vault.PageSpecification;
+import net.corda.core.node.services.vault.QueryCriteria;
+import net.corda.core.transactions.SignedTransaction;
+import net.corda.core.transactions.TransactionBuilder;
+import net.corda.testing.node.MockNetwork;
+import net.corda.testing.node.MockNetworkParameters;
+import net.corda.testing.node.StartedMockNode;
+import net.corda.testing.node.TestCordapp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * [ScheduleQueries], [JCTQueries] and [ReportQueries] against a node's vault, as states are issued, consumed and
+ * issued again.
+ */
+public class VaultQueriesTest {
+    private MockNetwork mockNet;
+    private StartedMockNode employerNode1;
+    private StartedMockNode contractorNode1;
+    private Party employer1;
+    private Party employer2;
+    private Party contractor1;
+    private Party contractor2;
+    private Party notary;
+
+    @Before
+    public void setup() throws Exception {
+        MockNetworkParameters mockNetworkParameters = new MockNetworkParameters(ImmutableList.of(
+                TestCordapp.findCordapp("com.template.contracts"),
+                TestCordapp.findCordapp("com.template.flows")
+        ));
+        mockNet = new MockNetwork(mockNetworkParameters);
+        notary = mockNet.getNotaryNodes().get(0).getInfo().getLegalIdentities().get(0);
+        employerNode1 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp1", "London", "GB"));
+        StartedMockNode employerNode2 = mockNet.createPartyNode(new CordaX500Name("EmployerCorp2", "London", "GB"));
+        contractorNode1 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp1", "London", "GB"));
+        StartedMockNode contractorNode2 = mockNet.createPartyNode(new CordaX500Name("ContractorCorp2", "London", "GB"));
+        employer1 = employerNode1.getInfo().getLegalIdentities().get(0);
+        employer2 = employerNode2.getInfo().getLegalIdentities().get(0);
+        contractor1 = contractorNode1.getInfo().getLegalIdentities().get(0);
+        contractor2 = contractorNode2.getInfo().getLegalIdentities().get(0);
+
+        for (StartedMockNode node : Arrays.asList(employerNode2, contractorNode1, contractorNode2)) {
+            node.registerInitiatedFlow(CreateJCTScheduleResponder.class);
+            node.registerInitiatedFlow(TransitionJCTJobsResponder.class);
+            node.registerInitiatedFlow(JCTFlowResponder.class);
+        }
+        mockNet.runNetwork();
+        run(new JCTFlow("Project 1", Arrays.asList(contractor1, contractor2), Arrays.asList(employer1, employer2)));
+    }
+
+    @After
+    public void tearDown() {
+        mockNet.stopNodes();
+    }
+
+    private <T> T run(FlowLogic<T> flow) throws Exception {
+        CordaFuture<T> future = employerNode1.startFlow(flow);
+        mockNet.runNetwork();
+        return future.get();
+    }
+
+    private UniqueIdentifier createSchedule() throws Exception {
+        return run(new CreateJCTScheduleFlow(
+                "Project 1",
+                Arrays.asList(employer1, employer2),
+                Arrays.asList(contractor1, contractor2),
+                1000.0,
+                5.0,
+                true,
+                new JobExamples().getJobExamples(),
+                notary,
+                "Job Reference"));
+    }
+
+    private <T extends LinearState> StateAndRef<T> unconsumed(StartedMockNode node, Class<T> type, UniqueIdentifier linearId) {
+        return node.transaction(() -> node.getServices().getVaultService().queryBy(type,
+                new QueryCriteria.LinearStateQueryCriteria(null, Collections.singletonList(linearId),
+                        Vault.StateStatus.UNCONSUMED, null)).getStates().get(0));
+    }
+
+    // Signs [builder] with [node]'s key alone and records it in its vault, as no flow issues or consumes these states
+    // on their own. Transactions the contracts accept are verified first.
+    private SignedTransaction record(StartedMockNode node, TransactionBuilder builder, boolean verify) {
+        return node.transaction(() -> {
+            try {
+                if (verify) {
+                    builder.verify(node.getServices());
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            SignedTransaction stx = node.getServices().signInitialTransaction(builder);
+            node.getServices().recordTransactions(stx);
+            return stx;
+        });
+    }
+
+    private static <T extends ContractState> Set<UniqueIdentifier> linearIdsOf(List<StateAndRef<T>> states) {
+        return states.stream()
+                .map(state -> ((LinearState) state.getState().getData()).getLinearId())
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void schedulesWithJobsDueOnlyMatchTheirUnconsumedState() throws Exception {
+        UniqueIdentifier started = createSchedule();
+        UniqueIdentifier pending = createSchedule();
+        // Starting J1 consumes the first schedule and issues it again with J1 IN_PROGRESS.
+        run(new TransitionJCTJobsFlow(started, Collections.singletonList("J1"), JobTransition.START));
+
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2021, 1, 31);
+        List<StateAndRef<ScheduleClauseState>> inProgress = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.IN_PROGRESS, from, to,
+                        new PageSpecification(1, 10)));
+        assertEquals(1, inProgress.size());
+        assertEquals(unconsumed(employerNode1, ScheduleClauseState.class, started).getRef(), inProgress.get(0).getRef());
+
+        // The consumed state of the first schedule, with J1 still PENDING, is not returned.
+        List<StateAndRef<ScheduleClauseState>> stillPending = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.PENDING, from, to,
+                        new PageSpecification(1, 10)));
+        assertEquals(Collections.singleton(pending), linearIdsOf(stillPending));
+
+        // J2 is due in May, outside the range.
+        List<StateAndRef<ScheduleClauseState>> none = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.PENDING,
+                        LocalDate.of(2021, 2, 1), LocalDate.of(2021, 4, 30), new PageSpecification(1, 10)));
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    public void schedulesWithJobsDueArePagedOldestFirst() throws Exception {
+        List<UniqueIdentifier> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            created.add(createSchedule());
+        }
+        LocalDate from = LocalDate.of(2021, 1, 1);
+        LocalDate to = LocalDate.of(2021, 12, 31);
+        List<StateAndRef<ScheduleClauseState>> first = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.PENDING, from, to,
+                        new PageSpecification(1, 2)));
+        List<StateAndRef<ScheduleClauseState>> second = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.PENDING, from, to,
+                        new PageSpecification(2, 2)));
+        // Both jobs of a schedule match, but a schedule is only returned once.
+        assertEquals(Arrays.asList(created.get(0), created.get(1)), first.stream()
+                .map(state -> state.getState().getData().getLinearId()).collect(Collectors.toList()));
+        assertEquals(Collections.singleton(created.get(2)), linearIdsOf(second));
+
+        // An unspecified page number reads the first page.
+        List<StateAndRef<ScheduleClauseState>> unspecified = employerNode1.transaction(() ->
+                ScheduleQueries.withJobsDue(employerNode1.getServices(), JCTJobStatus.PENDING, from, to,
+                        new PageSpecification()));
+        assertEquals(new HashSet<>(created), linearIdsOf(unspecified));
+    }
+
+    @Test
+    public void jctsByParticipantFollowTheirRoleAndConsumption() throws Exception {
+        run(new JCTFlow("Project 2", Collections.singletonList(contractor1), Collections.singletonList(employer1)));
+        List<StateAndRef<JCTState>> asEmployer = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), employer1, JCTParticipantRole.EMPLOYER,
+                        new PageSpecification(1, 10)));
+        List<StateAndRef<JCTState>> asContractor = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), employer1, JCTParticipantRole.CONTRACTOR,
+                        new PageSpecification(1, 10)));
+        List<StateAndRef<JCTState>> ofContractor2 = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), contractor2, new PageSpecification(1, 10)));
+        assertEquals(2, asEmployer.size());
+        assertTrue(asContractor.isEmpty());
+        assertEquals(1, ofContractor2.size());
+        assertEquals("Project 1", ofContractor2.get(0).getState().getData().getProjectName());
+
+        // Paged oldest first.
+        List<StateAndRef<JCTState>> secondPage = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), employer1, new PageSpecification(2, 1)));
+        assertEquals(1, secondPage.size());
+        assertEquals("Project 2", secondPage.get(0).getState().getData().getProjectName());
+
+        // No flow replaces a project header, so its replacement is recorded directly.
+        StateAndRef<JCTState> header = ofContractor2.get(0);
+        JCTState replacement = new JCTState("Project 1", Collections.singletonList(employer1),
+                Arrays.asList(contractor1, contractor2));
+        record(employerNode1, new TransactionBuilder(notary)
+                .addInputState(header)
+                .addOutputState(replacement, JCTContract.ID)
+                .addCommand(new JCTContract.Commands.AddRecitals(), employer1.getOwningKey()), false);
+
+        List<StateAndRef<JCTState>> ofEmployer2 = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), employer2, new PageSpecification(1, 10)));
+        List<StateAndRef<JCTState>> ofContractor2Now = employerNode1.transaction(() ->
+                JCTQueries.byParticipant(employerNode1.getServices(), contractor2, new PageSpecification(1, 10)));
+        assertTrue(ofEmployer2.isEmpty());
+        assertEquals(Collections.singleton(replacement.getLinearId()), linearIdsOf(ofContractor2Now));
+    }
+
+    @Test
+    public void theLatestIssuedReportIsFoundUntilItIsConsumed() throws Exception {
+        UniqueIdentifier linearId = createSchedule();
+        run(new TransitionJCTJobsFlow(linearId, Collections.singletonList("J1"), JobTransition.START));
+
+        ReportState older = issueReport("J1", Instant.parse("2021-01-10T09:00:00Z"));
+        ReportState latest = issueReport("J1", Instant.parse("2021-01-20T09:00:00Z"));
+        issueReport("J2", Instant.parse("2021-01-30T09:00:00Z"));
+        assertEquals(latest.getLinearId(), latestIssuedReportFor("J1").getState().getData().getLinearId());
+        assertNull(latestIssuedReportFor("J3"));
+
+        // The contractor asks for a new amount on J1 with the latest report, which is consumed and issued PROCESSED.
+        StateAndRef<ScheduleClauseState> schedule = unconsumed(contractorNode1, ScheduleClauseState.class, linearId);
+        StateAndRef<ReportState> report = unconsumed(contractorNode1, ReportState.class, latest.getLinearId());
+        List<JCTJob> jobs = new ArrayList<>(schedule.getState().getData().getJobs());
+        jobs.set(0, jobs.get(0).copyBuilder().withStatus(JCTJobStatus.AMOUNT_AMENDMENT_REQUESTED).build());
+        record(contractorNode1, new TransactionBuilder(notary)
+                .addInputState(schedule)
+                .addInputState(report)
+                .addOutputState(schedule.getState().getData().copyBuilder().withJobs(jobs).build(), ScheduleClauseContract.ID)
+                .addOutputState(latest.copyBuilder().withRequestedSum(200.0).withStatus(ReportStatus.PROCESSED).build(),
+                        ReportContract.ID)
+                .addCommand(new ScheduleClauseContract.Commands.RequestAmountModification(0, 200.0),
+                        contractor1.getOwningKey()), true);
+
+        assertEquals(older.getLinearId(), latestIssuedReportFor("J1").getState().getData().getLinearId());
+    }
+
+    private ReportState issueReport(String jobReference, Instant dateOfSurvey) {
+        ReportState report = new ReportState(ReportStatus.ISSUED, jobReference, dateOfSurvey, null, 200.0,
+                "Survey of " + jobReference, Collections.singletonList(contractor1));
+        record(contractorNode1, new TransactionBuilder(notary)
+                .addOutputState(report, ReportContract.ID)
+                .addCommand(new ReportContract.Commands.AddReportDocument(), contractor1.getOwningKey()), true);
+        return report;
+    }
+
+    private StateAndRef<ReportState> latestIssuedReportFor(String jobReference) {
+        return contractorNode1.transaction(() ->
+                ReportQueries.latestIssuedReportFor(contractorNode1.getServices(), jobReference));
+    }
+}